@@ -13,6 +13,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,6 +23,10 @@ import org.eclipse.emf.ecore.plugin.EcorePlugin;
 import org.eclipse.xtext.generator.IFileSystemAccess;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.generator.OutputConfiguration.SourceMapping;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.util.Files;
@@ -178,6 +183,19 @@ public class StandaloneBuilderTest {
 
 	}
 
+	@Test
+	public void testInMemoryStubCompilation() {
+		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+		config.setJavaSupport(true);
+		initBuilder(config);
+		testBuilder.setJavaSourceDirs(ImmutableList.of(new File(PROJECT_DIR, "src2").getPath()));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setCompileStubsInMemory(true);
+		assertTrue("Builder launch returned false", testBuilder.launch());
+		assertFalse("Stubs should not be compiled to disk", getFile("tmp/classes").exists());
+		assertTrue("Java sources should be compiled with the stubs", testBuilder.getStubClasses().containsKey("JavaClass"));
+	}
+
 	@Test
 	public void testValidateMultipleResources() {
 		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
@@ -207,6 +225,159 @@ public class StandaloneBuilderTest {
 
 	}
 
+	@Test
+	public void testParallelValidation() {
+		initBuilder(new TestLanguageConfiguration(true));
+		testBuilder.setNumberOfThreads(2);
+		assertTrue(testBuilder.launch());
+
+		assertTrue(getFile("src-gen/Foo.txt").exists());
+		assertTrue(getFile("src2-gen/Bar.txt").exists());
+		assertEquals("All resources should be validated", 2, testBuilder.getValidateCalled());
+		assertEquals("Generator should run once per partition", 2, testBuilder.getGenerateCalled());
+	}
+
+	@Test
+	public void testParallelValidationWithClustering() {
+		initBuilder(new TestLanguageConfiguration(true), "src", "src2", "src-error");
+		testBuilder.setNumberOfThreads(2);
+		testBuilder.setFailOnValidationError(false);
+		// more than 100 percent of free memory is never available, thus every cluster holds a single resource
+		testBuilder.setClusteringConfig(new ClusteringConfig(0, 1, 101));
+		assertFalse(testBuilder.launch());
+
+		assertEquals("All resources should be validated", 3, testBuilder.getValidateCalled());
+		assertEquals("Generator should run once per cluster", 3, testBuilder.getGenerateCalled());
+		assertTrue(getFile("src-gen/Foo.txt").exists());
+		assertTrue(getFile("src2-gen/Bar.txt").exists());
+	}
+
+	@Test
+	public void testParallelIndexing() {
+		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+		initBuilder(config, "src", "src2", "src-error");
+		testBuilder.setFailOnValidationError(false);
+		testBuilder.setMockGeneration(true);
+		testBuilder.launch();
+		Map<URI, List<String>> sequentialIndex = describe(testBuilder.getInstalledIndex());
+		assertEquals(3, sequentialIndex.size());
+
+		initBuilder(config, "src", "src2", "src-error");
+		testBuilder.setNumberOfThreads(2);
+		testBuilder.setClusteringConfig(new ClusteringConfig(0, 1, 101));
+		testBuilder.launch();
+		assertEquals("The parallel index should equal the sequential one", sequentialIndex,
+				describe(testBuilder.getInstalledIndex()));
+	}
+
+	@Test
+	public void testParallelValidationWithErrors() {
+		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+		initBuilder(config, "src", "src-error");
+		testBuilder.setNumberOfThreads(2);
+		testBuilder.setMockGeneration(true);
+
+		assertFalse("Build should return false, but returned -success-", testBuilder.launch());
+		assertEquals("Build should fail early, but validate all resources", 2, testBuilder.getValidateCalled());
+		assertEquals("Build should fail early", 0, testBuilder.getGenerateCalled());
+
+		initBuilder(config, "src-error", "src");
+		testBuilder.setFailOnValidationError(false);
+		assertFalse("Build should fail, but returned -success-", testBuilder.launch());
+		assertEquals("Validation was executed", 2, testBuilder.getValidateCalled());
+		assertEquals("Generator was executed in spite of validation errors", 2, testBuilder.getGenerateCalled());
+	}
+
+	@Test
+	public void testParallelValidationReportsIssuesInSourceOrder() {
+		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+		initBuilder(config, "src", "src2", "src-error");
+		testBuilder.setFailOnValidationError(false);
+		testBuilder.setMockGeneration(true);
+		testBuilder.launch();
+		List<URI> sequentialOrder = new ArrayList<URI>(testBuilder.getHandledIssues());
+		assertEquals(3, sequentialOrder.size());
+
+		initBuilder(config, "src", "src2", "src-error");
+		testBuilder.setNumberOfThreads(2);
+		testBuilder.launch();
+		assertEquals("Issues should be reported in the order of the sequential build", sequentialOrder,
+				testBuilder.getHandledIssues());
+	}
+
+	@Test
+	public void testIncrementalBuild() {
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setIncrementalBuild(true);
+		assertTrue(testBuilder.launch());
+		assertEquals("Full build should validate all resources", 2, testBuilder.getValidateCalled());
+		assertTrue(getFile("tmp/xtext-build-state.bin").exists());
+
+		initBuilder(new TestLanguageConfiguration(false));
+		assertTrue(testBuilder.launch());
+		assertEquals("Unchanged resources should not be validated again", 0, testBuilder.getValidateCalled());
+		assertEquals("Unchanged resources should not be generated again", 0, testBuilder.getGenerateCalled());
+	}
+
+	@Test
+	public void testIncrementalBuildAfterConfigurationChange() {
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setIncrementalBuild(true);
+		assertTrue(testBuilder.launch());
+
+		initBuilder(new TestLanguageConfiguration(true));
+		assertTrue(testBuilder.launch());
+		assertEquals("Changed output configurations should cause a full build", 2, testBuilder.getValidateCalled());
+		assertTrue(getFile("src2-gen/Bar.txt").exists());
+		assertFalse("Files that are not generated anymore should be deleted", getFile("src-gen/Bar.txt").exists());
+	}
+
+	@Test
+	public void testIncrementalBuildAfterRemovedSource() {
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setIncrementalBuild(true);
+		assertTrue(testBuilder.launch());
+		assertTrue(getFile("src-gen/Bar.txt").exists());
+
+		initBuilder(new TestLanguageConfiguration(false), "src");
+		assertTrue(testBuilder.launch());
+		assertTrue(getFile("src-gen/Foo.txt").exists());
+		assertFalse("Files generated for removed resources should be deleted", getFile("src-gen/Bar.txt").exists());
+	}
+
+	@Test
+	public void testIncrementalBuildAfterValidationError() {
+		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+		initBuilder(config, "src", "src-error");
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setIncrementalBuild(true);
+		testBuilder.setMockGeneration(true);
+		assertFalse(testBuilder.launch());
+
+		initBuilder(config, "src", "src-error");
+		assertFalse("Resources of a failed build should be validated again", testBuilder.launch());
+		assertEquals(2, testBuilder.getValidateCalled());
+	}
+
+	private Map<URI, List<String>> describe(ResourceDescriptionsData index) {
+		Map<URI, List<String>> result = new HashMap<URI, List<String>>();
+		for (IResourceDescription description : index.getAllResourceDescriptions()) {
+			List<String> entries = new ArrayList<String>();
+			for (IEObjectDescription exported : description.getExportedObjects()) {
+				entries.add("exported " + exported.getQualifiedName() + " " + exported.getEClass().getName() + " "
+						+ exported.getEObjectURI());
+			}
+			for (QualifiedName imported : description.getImportedNames()) {
+				entries.add("imported " + imported);
+			}
+			result.put(description.getURI(), entries);
+		}
+		return result;
+	}
+
 	private File getFile(String projectRelativePath) {
 		return new File(PROJECT_DIR, projectRelativePath);
 	}
@@ -4,11 +4,14 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.builder.standalone.compiler.EclipseJavaCompiler;
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler;
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler.CompilationResult;
 import org.eclipse.xtext.mwe.PathTraverser;
@@ -19,6 +22,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -89,6 +93,20 @@ public class TestEclipseCompiler {
 		assertEquals("Should found 2 class files, but was: " + resolvePathes, 2, resolvePathes.size());
 	}
 
+	@Test
+	public void testCompileInMemory() {
+		StringWriter errors = new StringWriter();
+		((EclipseJavaCompiler) compiler).setErrorWriter(errors);
+		List<String> sourceRoots = new ArrayList<String>();
+		sourceRoots.add(SRC_TEST_RESOURCES + "/test-class");
+		Map<String, byte[]> classes = ((IJavaCompiler.InMemory) compiler).compileInMemory(ImmutableMap.of(
+				"Stub.java", "public class Stub extends TestClass { public java.sql.Connection connection; }"),
+				sourceRoots);
+		assertEquals("Should compile without errors", "", errors.toString());
+		assertTrue(classes.containsKey("Stub"));
+		assertTrue(classes.containsKey("TestClass"));
+	}
+
 	private Collection<URI> collectOutputFiles() {
 		return new PathTraverser().resolvePathes(Lists.newArrayList(outputClassDirectory.getAbsolutePath()),
 				new ClassFileFilter()).values();
@@ -8,22 +8,39 @@
 package org.eclipse.xtext.builder.standalone;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.validation.Issue;
 
 /**
  * @author dhuebner - Initial contribution and API
  */
 public class TestableStandaloneBuilder extends StandaloneBuilder {
-	private int validateCalled = 0;
+	private final AtomicInteger validateCalled = new AtomicInteger();
+	private final List<URI> handledIssues = new CopyOnWriteArrayList<>();
 	private int generateCalled = 0;
 	private boolean mockGeneration = false;
+	private ResourceDescriptionsData installedIndex;
+	private Map<String, byte[]> stubClasses;
 
 	@Override
-	protected boolean validate(Resource resource) {
-		boolean validated = super.validate(resource);
-		validateCalled++;
-		return validated;
+	protected List<Issue> computeIssues(Resource resource) {
+		List<Issue> issues = super.computeIssues(resource);
+		validateCalled.incrementAndGet();
+		return issues;
+	}
+
+	@Override
+	protected boolean handleIssues(Resource resource, List<Issue> issues) {
+		handledIssues.add(resource.getURI());
+		return super.handleIssues(resource, issues);
 	}
 
 	public void resetTestSetup() {
@@ -38,21 +55,50 @@ public class TestableStandaloneBuilder extends StandaloneBuilder {
 		generateCalled++;
 	}
 
+	@Override
+	protected void installIndex(XtextResourceSet resourceSet, ResourceDescriptionsData index) {
+		super.installIndex(resourceSet, index);
+		installedIndex = index;
+	}
+
+	@Override
+	protected Map<String, byte[]> compileStubsInMemory(IJavaCompiler.InMemory javaCompiler, ResourceDescriptionsData data,
+			List<URI> sourceResourceURIs) {
+		stubClasses = super.compileStubsInMemory(javaCompiler, data, sourceResourceURIs);
+		return stubClasses;
+	}
+
 	public void setMockGeneration(boolean mockGeneration) {
 		this.mockGeneration = mockGeneration;
 	}
 
 	public void resetCallStatistic() {
-		validateCalled = 0;
+		validateCalled.set(0);
+		handledIssues.clear();
 		generateCalled = 0;
 	}
 
 	public int getValidateCalled() {
-		return validateCalled;
+		return validateCalled.get();
+	}
+
+	/**
+	 * @return the URIs of the resources in the order their issues were passed to the issue handler.
+	 */
+	public List<URI> getHandledIssues() {
+		return handledIssues;
 	}
 
 	public int getGenerateCalled() {
 		return generateCalled;
 	}
 
+	public ResourceDescriptionsData getInstalledIndex() {
+		return installedIndex;
+	}
+
+	public Map<String, byte[]> getStubClasses() {
+		return stubClasses;
+	}
+
 }
@@ -1,14 +1,27 @@
 package org.eclipse.xtext.builder.standalone
 
+import com.google.common.collect.Lists
+import com.google.common.hash.Hasher
+import com.google.common.hash.Hashing
+import com.google.common.io.ByteStreams
 import com.google.common.io.Files
 import com.google.inject.Inject
 import com.google.inject.Provider
 import java.io.File
 import java.io.IOException
 import java.net.URLClassLoader
+import java.nio.charset.StandardCharsets
 import java.util.Collection
 import java.util.List
 import java.util.Map
+import java.util.Set
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.Semaphore
 import java.util.jar.JarFile
 import java.util.jar.Manifest
 import java.util.regex.Pattern
@@ -22,26 +35,41 @@ import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.EcoreUtil2
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler.CompilationResult
+import org.eclipse.xtext.builder.standalone.compiler.InMemoryClassLoader
+import org.eclipse.xtext.builder.standalone.incremental.IncrementalBuildState
+import org.eclipse.xtext.builder.standalone.incremental.RecordingFileSystemAccess
+import org.eclipse.xtext.common.types.access.binary.asm.PersistentClassFileBytesAccess
+import org.eclipse.xtext.common.types.access.binary.asm.PersistentClassFileBytesCache
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess
+import org.eclipse.xtext.common.types.access.impl.VersionedResourceDescriptionsData
 import org.eclipse.xtext.generator.AbstractFileSystemAccess
 import org.eclipse.xtext.generator.IFileSystemAccess
+import org.eclipse.xtext.generator.IFileSystemAccess2
+import org.eclipse.xtext.generator.InMemoryFileSystemAccess
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess
 import org.eclipse.xtext.mwe.NameBasedFilter
 import org.eclipse.xtext.mwe.PathTraverser
 import org.eclipse.xtext.parser.IEncodingProvider
+import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy
 import org.eclipse.xtext.resource.clustering.DynamicResourceClusteringPolicy
+import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription
 import org.eclipse.xtext.resource.persistence.StorageAwareResource
 import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.util.UriUtil
 import org.eclipse.xtext.validation.CheckMode
+import org.eclipse.xtext.validation.Issue
 import org.eclipse.xtext.generator.GeneratorContext
+import org.eclipse.xtext.xbase.lib.Exceptions
 
 class StandaloneBuilder {
 	static final Logger LOG = Logger.getLogger(StandaloneBuilder);
+	static final String BUILD_STATE_FILE_NAME = "xtext-build-state.bin"
 
 	/**  Map key is a file extension provided by Language FileExtensionProvider   */
 	@Accessors Map<String, LanguageAccess> languages
@@ -62,6 +90,43 @@ class StandaloneBuilder {
 	@Accessors boolean debugLog
 	@Accessors boolean writeStorageResources
 	@Accessors ClusteringConfig clusteringConfig = null
+	/**
+	 * Number of threads that are used to index and validate the resources.<br>
+	 * If set to a value greater than <code>1</code>, the resources are split into partitions
+	 * that are loaded, indexed and validated concurrently, each in its own resource set. The issues are computed on
+	 * the worker threads and passed to the issue handler on the calling thread, round by round in the order of the
+	 * source resources. The generator runs on the calling thread. The clustering limits apply to each worker.
+	 * <br>Default is <code>1</code>
+	 */
+	@Accessors int numberOfThreads = 1
+	/**
+	 * If incrementalBuild is set to <code>true</code>, StandaloneBuilder stores the index and the content hashes<br>
+	 * of all processed resources in the {@link #tempDir}. Subsequent builds only validate and generate the<br>
+	 * source resources that have changed or that are affected by a changed resource.<br>
+	 * A change of the configuration, the class path or the Java sources causes a full build. The generated<br>
+	 * files of removed source resources are deleted.<br>
+	 * The tempDir has to be kept between the builds for this to take effect.
+	 * <br>Default is <code>false</code>
+	 */
+	@Accessors boolean incrementalBuild
+	/**
+	 * If compileStubsInMemory is set to <code>true</code> and the configured compiler supports it,<br>
+	 * the Java stubs are generated and compiled in memory instead of in the {@link #tempDir}.<br>
+	 * Annotation processors are not executed for the in-memory compilation.
+	 * <br>Default is <code>false</code>
+	 */
+	@Accessors boolean compileStubsInMemory
+	/**
+	 * Directory that is used to cache the class files of the archives on the class path between builds.<br>
+	 * Cached class files are read from a memory mapped file instead of being extracted from the archive again.<br>
+	 * An archive is identified by its path, size and modification stamp, thus changed archives are read again.
+	 * <br>Default is <code>null</code> which disables the cache
+	 */
+	@Accessors String classFileCacheDir
+
+	PersistentClassFileBytesCache classFileCache
+
+	Map<URI, Set<String>> generatedFiles = newHashMap
 
 	@Inject IndexedJvmTypeAccess jvmTypeAccess
 	@Inject Provider<XtextResourceSet> resourceSetProvider
@@ -88,6 +153,9 @@ class StandaloneBuilder {
 		}
 		if (needsJava) {
 			LOG.info("Using common types.")
+			if (classFileCacheDir !== null) {
+				classFileCache = new PersistentClassFileBytesCache(new File(classFileCacheDir))
+			}
 		}
 
 		val resourceSet = resourceSetProvider.get
@@ -116,48 +184,113 @@ class StandaloneBuilder {
 			LOG.info("Installing type provider.")
 			installTypeProvider(allClassPathEntries, resourceSet, null)
 		}
-		val strategy = if (clusteringConfig !== null) {
-				LOG.info("Clustering configured.")
-				new DynamicResourceClusteringPolicy => [
-					// Convert MB to byte to make it easier for the user
-					setMinimumFreeMemory(clusteringConfig.minimumFreeMemory * 1024 * 1024)
-					setMinimumClusterSize(clusteringConfig.minimumClusterSize)
-					setMinimumPercentFreeMemory(clusteringConfig.minimumPercentFreeMemory)
-				]
-			} else
-				new DisabledClusteringPolicy
+		if (clusteringConfig !== null) {
+			LOG.info("Clustering configured.")
+		}
+		val strategy = createClusteringPolicy(1)
 
 		// Fill index
-		var ResourceDescriptionsData index = new ResourceDescriptionsData(newArrayList());
-		var allResourceIterator = allResourcesURIs.iterator
-		while (allResourceIterator.hasNext) {
-			var List<Resource> resources = newArrayList()
-			var int clusterIndex = 0
-			var continue = true
-			while (allResourceIterator.hasNext && continue) {
-				val uri = allResourceIterator.next
-				val resource = resourceSet.getResource(uri, true)
-				resources.add(resource)
-				fillIndex(uri, resource, index)
-				clusterIndex++
-				if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
-					continue = false
+		val environmentHash = if (incrementalBuild) computeEnvironmentHash
+		val previousState = if (incrementalBuild)
+				IncrementalBuildState.load(buildStateFile)
+			else
+				new IncrementalBuildState
+		val fullBuild = !incrementalBuild || previousState.environmentHash != environmentHash
+		if (incrementalBuild && fullBuild) {
+			LOG.info("The configuration, the class path or the Java sources changed. Performing a full build.")
+		}
+		generatedFiles = newHashMap
+		generatedFiles.putAll(previousState.generatedFiles)
+		val Map<URI, String> contentHashes = newHashMap
+		val List<URI> changedURIs = newArrayList
+		var ResourceDescriptionsData index = new VersionedResourceDescriptionsData(newArrayList());
+		for (uri : allResourcesURIs) {
+			val unchangedDescription = if (incrementalBuild) {
+					val contentHash = computeContentHash(uri, resourceSet)
+					contentHashes.put(uri, contentHash)
+					if (!fullBuild)
+						previousState.getUnchangedDescription(uri, contentHash)
 				}
+			if (unchangedDescription !== null) {
+				index.addDescription(uri, unchangedDescription)
+			} else {
+				changedURIs.add(uri)
+			}
+		}
+		if (numberOfThreads > 1) {
+			val classLoader = if (needsJava) resourceSet.classpathURIContext as ClassLoader
+			fillIndexInParallel(changedURIs, index, classLoader)
+		} else {
+			var changedResourceIterator = changedURIs.iterator
+			while (changedResourceIterator.hasNext) {
+				var List<Resource> resources = newArrayList()
+				var int clusterIndex = 0
+				var continue = true
+				while (changedResourceIterator.hasNext && continue) {
+					val uri = changedResourceIterator.next
+					val resource = resourceSet.getResource(uri, true)
+					resources.add(resource)
+					fillIndex(uri, resource, index)
+					clusterIndex++
+					if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
+						continue = false
+					}
+				}
+				if (!continue)
+					resourceSet.clearResourceSet
 			}
-			if (!continue)
-				resourceSet.clearResourceSet
 		}
 		installIndex(resourceSet, index)
 
+		val sourceURIsToBuild = if (!fullBuild) {
+				collectAffectedResources(sourceResourceURIs, changedURIs, previousState.index, index, resourceSet, strategy)
+			} else
+				sourceResourceURIs
+		if (incrementalBuild && sourceURIsToBuild.empty) {
+			LOG.info("No source resources are affected by changes.")
+			cleanGeneratedFiles(previousState.generatedFiles, sourceResourceURIs)
+			saveBuildState(index, contentHashes, environmentHash, sourceURIsToBuild)
+			saveClassFileCache
+			return true
+		}
+
 		// Generate Stubs
 		if (needsJava) {
-			val stubsClasses = compileStubs(generateStubs(index, sourceResourceURIs))
-			LOG.info("Installing type provider for stubs.")
-			installTypeProvider(allClassPathEntries + newArrayList(stubsClasses), resourceSet, jvmTypeAccess)
+			val javaCompiler = compiler
+			if (compileStubsInMemory && javaCompiler instanceof IJavaCompiler.InMemory) {
+				val stubsClasses = compileStubsInMemory(javaCompiler as IJavaCompiler.InMemory, index, sourceResourceURIs)
+				LOG.info("Installing type provider for stubs.")
+				val classLoader = new InMemoryClassLoader(stubsClasses, createURLClassLoader(allClassPathEntries))
+				installTypeProvider(classLoader, resourceSet, jvmTypeAccess)
+			} else {
+				val stubsClasses = compileStubs(generateStubs(index, sourceResourceURIs))
+				LOG.info("Installing type provider for stubs.")
+				installTypeProvider(allClassPathEntries + newArrayList(stubsClasses), resourceSet, jvmTypeAccess)
+			}
 		}
 
 		// Validate and generate
 		LOG.info("Validate and generate.")
+		val success = if (numberOfThreads > 1) {
+				val classLoader = if (needsJava) resourceSet.classpathURIContext as ClassLoader
+				validateAndGenerateInParallel(sourceURIsToBuild, index, classLoader)
+			} else
+				validateAndGenerate(sourceURIsToBuild, resourceSet, strategy)
+		if (incrementalBuild) {
+			cleanGeneratedFiles(previousState.generatedFiles, sourceResourceURIs)
+			saveBuildState(index, contentHashes, environmentHash, if (success) #[] else sourceURIsToBuild)
+		}
+		saveClassFileCache
+		return success
+	}
+
+	/**
+	 * Validates and generates the given source resources cluster by cluster.
+	 * 
+	 * @return <code>false</code> if some of processed resources contains severe validation issues. <code>true</code> otherwise
+	 */
+	def protected boolean validateAndGenerate(List<URI> sourceResourceURIs, XtextResourceSet resourceSet,
+		IResourceClusteringPolicy strategy) {
 		val sourceResourceIterator = sourceResourceURIs.iterator
 		var hasValidationErrors = false
 		while (sourceResourceIterator.hasNext) {
@@ -186,6 +319,377 @@ class StandaloneBuilder {
 		return !hasValidationErrors
 	}
 
+	/**
+	 * Validates the given source resources with {@link #numberOfThreads} workers and generates them on the calling
+	 * thread.<br>
+	 * Each worker validates its partition cluster by cluster. The issues are reported and the generator runs in
+	 * rounds, once every worker has validated its next cluster, and the clusters are released afterwards. Within a
+	 * round, both follow the order of the source resources. Thus at most one cluster per worker is held in memory
+	 * and, like in the sequential build, nothing is generated after a round with validation errors if
+	 * {@link #failOnValidationError} is set.
+	 * 
+	 * @param classLoader the class loader for the type provider of the worker resource sets. May be <code>null</code>.
+	 * @return <code>false</code> if some of processed resources contains severe validation issues. <code>true</code> otherwise
+	 */
+	def protected boolean validateAndGenerateInParallel(List<URI> sourceResourceURIs, ResourceDescriptionsData index,
+		ClassLoader classLoader) {
+		if (sourceResourceURIs.empty) {
+			return true
+		}
+		val partitions = partition(sourceResourceURIs)
+		forceDebugLog("Validating " + sourceResourceURIs.size + " resources in " + partitions.size + " partitions.")
+		val strategy = createClusteringPolicy(partitions.size)
+		val Map<URI, Integer> sourceOrder = newHashMap
+		for (i : 0 ..< sourceResourceURIs.size) {
+			sourceOrder.put(sourceResourceURIs.get(i), i)
+		}
+		var hasValidationErrors = false
+		val List<BlockingQueue<Map<Resource, List<Issue>>>> validatedClusters = newArrayList
+		val List<Semaphore> generatedClusters = newArrayList
+		val executor = Executors.newFixedThreadPool(partitions.size)
+		try {
+			val List<Future<Object>> futures = newArrayList
+			for (partition : partitions) {
+				val validated = new LinkedBlockingQueue<Map<Resource, List<Issue>>>
+				val generated = new Semaphore(0)
+				validatedClusters.add(validated)
+				generatedClusters.add(generated)
+				val Callable<Object> task = [|
+					validatePartition(partition, index, classLoader, strategy, validated, generated)
+					return null
+				]
+				futures.add(executor.submit(task))
+			}
+			val List<Integer> running = newArrayList
+			running += 0 ..< partitions.size
+			while (!running.empty) {
+				val List<Map<Resource, List<Issue>>> round = newArrayList
+				val List<Integer> finished = newArrayList
+				for (worker : running) {
+					val cluster = validatedClusters.get(worker).take
+					if (cluster.empty) {
+						futures.get(worker).result
+						finished.add(worker)
+					} else {
+						round.add(cluster)
+					}
+				}
+				running.removeAll(finished)
+				// the partitions are consecutive slices of the source resources, so are the clusters of a round
+				round.sortInplaceBy[sourceOrder.get(keySet.head.URI)]
+				for (cluster : round) {
+					for (entry : cluster.entrySet) {
+						if (!handleIssues(entry.key, entry.value)) {
+							hasValidationErrors = true
+						}
+					}
+				}
+				if (failOnValidationError && hasValidationErrors) {
+					return false
+				}
+				for (cluster : round) {
+					generate(cluster.keySet.toList)
+				}
+				for (worker : running) {
+					generatedClusters.get(worker).release
+				}
+			}
+			return !hasValidationErrors
+		} finally {
+			executor.shutdownNow
+		}
+	}
+
+	/**
+	 * Computes the resource descriptions of the given resources with {@link #numberOfThreads} workers and adds them
+	 * to the index in the order of the given URIs.
+	 * 
+	 * @param classLoader the class loader for the type provider of the worker resource sets. May be <code>null</code>.
+	 */
+	def protected void fillIndexInParallel(List<URI> resourceURIs, ResourceDescriptionsData index,
+		ClassLoader classLoader) {
+		if (resourceURIs.empty) {
+			return
+		}
+		val partitions = partition(resourceURIs)
+		forceDebugLog("Indexing " + resourceURIs.size + " resources in " + partitions.size + " partitions.")
+		val strategy = createClusteringPolicy(partitions.size)
+		val executor = Executors.newFixedThreadPool(partitions.size)
+		try {
+			val List<Future<List<IResourceDescription>>> futures = newArrayList
+			for (partition : partitions) {
+				val Callable<List<IResourceDescription>> task = [|
+					describePartition(partition, classLoader, strategy)
+				]
+				futures.add(executor.submit(task))
+			}
+			for (i : 0 ..< partitions.size) {
+				val partition = partitions.get(i)
+				val descriptions = futures.get(i).result
+				for (j : 0 ..< partition.size) {
+					index.addDescription(partition.get(j), descriptions.get(j))
+				}
+			}
+		} finally {
+			executor.shutdownNow
+		}
+	}
+
+	/**
+	 * Computes the resource descriptions of the given resources in a new, short-lived resource set.
+	 * The descriptions are copied, so they do not refer to the loaded resources.
+	 * 
+	 * @return the resource descriptions of the given resources in the same order.
+	 */
+	def protected List<IResourceDescription> describePartition(List<URI> partition, ClassLoader classLoader,
+		IResourceClusteringPolicy strategy) {
+		val resourceSet = resourceSetProvider.get
+		if (classLoader !== null) {
+			installTypeProvider(classLoader, resourceSet, null)
+		}
+		val List<IResourceDescription> descriptions = newArrayList
+		var clusterIndex = 0
+		for (uri : partition) {
+			val resource = resourceSet.getResource(uri, true)
+			val description = languageAccess(uri).resourceDescriptionManager.getResourceDescription(resource)
+			descriptions.add(SerializableResourceDescription.createCopy(description))
+			clusterIndex++
+			if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
+				resourceSet.clearResourceSet
+				clusterIndex = 0
+			}
+		}
+		resourceSet.clearResourceSet
+		return descriptions
+	}
+
+	/**
+	 * Splits the given list into at most {@link #numberOfThreads} partitions of similar size.
+	 */
+	def protected <T> List<List<T>> partition(List<T> elements) {
+		val partitionSize = (elements.size + numberOfThreads - 1) / numberOfThreads
+		return Lists.partition(elements, partitionSize)
+	}
+
+	def protected <T> T getResult(Future<T> future) {
+		try {
+			return future.get
+		} catch (ExecutionException e) {
+			throw Exceptions.sneakyThrow(e.cause)
+		}
+	}
+
+	/**
+	 * Creates the clustering policy for one of the given number of workers. The minimum cluster size is split
+	 * between the workers, whereas the memory thresholds apply to the whole JVM.
+	 */
+	def protected IResourceClusteringPolicy createClusteringPolicy(int workers) {
+		if (clusteringConfig === null) {
+			return new DisabledClusteringPolicy
+		}
+		return new DynamicResourceClusteringPolicy => [
+			// Convert MB to byte to make it easier for the user
+			setMinimumFreeMemory(clusteringConfig.minimumFreeMemory * 1024 * 1024)
+			setMinimumClusterSize(clusteringConfig.minimumClusterSize / workers)
+			setMinimumPercentFreeMemory(clusteringConfig.minimumPercentFreeMemory)
+		]
+	}
+
+	/**
+	 * Loads, resolves and validates the given resources cluster by cluster in a new resource set that shares the
+	 * given index and class loader. Each validated cluster is handed over to the calling thread along with the issues
+	 * of its resources, and the resource set is cleared once the cluster has been generated. An empty cluster signals
+	 * that the partition is done.
+	 */
+	def protected void validatePartition(List<URI> partition, ResourceDescriptionsData index, ClassLoader classLoader,
+		IResourceClusteringPolicy strategy, BlockingQueue<Map<Resource, List<Issue>>> validatedClusters,
+		Semaphore generatedClusters) {
+		try {
+			val resourceSet = resourceSetProvider.get
+			installIndex(resourceSet, index)
+			if (classLoader !== null) {
+				installTypeProvider(classLoader, resourceSet, jvmTypeAccess)
+			}
+			val iterator = partition.iterator
+			while (iterator.hasNext) {
+				val Map<Resource, List<Issue>> cluster = newLinkedHashMap
+				var clusterIndex = 0
+				var continue = true
+				while (iterator.hasNext && continue) {
+					val resource = resourceSet.getResource(iterator.next, true)
+					resource.contents // full initialize
+					EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
+					cluster.put(resource, computeIssues(resource))
+					clusterIndex++
+					if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
+						continue = false
+					}
+				}
+				validatedClusters.put(cluster)
+				generatedClusters.acquire
+				resourceSet.clearResourceSet
+			}
+		} finally {
+			validatedClusters.put(emptyMap)
+		}
+	}
+
+	/**
+	 * Computes the source resources that need to be validated and generated again. These are the changed
+	 * resources and the resources that are affected by the changed, added or removed resource descriptions.
+	 * The descriptions of the affected resources are computed again, and the resources that are affected by
+	 * their changes are collected in turn until no further resources are affected.
+	 */
+	def protected List<URI> collectAffectedResources(List<URI> sourceResourceURIs, List<URI> changedURIs,
+		ResourceDescriptionsData previousIndex, ResourceDescriptionsData index, XtextResourceSet resourceSet,
+		IResourceClusteringPolicy strategy) {
+		var List<IResourceDescription.Delta> deltas = newArrayList
+		for (uri : changedURIs) {
+			deltas.add(new DefaultResourceDescriptionDelta(previousIndex.getResourceDescription(uri),
+				index.getResourceDescription(uri)))
+		}
+		for (previousDescription : previousIndex.allResourceDescriptions) {
+			if (index.getResourceDescription(previousDescription.URI) === null) {
+				deltas.add(new DefaultResourceDescriptionDelta(previousDescription, null))
+			}
+		}
+		val Set<URI> affected = newHashSet
+		affected.addAll(changedURIs)
+		var int clusterIndex = 0
+		while (!deltas.empty) {
+			val List<IResourceDescription.Delta> newDeltas = newArrayList
+			for (uri : sourceResourceURIs) {
+				if (!affected.contains(uri) && uri.languageAccess.resourceDescriptionManager.isAffected(deltas,
+					index.getResourceDescription(uri), index)) {
+					affected.add(uri)
+					val oldDescription = index.getResourceDescription(uri)
+					fillIndex(uri, resourceSet.getResource(uri, true), index)
+					val delta = new DefaultResourceDescriptionDelta(oldDescription, index.getResourceDescription(uri))
+					if (delta.haveEObjectDescriptionsChanged) {
+						newDeltas.add(delta)
+					}
+					clusterIndex++
+					if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
+						clusterIndex = 0
+						resourceSet.clearResourceSet
+					}
+				}
+			}
+			deltas = newDeltas
+		}
+		val result = sourceResourceURIs.filter[affected.contains(it)].toList
+		LOG.info(result.size + " of " + sourceResourceURIs.size + " source resources are affected by changes.")
+		return result
+	}
+
+	def protected String computeContentHash(URI uri, ResourceSet resourceSet) {
+		val in = resourceSet.URIConverter.createInputStream(uri)
+		try {
+			return Hashing.sha256.hashBytes(ByteStreams.toByteArray(in)).toString
+		} finally {
+			in.close
+		}
+	}
+
+	/**
+	 * Computes a hash of the configuration of the builder, the class path and the Java sources. The incremental
+	 * build falls back to a full build if it differs from the hash of the previous build. Archives, class files and
+	 * Java sources are hashed by their path, size and time stamp rather than by their content. The output folders are
+	 * skipped.
+	 */
+	def protected String computeEnvironmentHash() {
+		val hasher = Hashing.sha256.newHasher
+		val Set<File> outputDirectories = newHashSet
+		for (fileExtension : languages.keySet.sort) {
+			hasher.putString(fileExtension, StandardCharsets.UTF_8)
+			for (output : languages.get(fileExtension).fileSystemAccess.outputConfigurations.values.sortBy[name]) {
+				hasher.putString(output.name + '=' + output.outputDirectory + ',' + output.useOutputPerSourceFolder,
+					StandardCharsets.UTF_8)
+				outputDirectories.add(new File(output.outputDirectory).absoluteFile)
+				for (mapping : output.sourceMappings.sortBy[sourceFolder]) {
+					hasher.putString(mapping.sourceFolder + '=' + mapping.outputDirectory, StandardCharsets.UTF_8)
+					if (mapping.outputDirectory !== null) {
+						outputDirectories.add(new File(mapping.outputDirectory).absoluteFile)
+					}
+				}
+			}
+		}
+		hasher.putString(sourceDirs.join(File.pathSeparator), StandardCharsets.UTF_8)
+		hasher.putString(javaSourceDirs.join(File.pathSeparator), StandardCharsets.UTF_8)
+		hasher.putString(classPathEntries.join(File.pathSeparator), StandardCharsets.UTF_8)
+		hasher.putString(encoding + ',' + classPathLookUpFilter, StandardCharsets.UTF_8)
+		hasher.putBoolean(writeStorageResources)
+		hasher.putBoolean(compileStubsInMemory)
+		for (entry : classPathEntries) {
+			putFiles(hasher, new File(entry), outputDirectories, [name.endsWith('.class') || name.endsWith('.jar')])
+		}
+		for (root : javaSourceDirs + sourceDirs) {
+			putFiles(hasher, new File(root), outputDirectories, [name.endsWith('.java')])
+		}
+		return hasher.hash.toString
+	}
+
+	/**
+	 * Adds the files below the given root that are accepted by the given filter to the given hasher.
+	 */
+	def protected void putFiles(Hasher hasher, File root, Set<File> excludedDirectories, (File)=>boolean filter) {
+		if (root.directory) {
+			if (!excludedDirectories.contains(root.absoluteFile)) {
+				val children = root.listFiles
+				if (children !== null) {
+					for (child : children.sortBy[name]) {
+						putFiles(hasher, child, excludedDirectories, filter)
+					}
+				}
+			}
+		} else if (root.file && filter.apply(root)) {
+			hasher.putString(root.absolutePath, StandardCharsets.UTF_8)
+			hasher.putLong(root.length)
+			hasher.putLong(root.lastModified)
+		}
+	}
+
+	/**
+	 * Forgets the generated files of the source resources that do not exist anymore and deletes the files that were
+	 * generated by a previous build but are not generated anymore.
+	 */
+	def protected void cleanGeneratedFiles(Map<URI, Set<String>> previousGeneratedFiles, List<URI> sourceResourceURIs) {
+		generatedFiles.keySet.retainAll(sourceResourceURIs.toSet)
+		val stillGenerated = generatedFiles.values.flatten.toSet
+		for (file : previousGeneratedFiles.values.flatten.toSet) {
+			if (!stillGenerated.contains(file)) {
+				forceDebugLog("Deleting '" + file + "'.")
+				new File(URI.createURI(file).toFileString).delete
+			}
+		}
+	}
+
+	/**
+	 * Stores the index, the content hashes and the generated files for the next incremental build. The hashes of
+	 * the given unfinished resources are omitted so that they are processed again.
+	 */
+	def protected void saveBuildState(ResourceDescriptionsData index, Map<URI, String> contentHashes,
+		String environmentHash, List<URI> unfinishedURIs) {
+		val Map<URI, String> finishedHashes = newHashMap
+		finishedHashes.putAll(contentHashes)
+		unfinishedURIs.forEach[finishedHashes.remove(it)]
+		new IncrementalBuildState(index, finishedHashes, environmentHash, generatedFiles).save(buildStateFile)
+	}
+
+	def protected getBuildStateFile() {
+		new File(tempDir, BUILD_STATE_FILE_NAME)
+	}
+
+	def protected void saveClassFileCache() {
+		if (classFileCache !== null) {
+			try {
+				classFileCache.save
+			} catch (IOException e) {
+				LOG.warn("Could not write the class file cache to '" + classFileCacheDir + "'", e)
+			}
+		}
+	}
+
 	def fillIndex(URI uri, Resource resource, ResourceDescriptionsData index) {
 		val description = languageAccess(uri).resourceDescriptionManager.getResourceDescription(resource)
 		index.addDescription(uri, description)
@@ -227,6 +731,32 @@ class StandaloneBuilder {
 		return stubsClasses.absolutePath
 	}
 
+	/**
+	 * Generates the Java stubs and compiles them together with the Java files of the source directories
+	 * without touching the disk.
+	 * 
+	 * @return the stub class files by their binary class names.
+	 */
+	def protected Map<String, byte[]> compileStubsInMemory(IJavaCompiler.InMemory javaCompiler,
+		ResourceDescriptionsData data, List<URI> sourceResourceURIs) {
+		val fileSystemAccess = new InMemoryFileSystemAccess
+		val generateStubs = sourceResourceURIs.filter[languageAccess.linksAgainstJava]
+		generateStubs.forEach [
+			languageAccess.stubGenerator.doGenerateStubs(fileSystemAccess, data.getResourceDescription(it))
+		]
+		val Map<String, CharSequence> stubs = newHashMap
+		fileSystemAccess.textFiles.forEach [ name, contents |
+			stubs.put(name.substring(IFileSystemAccess.DEFAULT_OUTPUT.length), contents)
+		]
+		javaCompiler.setClassPath(classPathEntries)
+		LOG.info("Compiling " + stubs.size + " stubs in memory.")
+		val sourceRoots = uniqueEntries(javaSourceDirs + sourceDirs)
+		forceDebugLog("Compiler source roots: " + sourceRoots.join(','))
+		val result = javaCompiler.compileInMemory(stubs, sourceRoots)
+		forceDebugLog("Stubs compilation produced " + result.size + " class files.")
+		return result
+	}
+
 	def protected uniqueEntries(Iterable<String> pathes) {
 		pathes.map[new File(it).absolutePath].toSet
 	}
@@ -244,11 +774,29 @@ class StandaloneBuilder {
 		return stubsDir
 	}
 
+	/**
+	 * Validates the given resource and passes the issues to the issue handler.
+	 */
 	def protected boolean validate(Resource resource) {
+		return handleIssues(resource, computeIssues(resource))
+	}
+
+	/**
+	 * Computes the issues of the given resource. In a parallel build, this is called concurrently by the workers.
+	 */
+	def protected List<Issue> computeIssues(Resource resource) {
 		LOG.info("Starting validation for input: '" + resource.getURI().lastSegment() + "'");
 		val resourceValidator = languageAccess(resource.URI).getResourceValidator();
-		val validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-		return issueHandler.handleIssue(validationResult)
+		return resourceValidator.validate(resource, CheckMode.ALL, null);
+	}
+
+	/**
+	 * Passes the issues of the given resource to the issue handler. This is always called on the calling thread.
+	 * 
+	 * @return <code>false</code> if the issue handler found severe issues.
+	 */
+	def protected boolean handleIssues(Resource resource, List<Issue> issues) {
+		return issueHandler.handleIssue(issues)
 	}
 
 	def protected generate(List<Resource> sourceResources) {
@@ -258,7 +806,10 @@ class StandaloneBuilder {
 			LOG.info("Starting generator for input: '" + getURI().lastSegment() + "'");
 			registerCurrentSource(it.URI)
 			val access = URI.languageAccess
-			val fileSystemAccess = access.fileSystemAccess
+			val IFileSystemAccess2 fileSystemAccess = if (incrementalBuild)
+					recordGeneratedFiles(it.URI, access.fileSystemAccess)
+				else
+					access.fileSystemAccess
 			if (isWriteStorageResources) {
 				switch it {
 					StorageAwareResource case resourceStorageFacade !== null: {
@@ -270,6 +821,16 @@ class StandaloneBuilder {
 		}
 	}
 
+	/**
+	 * Returns a view on the given file system access that records the files that are generated for the given
+	 * source resource.
+	 */
+	def protected IFileSystemAccess2 recordGeneratedFiles(URI source, JavaIoFileSystemAccess fileSystemAccess) {
+		val Set<String> files = newLinkedHashSet
+		generatedFiles.put(source, files)
+		return new RecordingFileSystemAccess(fileSystemAccess, files)
+	}
+
 	def protected registerCurrentSource(URI uri) {
 		val fsa = uri.languageAccess.fileSystemAccess
 		val absoluteSource = sourceDirs
@@ -321,8 +882,21 @@ class StandaloneBuilder {
 
 	def protected void installTypeProvider(Iterable<String> classPathRoots, XtextResourceSet resSet,
 		IndexedJvmTypeAccess typeAccess) {
-		val classLoader = createURLClassLoader(classPathRoots)
-		new ClasspathTypeProvider(classLoader, resSet, typeAccess, null)
+		installTypeProvider(createURLClassLoader(classPathRoots), resSet, typeAccess)
+	}
+
+	def protected void installTypeProvider(ClassLoader classLoader, XtextResourceSet resSet,
+		IndexedJvmTypeAccess typeAccess) {
+		val cache = classFileCache
+		if (cache !== null) {
+			new ClasspathTypeProvider(classLoader, resSet, typeAccess, null) {
+				override protected createClassFileReaderAccess() {
+					new PersistentClassFileBytesAccess(cache)
+				}
+			}
+		} else {
+			new ClasspathTypeProvider(classLoader, resSet, typeAccess, null)
+		}
 		resSet.setClasspathURIContext(classLoader);
 	}
 
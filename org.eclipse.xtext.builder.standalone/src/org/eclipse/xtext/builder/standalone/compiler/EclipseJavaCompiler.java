@@ -7,13 +7,33 @@ import static org.eclipse.xtext.util.Strings.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.xtext.mwe.PathTraverser;
 import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
@@ -21,6 +41,7 @@ import org.eclipse.xtext.xbase.lib.IterableExtensions;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 
@@ -28,7 +49,7 @@ import com.google.inject.Inject;
  * @author Dennis Huebner - Initial contribution and API
  * 
  */
-public class EclipseJavaCompiler implements IJavaCompiler {
+public class EclipseJavaCompiler implements IJavaCompiler.InMemory {
 
 	@Inject
 	private CompilerConfiguration configuration;
@@ -74,6 +95,101 @@ public class EclipseJavaCompiler implements IJavaCompiler {
 		return result ? CompilationResult.SUCCEEDED : CompilationResult.FAILED;
 	}
 
+	/**
+	 * @since 2.17
+	 */
+	@Override
+	public Map<String, byte[]> compileInMemory(Map<String, ? extends CharSequence> sources, Iterable<String> sourceRoots) {
+		List<ICompilationUnit> units = Lists.newArrayList();
+		for (Map.Entry<String, ? extends CharSequence> source : sources.entrySet()) {
+			units.add(new CompilationUnit(source.getValue().toString().toCharArray(), source.getKey(), null));
+		}
+		Iterable<String> validSourceRoots = IterableExtensions.filter(sourceRoots, new EmptyOrMissingFilter());
+		for (URI javaFile : findJavaFiles(validSourceRoots)) {
+			if (javaFile.isFile()) {
+				units.add(new CompilationUnit(null, javaFile.toFileString(), null));
+			}
+		}
+		final Map<String, byte[]> classes = Maps.newHashMap();
+		if (units.isEmpty()) {
+			return classes;
+		}
+		final PrintWriter errors = new PrintWriter(getErrorWriter());
+		ICompilerRequestor requestor = new ICompilerRequestor() {
+			@Override
+			public void acceptResult(org.eclipse.jdt.internal.compiler.CompilationResult result) {
+				for (ClassFile classFile : result.getClassFiles()) {
+					classes.put(CharOperation.toString(classFile.getCompoundName()), classFile.getBytes());
+				}
+				if (result.hasErrors()) {
+					for (CategorizedProblem problem : result.getErrors()) {
+						errors.println(String.valueOf(problem.getOriginatingFileName()) + ":" + problem.getSourceLineNumber()
+								+ ": " + problem.getMessage());
+					}
+				}
+			}
+		};
+		URLClassLoader classLoader = createClassPathClassLoader();
+		INameEnvironment nameEnvironment = new ClassLoaderBasedNameEnvironment(classLoader);
+		try {
+			debugLog("invoke in-memory compiler for " + units.size() + " compilation units");
+			Compiler compiler = new Compiler(nameEnvironment, DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+					getCompilerOptions(), requestor, new DefaultProblemFactory());
+			compiler.compile(units.toArray(new ICompilationUnit[units.size()]));
+		} finally {
+			nameEnvironment.cleanup();
+			errors.flush();
+			try {
+				classLoader.close();
+			} catch (IOException e) {
+				LOG.error(e.getMessage(), e);
+			}
+		}
+		return classes;
+	}
+
+	protected CompilerOptions getCompilerOptions() {
+		Map<String, String> settings = Maps.newHashMap();
+		settings.put(CompilerOptions.OPTION_Source, configuration.getSourceLevel());
+		settings.put(CompilerOptions.OPTION_Compliance, configuration.getTargetLevel());
+		settings.put(CompilerOptions.OPTION_TargetPlatform, configuration.getTargetLevel());
+		if (configuration.isPreserveInformationAboutFormalParameters()) {
+			settings.put(CompilerOptions.OPTION_MethodParametersAttribute, CompilerOptions.GENERATE);
+		}
+		return new CompilerOptions(settings);
+	}
+
+	/**
+	 * The class loader that provides the class files of the class path. The JDK classes are obtained from the
+	 * platform class loader.
+	 */
+	private URLClassLoader createClassPathClassLoader() {
+		List<URL> urls = Lists.newArrayList();
+		if (classPath != null) {
+			for (String entry : IterableExtensions.filter(classPath, new EmptyOrMissingFilter())) {
+				try {
+					urls.add(new File(entry).toURI().toURL());
+				} catch (MalformedURLException e) {
+					LOG.error(e.getMessage(), e);
+				}
+			}
+		}
+		return new URLClassLoader(urls.toArray(new URL[urls.size()]), getPlatformClassLoader());
+	}
+
+	/**
+	 * On Java 9 and later, the modules of the JDK like <code>java.sql</code> are not defined by the bootstrap class
+	 * loader but by the platform class loader. On Java 8 the bootstrap class loader, i.e. <code>null</code>, knows all
+	 * JDK classes.
+	 */
+	private static ClassLoader getPlatformClassLoader() {
+		try {
+			return (ClassLoader) ClassLoader.class.getMethod("getPlatformClassLoader").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
 	public Writer getOutputWriter() {
 		if (outputWriter == null) {
 			outputWriter = new Writer() {
@@ -136,6 +252,10 @@ public class EclipseJavaCompiler implements IJavaCompiler {
 	}
 
 	private boolean containsJavaFiles(Iterable<String> roots) {
+		return findJavaFiles(roots).size() > 0;
+	}
+
+	private Collection<URI> findJavaFiles(Iterable<String> roots) {
 		final String javaExt = "java";
 		Multimap<String, URI> uris = new PathTraverser().resolvePathes(Lists.newArrayList(roots), new Predicate<URI>() {
 			@Override
@@ -143,7 +263,68 @@ public class EclipseJavaCompiler implements IJavaCompiler {
 				return javaExt.equals(input.fileExtension());
 			}
 		});
-		return uris.values().size() > 0;
+		return uris.values();
+	}
+
+	/**
+	 * Looks up the class files of referenced types through a class loader.
+	 */
+	private static class ClassLoaderBasedNameEnvironment implements INameEnvironment {
+
+		private final ClassLoader classLoader;
+
+		private final Map<String, NameEnvironmentAnswer> cache = Maps.newHashMap();
+
+		public ClassLoaderBasedNameEnvironment(ClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+			return findType(CharOperation.toString(compoundTypeName).replace('.', '/') + ".class");
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+			return findType(CharOperation.toString(CharOperation.arrayConcat(packageName, typeName)).replace('.', '/')
+					+ ".class");
+		}
+
+		private NameEnvironmentAnswer findType(String fileName) {
+			if (cache.containsKey(fileName)) {
+				return cache.get(fileName);
+			}
+			NameEnvironmentAnswer result = null;
+			InputStream stream = classLoader.getResourceAsStream(fileName);
+			if (stream != null) {
+				try {
+					result = new NameEnvironmentAnswer(ClassFileReader.read(stream, fileName), null);
+				} catch (ClassFormatException | IOException e) {
+					LOG.error("Could not read class file '" + fileName + "'", e);
+				} finally {
+					try {
+						stream.close();
+					} catch (IOException e) {
+						LOG.error(e.getMessage(), e);
+					}
+				}
+			}
+			cache.put(fileName, result);
+			return result;
+		}
+
+		/**
+		 * A name is considered to be a package as long as there is no class file with that name.
+		 */
+		@Override
+		public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+			return findType(packageName, parentPackageName) == null;
+		}
+
+		@Override
+		public void cleanup() {
+			cache.clear();
+		}
 	}
 	
 	/**
@@ -4,6 +4,7 @@
 package org.eclipse.xtext.builder.standalone.compiler;
 
 import java.io.File;
+import java.util.Map;
 
 /**
  * @author Dennis Huebner
@@ -20,4 +21,21 @@ public interface IJavaCompiler {
 	public enum CompilationResult {
 		SUCCEEDED, SKIPPED, FAILED
 	}
+
+	/**
+	 * A compiler that produces class files in memory without writing sources or class files to disk.
+	 * 
+	 * @since 2.17
+	 */
+	public interface InMemory extends IJavaCompiler {
+
+		/**
+		 * Compiles the given sources together with all Java files in the given source roots.
+		 * 
+		 * @param sources
+		 *            the source contents by their file names, e.g. <code>my/pack/MyClass.java</code>.
+		 * @return the class files by their binary class names. Never <code>null</code>.
+		 */
+		Map<String, byte[]> compileInMemory(Map<String, ? extends CharSequence> sources, Iterable<String> sourceRoots);
+	}
 }
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.Map;
+
+/**
+ * A class loader that serves the class files produced by an {@link IJavaCompiler.InMemory in-memory compilation}.
+ *
+ * @since 2.17
+ */
+public class InMemoryClassLoader extends ClassLoader {
+
+	static {
+		registerAsParallelCapable();
+	}
+
+	private final Map<String, byte[]> classMap;
+
+	/**
+	 * @param classMap
+	 *            the class files by their binary class names.
+	 */
+	public InMemoryClassLoader(Map<String, byte[]> classMap, ClassLoader parent) {
+		super(parent);
+		this.classMap = classMap;
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		byte[] bytes = classMap.get(name);
+		if (bytes == null) {
+			return super.findClass(name);
+		}
+		return defineClass(name, bytes, 0, bytes.length);
+	}
+
+	@Override
+	protected URL findResource(String path) {
+		final byte[] bytes = getClassBytes(path);
+		if (bytes != null) {
+			try {
+				return new URL("in-memory", null, -1, path, new URLStreamHandler() {
+					@Override
+					protected URLConnection openConnection(URL url) throws IOException {
+						return new URLConnection(url) {
+							@Override
+							public void connect() {
+							}
+
+							@Override
+							public InputStream getInputStream() {
+								return new ByteArrayInputStream(bytes);
+							}
+						};
+					}
+				});
+			} catch (MalformedURLException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public InputStream getResourceAsStream(String path) {
+		byte[] bytes = getClassBytes(path);
+		if (bytes != null) {
+			return new ByteArrayInputStream(bytes);
+		}
+		return super.getResourceAsStream(path);
+	}
+
+	private byte[] getClassBytes(String path) {
+		if (path.endsWith(".class")) {
+			String className = path.substring(0, path.length() - ".class".length()).replace('/', '.');
+			return classMap.get(className);
+		}
+		return null;
+	}
+
+}
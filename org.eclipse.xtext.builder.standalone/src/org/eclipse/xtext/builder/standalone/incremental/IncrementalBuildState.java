@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * The index and the content hashes of the resources that were processed by a previous standalone build, the files
+ * that were generated for them and a hash of the environment of the build, i.e. its configuration, class path and
+ * Java sources.
+ *
+ * The resource descriptions are stored as {@link SerializableResourceDescription serializable copies}, thus the
+ * user data of the exported objects, e.g. the signature hashes of the inferred JVM types, survive between builds.
+ *
+ * @since 2.17
+ */
+public class IncrementalBuildState {
+
+	private static final Logger LOG = Logger.getLogger(IncrementalBuildState.class);
+
+	private static final int VERSION = 2;
+
+	private final ResourceDescriptionsData index;
+
+	private final Map<URI, String> contentHashes;
+
+	private final String environmentHash;
+
+	private final Map<URI, Set<String>> generatedFiles;
+
+	public IncrementalBuildState() {
+		this(new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList()),
+				Collections.<URI, String>emptyMap(), null, Collections.<URI, Set<String>>emptyMap());
+	}
+
+	/**
+	 * @param environmentHash
+	 *            the hash of the configuration, the class path and the Java sources of the build. May be
+	 *            <code>null</code>.
+	 * @param generatedFiles
+	 *            the URIs of the generated files by the URI of their source resource.
+	 */
+	public IncrementalBuildState(ResourceDescriptionsData index, Map<URI, String> contentHashes,
+			String environmentHash, Map<URI, Set<String>> generatedFiles) {
+		this.index = index;
+		this.contentHashes = contentHashes;
+		this.environmentHash = environmentHash;
+		this.generatedFiles = generatedFiles;
+	}
+
+	public ResourceDescriptionsData getIndex() {
+		return index;
+	}
+
+	public Map<URI, String> getContentHashes() {
+		return contentHashes;
+	}
+
+	public String getEnvironmentHash() {
+		return environmentHash;
+	}
+
+	public Map<URI, Set<String>> getGeneratedFiles() {
+		return generatedFiles;
+	}
+
+	/**
+	 * @return the previous resource description if the content hash of the resource did not change. Otherwise
+	 *         <code>null</code>.
+	 */
+	public IResourceDescription getUnchangedDescription(URI uri, String contentHash) {
+		if (contentHash != null && contentHash.equals(contentHashes.get(uri))) {
+			return index.getResourceDescription(uri);
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the build state from the given file. Returns an empty state if the file does not exist or cannot be
+	 * read.
+	 */
+	public static IncrementalBuildState load(File file) {
+		if (!file.isFile()) {
+			return new IncrementalBuildState();
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION) {
+				LOG.info("Ignoring build state of an incompatible version.");
+				return new IncrementalBuildState();
+			}
+			int descriptionCount = in.readInt();
+			List<IResourceDescription> descriptions = Lists.newArrayListWithCapacity(descriptionCount);
+			for (int i = 0; i < descriptionCount; i++) {
+				descriptions.add((IResourceDescription) in.readObject());
+			}
+			int hashCount = in.readInt();
+			Map<URI, String> contentHashes = Maps.newHashMapWithExpectedSize(hashCount);
+			for (int i = 0; i < hashCount; i++) {
+				URI uri = URI.createURI(in.readUTF());
+				contentHashes.put(uri, in.readUTF());
+			}
+			String environmentHash = in.readBoolean() ? in.readUTF() : null;
+			int sourceCount = in.readInt();
+			Map<URI, Set<String>> generatedFiles = Maps.newHashMapWithExpectedSize(sourceCount);
+			for (int i = 0; i < sourceCount; i++) {
+				URI uri = URI.createURI(in.readUTF());
+				int fileCount = in.readInt();
+				Set<String> files = Sets.newLinkedHashSetWithExpectedSize(fileCount);
+				for (int j = 0; j < fileCount; j++) {
+					files.add(in.readUTF());
+				}
+				generatedFiles.put(uri, files);
+			}
+			return new IncrementalBuildState(new ResourceDescriptionsData(descriptions), contentHashes,
+					environmentHash, generatedFiles);
+		} catch (IOException | ClassNotFoundException e) {
+			LOG.warn("Could not read build state from '" + file.getAbsolutePath() + "'. Performing a full build.", e);
+			return new IncrementalBuildState();
+		}
+	}
+
+	/**
+	 * Writes this build state to the given file.
+	 */
+	public void save(File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.mkdirs() && !parent.exists()) {
+			throw new IOException("Failed to create directory '" + parent.getAbsolutePath() + "'");
+		}
+		try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			List<IResourceDescription> descriptions = Lists.newArrayList(index.getAllResourceDescriptions());
+			out.writeInt(descriptions.size());
+			for (IResourceDescription description : descriptions) {
+				if (description instanceof SerializableResourceDescription) {
+					out.writeObject(description);
+				} else {
+					out.writeObject(SerializableResourceDescription.createCopy(description));
+				}
+			}
+			out.writeInt(contentHashes.size());
+			for (Map.Entry<URI, String> entry : contentHashes.entrySet()) {
+				out.writeUTF(entry.getKey().toString());
+				out.writeUTF(entry.getValue());
+			}
+			out.writeBoolean(environmentHash != null);
+			if (environmentHash != null) {
+				out.writeUTF(environmentHash);
+			}
+			out.writeInt(generatedFiles.size());
+			for (Map.Entry<URI, Set<String>> entry : generatedFiles.entrySet()) {
+				out.writeUTF(entry.getKey().toString());
+				out.writeInt(entry.getValue().size());
+				for (String file : entry.getValue()) {
+					out.writeUTF(file);
+				}
+			}
+		}
+	}
+}
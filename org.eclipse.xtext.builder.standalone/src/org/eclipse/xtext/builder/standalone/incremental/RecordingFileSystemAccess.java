@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.incremental;
+
+import java.io.InputStream;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.IFileSystemAccess2;
+
+/**
+ * A file system access that delegates to another one and records the URIs of the files that are generated through
+ * it. The incremental standalone build uses it to learn which files belong to a source resource.
+ *
+ * @since 2.17
+ */
+public class RecordingFileSystemAccess implements IFileSystemAccess2 {
+
+	private final IFileSystemAccess2 delegate;
+
+	private final Set<String> generatedFiles;
+
+	/**
+	 * @param delegate
+	 *            the file system access that actually writes the files.
+	 * @param generatedFiles
+	 *            the set that receives the URIs of the generated files.
+	 */
+	public RecordingFileSystemAccess(IFileSystemAccess2 delegate, Set<String> generatedFiles) {
+		this.delegate = delegate;
+		this.generatedFiles = generatedFiles;
+	}
+
+	@Override
+	public void generateFile(String fileName, CharSequence contents) {
+		generateFile(fileName, IFileSystemAccess.DEFAULT_OUTPUT, contents);
+	}
+
+	@Override
+	public void generateFile(String fileName, String outputConfigurationName, CharSequence contents) {
+		delegate.generateFile(fileName, outputConfigurationName, contents);
+		record(fileName, outputConfigurationName);
+	}
+
+	@Override
+	public void generateFile(String fileName, InputStream content) {
+		generateFile(fileName, IFileSystemAccess.DEFAULT_OUTPUT, content);
+	}
+
+	@Override
+	public void generateFile(String fileName, String outputConfigurationName, InputStream content) {
+		delegate.generateFile(fileName, outputConfigurationName, content);
+		record(fileName, outputConfigurationName);
+	}
+
+	protected void record(String fileName, String outputConfigurationName) {
+		generatedFiles.add(delegate.getURI(fileName, outputConfigurationName).toString());
+	}
+
+	@Override
+	public void deleteFile(String fileName) {
+		delegate.deleteFile(fileName);
+	}
+
+	@Override
+	public void deleteFile(String fileName, String outputConfigurationName) {
+		delegate.deleteFile(fileName, outputConfigurationName);
+	}
+
+	@Override
+	public URI getURI(String path) {
+		return delegate.getURI(path);
+	}
+
+	@Override
+	public URI getURI(String path, String outputConfiguration) {
+		return delegate.getURI(path, outputConfiguration);
+	}
+
+	@Override
+	public InputStream readBinaryFile(String fileName) {
+		return delegate.readBinaryFile(fileName);
+	}
+
+	@Override
+	public InputStream readBinaryFile(String fileName, String outputConfigurationName) {
+		return delegate.readBinaryFile(fileName, outputConfigurationName);
+	}
+
+	@Override
+	public CharSequence readTextFile(String fileName) {
+		return delegate.readTextFile(fileName);
+	}
+
+	@Override
+	public CharSequence readTextFile(String fileName, String outputConfigurationName) {
+		return delegate.readTextFile(fileName, outputConfigurationName);
+	}
+
+	@Override
+	public boolean isFile(String path) {
+		return delegate.isFile(path);
+	}
+
+	@Override
+	public boolean isFile(String path, String outputConfigurationName) {
+		return delegate.isFile(path, outputConfigurationName);
+	}
+
+}
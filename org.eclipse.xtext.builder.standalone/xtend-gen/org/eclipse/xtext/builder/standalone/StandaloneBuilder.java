@@ -3,20 +3,35 @@ package org.eclipse.xtext.builder.standalone;
 import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.jar.JarFile;
@@ -35,11 +50,20 @@ import org.eclipse.xtext.builder.standalone.ClusteringConfig;
 import org.eclipse.xtext.builder.standalone.IIssueHandler;
 import org.eclipse.xtext.builder.standalone.LanguageAccess;
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler;
+import org.eclipse.xtext.builder.standalone.compiler.InMemoryClassLoader;
+import org.eclipse.xtext.builder.standalone.incremental.IncrementalBuildState;
+import org.eclipse.xtext.builder.standalone.incremental.RecordingFileSystemAccess;
+import org.eclipse.xtext.common.types.access.binary.asm.ClassFileBytesAccess;
+import org.eclipse.xtext.common.types.access.binary.asm.PersistentClassFileBytesAccess;
+import org.eclipse.xtext.common.types.access.binary.asm.PersistentClassFileBytesCache;
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
+import org.eclipse.xtext.common.types.access.impl.VersionedResourceDescriptionsData;
 import org.eclipse.xtext.generator.AbstractFileSystemAccess;
 import org.eclipse.xtext.generator.GeneratorContext;
 import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.IFileSystemAccess2;
+import org.eclipse.xtext.generator.InMemoryFileSystemAccess;
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.mwe.NameBasedFilter;
@@ -50,8 +74,10 @@ import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy;
 import org.eclipse.xtext.resource.clustering.DynamicResourceClusteringPolicy;
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.resource.persistence.IResourceStorageFacade;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.UriUtil;
@@ -60,9 +86,11 @@ import org.eclipse.xtext.validation.IResourceValidator;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
+import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Pure;
@@ -71,6 +99,8 @@ import org.eclipse.xtext.xbase.lib.Pure;
 public class StandaloneBuilder {
   private static final Logger LOG = Logger.getLogger(StandaloneBuilder.class);
   
+  private static final String BUILD_STATE_FILE_NAME = "xtext-build-state.bin";
+  
   /**
    * Map key is a file extension provided by Language FileExtensionProvider
    */
@@ -116,6 +146,49 @@ public class StandaloneBuilder {
   @Accessors
   private ClusteringConfig clusteringConfig = null;
   
+  /**
+   * Number of threads that are used to index and validate the resources.<br>
+   * If set to a value greater than <code>1</code>, the resources are split into partitions
+   * that are loaded, indexed and validated concurrently, each in its own resource set. The issues are computed on
+   * the worker threads and passed to the issue handler on the calling thread, round by round in the order of the
+   * source resources. The generator runs on the calling thread. The clustering limits apply to each worker.
+   * <br>Default is <code>1</code>
+   */
+  @Accessors
+  private int numberOfThreads = 1;
+  
+  /**
+   * If incrementalBuild is set to <code>true</code>, StandaloneBuilder stores the index and the content hashes<br>
+   * of all processed resources in the {@link #tempDir}. Subsequent builds only validate and generate the<br>
+   * source resources that have changed or that are affected by a changed resource.<br>
+   * The tempDir has to be kept between the builds for this to take effect.
+   * <br>Default is <code>false</code>
+   */
+  @Accessors
+  private boolean incrementalBuild;
+  
+  /**
+   * If compileStubsInMemory is set to <code>true</code> and the configured compiler supports it,<br>
+   * the Java stubs are generated and compiled in memory instead of in the {@link #tempDir}.<br>
+   * Annotation processors are not executed for the in-memory compilation.
+   * <br>Default is <code>false</code>
+   */
+  @Accessors
+  private boolean compileStubsInMemory;
+  
+  /**
+   * Directory that is used to cache the class files of the archives on the class path between builds.<br>
+   * Cached class files are read from a memory mapped file instead of being extracted from the archive again.<br>
+   * An archive is identified by its path, size and modification stamp, thus changed archives are read again.
+   * <br>Default is <code>null</code> which disables the cache
+   */
+  @Accessors
+  private String classFileCacheDir;
+  
+  private PersistentClassFileBytesCache classFileCache;
+  
+  private Map<URI, Set<String>> generatedFiles = CollectionLiterals.<URI, Set<String>>newHashMap();
+  
   @Inject
   private IndexedJvmTypeAccess jvmTypeAccess;
   
@@ -155,6 +228,11 @@ public class StandaloneBuilder {
     }
     if (needsJava) {
       StandaloneBuilder.LOG.info("Using common types.");
+      if ((this.classFileCacheDir != null)) {
+        File _file = new File(this.classFileCacheDir);
+        PersistentClassFileBytesCache _persistentClassFileBytesCache = new PersistentClassFileBytesCache(_file);
+        this.classFileCache = _persistentClassFileBytesCache;
+      }
     }
     final XtextResourceSet resourceSet = this.resourceSetProvider.get();
     if ((this.encoding != null)) {
@@ -193,63 +271,160 @@ public class StandaloneBuilder {
       StandaloneBuilder.LOG.info("Installing type provider.");
       this.installTypeProvider(allClassPathEntries, resourceSet, null);
     }
-    IResourceClusteringPolicy _xifexpression = null;
     if ((this.clusteringConfig != null)) {
-      DynamicResourceClusteringPolicy _xblockexpression = null;
-      {
-        StandaloneBuilder.LOG.info("Clustering configured.");
-        DynamicResourceClusteringPolicy _dynamicResourceClusteringPolicy = new DynamicResourceClusteringPolicy();
-        final Procedure1<DynamicResourceClusteringPolicy> _function_2 = (DynamicResourceClusteringPolicy it) -> {
-          long _minimumFreeMemory = this.clusteringConfig.getMinimumFreeMemory();
-          long _multiply = (_minimumFreeMemory * 1024);
-          long _multiply_1 = (_multiply * 1024);
-          it.setMinimumFreeMemory(_multiply_1);
-          it.setMinimumClusterSize(this.clusteringConfig.getMinimumClusterSize());
-          it.setMinimumPercentFreeMemory(this.clusteringConfig.getMinimumPercentFreeMemory());
-        };
-        _xblockexpression = ObjectExtensions.<DynamicResourceClusteringPolicy>operator_doubleArrow(_dynamicResourceClusteringPolicy, _function_2);
-      }
-      _xifexpression = _xblockexpression;
+      StandaloneBuilder.LOG.info("Clustering configured.");
+    }
+    final IResourceClusteringPolicy strategy = this.createClusteringPolicy(1);
+    String _xifexpression = null;
+    if (this.incrementalBuild) {
+      _xifexpression = this.computeEnvironmentHash();
+    }
+    final String environmentHash = _xifexpression;
+    IncrementalBuildState _xifexpression_1 = null;
+    if (this.incrementalBuild) {
+      _xifexpression_1 = IncrementalBuildState.load(this.getBuildStateFile());
     } else {
-      _xifexpression = new DisabledClusteringPolicy();
+      _xifexpression_1 = new IncrementalBuildState();
     }
-    final IResourceClusteringPolicy strategy = _xifexpression;
+    final IncrementalBuildState previousState = _xifexpression_1;
+    final boolean fullBuild = ((!this.incrementalBuild) || (!Objects.equal(previousState.getEnvironmentHash(), environmentHash)));
+    if ((this.incrementalBuild && fullBuild)) {
+      StandaloneBuilder.LOG.info("The configuration, the class path or the Java sources changed. Performing a full build.");
+    }
+    this.generatedFiles = CollectionLiterals.<URI, Set<String>>newHashMap();
+    this.generatedFiles.putAll(previousState.getGeneratedFiles());
+    final Map<URI, String> contentHashes = CollectionLiterals.<URI, String>newHashMap();
+    final List<URI> changedURIs = CollectionLiterals.<URI>newArrayList();
     ArrayList<IResourceDescription> _newArrayList = CollectionLiterals.<IResourceDescription>newArrayList();
-    ResourceDescriptionsData index = new ResourceDescriptionsData(_newArrayList);
-    Iterator<URI> allResourceIterator = allResourcesURIs.iterator();
-    while (allResourceIterator.hasNext()) {
+    ResourceDescriptionsData index = new VersionedResourceDescriptionsData(_newArrayList);
+    for (final URI uri : allResourcesURIs) {
       {
-        List<Resource> resources = CollectionLiterals.<Resource>newArrayList();
-        int clusterIndex = 0;
-        boolean continue_ = true;
-        while ((allResourceIterator.hasNext() && continue_)) {
+        IResourceDescription _xifexpression_2 = null;
+        if (this.incrementalBuild) {
+          IResourceDescription _xblockexpression = null;
           {
-            final URI uri = allResourceIterator.next();
-            final Resource resource = resourceSet.getResource(uri, true);
-            resources.add(resource);
-            this.fillIndex(uri, resource, index);
-            clusterIndex++;
-            boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
-            boolean _not = (!_continueProcessing);
-            if (_not) {
-              continue_ = false;
+            final String contentHash = this.computeContentHash(uri, resourceSet);
+            contentHashes.put(uri, contentHash);
+            IResourceDescription _xifexpression_3 = null;
+            if ((!fullBuild)) {
+              _xifexpression_3 = previousState.getUnchangedDescription(uri, contentHash);
             }
+            _xblockexpression = _xifexpression_3;
           }
+          _xifexpression_2 = _xblockexpression;
         }
-        if ((!continue_)) {
-          this.clearResourceSet(resourceSet);
+        final IResourceDescription unchangedDescription = _xifexpression_2;
+        if ((unchangedDescription != null)) {
+          index.addDescription(uri, unchangedDescription);
+        } else {
+          changedURIs.add(uri);
+        }
+      }
+    }
+    if ((this.numberOfThreads > 1)) {
+      ClassLoader _xifexpression_4 = null;
+      if (needsJava) {
+        Object _classpathURIContext = resourceSet.getClasspathURIContext();
+        _xifexpression_4 = ((ClassLoader) _classpathURIContext);
+      }
+      final ClassLoader classLoader = _xifexpression_4;
+      this.fillIndexInParallel(changedURIs, index, classLoader);
+    } else {
+      Iterator<URI> changedResourceIterator = changedURIs.iterator();
+      while (changedResourceIterator.hasNext()) {
+        {
+          List<Resource> resources = CollectionLiterals.<Resource>newArrayList();
+          int clusterIndex = 0;
+          boolean continue_ = true;
+          while ((changedResourceIterator.hasNext() && continue_)) {
+            {
+              final URI uri_1 = changedResourceIterator.next();
+              final Resource resource = resourceSet.getResource(uri_1, true);
+              resources.add(resource);
+              this.fillIndex(uri_1, resource, index);
+              clusterIndex++;
+              boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
+              boolean _not = (!_continueProcessing);
+              if (_not) {
+                continue_ = false;
+              }
+            }
+          }
+          if ((!continue_)) {
+            this.clearResourceSet(resourceSet);
+          }
         }
       }
     }
     this.installIndex(resourceSet, index);
+    List<URI> _xifexpression_5 = null;
+    if ((!fullBuild)) {
+      _xifexpression_5 = this.collectAffectedResources(sourceResourceURIs, changedURIs, previousState.getIndex(), index, resourceSet, strategy);
+    } else {
+      _xifexpression_5 = sourceResourceURIs;
+    }
+    final List<URI> sourceURIsToBuild = _xifexpression_5;
+    if ((this.incrementalBuild && sourceURIsToBuild.isEmpty())) {
+      StandaloneBuilder.LOG.info("No source resources are affected by changes.");
+      this.cleanGeneratedFiles(previousState.getGeneratedFiles(), sourceResourceURIs);
+      this.saveBuildState(index, contentHashes, environmentHash, sourceURIsToBuild);
+      this.saveClassFileCache();
+      return true;
+    }
     if (needsJava) {
-      final String stubsClasses = this.compileStubs(this.generateStubs(index, sourceResourceURIs));
-      StandaloneBuilder.LOG.info("Installing type provider for stubs.");
-      ArrayList<String> _newArrayList_1 = CollectionLiterals.<String>newArrayList(stubsClasses);
-      Iterable<String> _plus_6 = Iterables.<String>concat(allClassPathEntries, _newArrayList_1);
-      this.installTypeProvider(_plus_6, resourceSet, this.jvmTypeAccess);
+      final IJavaCompiler javaCompiler = this.compiler;
+      if ((this.compileStubsInMemory && (javaCompiler instanceof IJavaCompiler.InMemory))) {
+        final Map<String, byte[]> stubsClasses = this.compileStubsInMemory(((IJavaCompiler.InMemory) javaCompiler), index, sourceResourceURIs);
+        StandaloneBuilder.LOG.info("Installing type provider for stubs.");
+        URLClassLoader _createURLClassLoader = this.createURLClassLoader(allClassPathEntries);
+        final InMemoryClassLoader classLoader = new InMemoryClassLoader(stubsClasses, _createURLClassLoader);
+        this.installTypeProvider(classLoader, resourceSet, this.jvmTypeAccess);
+      } else {
+        final String stubsClasses_1 = this.compileStubs(this.generateStubs(index, sourceResourceURIs));
+        StandaloneBuilder.LOG.info("Installing type provider for stubs.");
+        ArrayList<String> _newArrayList_1 = CollectionLiterals.<String>newArrayList(stubsClasses_1);
+        Iterable<String> _plus_6 = Iterables.<String>concat(allClassPathEntries, _newArrayList_1);
+        this.installTypeProvider(_plus_6, resourceSet, this.jvmTypeAccess);
+      }
     }
     StandaloneBuilder.LOG.info("Validate and generate.");
+    boolean _xifexpression_6 = false;
+    if ((this.numberOfThreads > 1)) {
+      boolean _xblockexpression_1 = false;
+      {
+        ClassLoader _xifexpression_7 = null;
+        if (needsJava) {
+          Object _classpathURIContext_1 = resourceSet.getClasspathURIContext();
+          _xifexpression_7 = ((ClassLoader) _classpathURIContext_1);
+        }
+        final ClassLoader classLoader_1 = _xifexpression_7;
+        _xblockexpression_1 = this.validateAndGenerateInParallel(sourceURIsToBuild, index, classLoader_1);
+      }
+      _xifexpression_6 = _xblockexpression_1;
+    } else {
+      _xifexpression_6 = this.validateAndGenerate(sourceURIsToBuild, resourceSet, strategy);
+    }
+    final boolean success = _xifexpression_6;
+    if (this.incrementalBuild) {
+      List<URI> _xifexpression_8 = null;
+      if (success) {
+        _xifexpression_8 = Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList());
+      } else {
+        _xifexpression_8 = sourceURIsToBuild;
+      }
+      this.cleanGeneratedFiles(previousState.getGeneratedFiles(), sourceResourceURIs);
+      this.saveBuildState(index, contentHashes, environmentHash, _xifexpression_8);
+    }
+    this.saveClassFileCache();
+    return success;
+  }
+  
+  /**
+   * Validates and generates the given source resources cluster by cluster.
+   * 
+   * @return <code>false</code> if some of processed resources contains severe validation issues. <code>true</code> otherwise
+   */
+  protected boolean validateAndGenerate(final List<URI> sourceResourceURIs, final XtextResourceSet resourceSet, final IResourceClusteringPolicy strategy) {
     final Iterator<URI> sourceResourceIterator = sourceResourceURIs.iterator();
     boolean hasValidationErrors = false;
     while (sourceResourceIterator.hasNext()) {
@@ -285,6 +460,538 @@ public class StandaloneBuilder {
     return (!hasValidationErrors);
   }
   
+  /**
+   * Validates the given source resources with {@link #numberOfThreads} workers and generates them on the calling
+   * thread.<br>
+   * Each worker validates its partition cluster by cluster. The issues are reported and the generator runs in
+   * rounds, once every worker has validated its next cluster, and the clusters are released afterwards. Within a
+   * round, both follow the order of the source resources. Thus at most one cluster per worker is held in memory
+   * and, like in the sequential build, nothing is generated after a round with validation errors if
+   * {@link #failOnValidationError} is set.
+   * 
+   * @param classLoader the class loader for the type provider of the worker resource sets. May be <code>null</code>.
+   * @return <code>false</code> if some of processed resources contains severe validation issues. <code>true</code> otherwise
+   */
+  protected boolean validateAndGenerateInParallel(final List<URI> sourceResourceURIs, final ResourceDescriptionsData index, final ClassLoader classLoader) {
+    try {
+      boolean _isEmpty = sourceResourceURIs.isEmpty();
+      if (_isEmpty) {
+        return true;
+      }
+      final List<List<URI>> partitions = this.<URI>partition(sourceResourceURIs);
+      int _size = sourceResourceURIs.size();
+      String _plus = ("Validating " + Integer.valueOf(_size));
+      String _plus_1 = (_plus + " resources in ");
+      int _size_1 = partitions.size();
+      String _plus_2 = (_plus_1 + Integer.valueOf(_size_1));
+      String _plus_3 = (_plus_2 + " partitions.");
+      this.forceDebugLog(_plus_3);
+      final IResourceClusteringPolicy strategy = this.createClusteringPolicy(partitions.size());
+      final Map<URI, Integer> sourceOrder = CollectionLiterals.<URI, Integer>newHashMap();
+      int _size_2 = sourceResourceURIs.size();
+      ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, _size_2, true);
+      for (final Integer i : _doubleDotLessThan) {
+        sourceOrder.put(sourceResourceURIs.get((i).intValue()), i);
+      }
+      boolean hasValidationErrors = false;
+      final List<BlockingQueue<Map<Resource, List<Issue>>>> validatedClusters = CollectionLiterals.<BlockingQueue<Map<Resource, List<Issue>>>>newArrayList();
+      final List<Semaphore> generatedClusters = CollectionLiterals.<Semaphore>newArrayList();
+      final ExecutorService executor = Executors.newFixedThreadPool(partitions.size());
+      try {
+        final List<Future<Object>> futures = CollectionLiterals.<Future<Object>>newArrayList();
+        for (final List<URI> partition : partitions) {
+          {
+            final LinkedBlockingQueue<Map<Resource, List<Issue>>> validated = new LinkedBlockingQueue<Map<Resource, List<Issue>>>();
+            final Semaphore generated = new Semaphore(0);
+            validatedClusters.add(validated);
+            generatedClusters.add(generated);
+            final Callable<Object> _function = () -> {
+              this.validatePartition(partition, index, classLoader, strategy, validated, generated);
+              return null;
+            };
+            final Callable<Object> task = _function;
+            futures.add(executor.<Object>submit(task));
+          }
+        }
+        final List<Integer> running = CollectionLiterals.<Integer>newArrayList();
+        int _size_3 = partitions.size();
+        ExclusiveRange _doubleDotLessThan_1 = new ExclusiveRange(0, _size_3, true);
+        Iterables.<Integer>addAll(running, _doubleDotLessThan_1);
+        while ((!running.isEmpty())) {
+          {
+            final List<Map<Resource, List<Issue>>> round = CollectionLiterals.<Map<Resource, List<Issue>>>newArrayList();
+            final List<Integer> finished = CollectionLiterals.<Integer>newArrayList();
+            for (final Integer worker : running) {
+              {
+                final Map<Resource, List<Issue>> cluster = validatedClusters.get((worker).intValue()).take();
+                boolean _isEmpty_1 = cluster.isEmpty();
+                if (_isEmpty_1) {
+                  this.<Object>getResult(futures.get((worker).intValue()));
+                  finished.add(worker);
+                } else {
+                  round.add(cluster);
+                }
+              }
+            }
+            running.removeAll(finished);
+            final Function1<Map<Resource, List<Issue>>, Integer> _function_1 = (Map<Resource, List<Issue>> it) -> {
+              return sourceOrder.get(IterableExtensions.<Resource>head(it.keySet()).getURI());
+            };
+            ListExtensions.<Map<Resource, List<Issue>>, Integer>sortInplaceBy(round, _function_1);
+            for (final Map<Resource, List<Issue>> cluster_1 : round) {
+              Set<Map.Entry<Resource, List<Issue>>> _entrySet = cluster_1.entrySet();
+              for (final Map.Entry<Resource, List<Issue>> entry : _entrySet) {
+                boolean _handleIssues = this.handleIssues(entry.getKey(), entry.getValue());
+                boolean _not = (!_handleIssues);
+                if (_not) {
+                  hasValidationErrors = true;
+                }
+              }
+            }
+            if ((this.failOnValidationError && hasValidationErrors)) {
+              return false;
+            }
+            for (final Map<Resource, List<Issue>> cluster_2 : round) {
+              this.generate(IterableExtensions.<Resource>toList(cluster_2.keySet()));
+            }
+            for (final Integer worker_1 : running) {
+              generatedClusters.get((worker_1).intValue()).release();
+            }
+          }
+        }
+        return (!hasValidationErrors);
+      } finally {
+        executor.shutdownNow();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Computes the resource descriptions of the given resources with {@link #numberOfThreads} workers and adds them
+   * to the index in the order of the given URIs.
+   * 
+   * @param classLoader the class loader for the type provider of the worker resource sets. May be <code>null</code>.
+   */
+  protected void fillIndexInParallel(final List<URI> resourceURIs, final ResourceDescriptionsData index, final ClassLoader classLoader) {
+    boolean _isEmpty = resourceURIs.isEmpty();
+    if (_isEmpty) {
+      return;
+    }
+    final List<List<URI>> partitions = this.<URI>partition(resourceURIs);
+    int _size = resourceURIs.size();
+    String _plus = ("Indexing " + Integer.valueOf(_size));
+    String _plus_1 = (_plus + " resources in ");
+    int _size_1 = partitions.size();
+    String _plus_2 = (_plus_1 + Integer.valueOf(_size_1));
+    String _plus_3 = (_plus_2 + " partitions.");
+    this.forceDebugLog(_plus_3);
+    final IResourceClusteringPolicy strategy = this.createClusteringPolicy(partitions.size());
+    final ExecutorService executor = Executors.newFixedThreadPool(partitions.size());
+    try {
+      final List<Future<List<IResourceDescription>>> futures = CollectionLiterals.<Future<List<IResourceDescription>>>newArrayList();
+      for (final List<URI> partition : partitions) {
+        {
+          final Callable<List<IResourceDescription>> _function = () -> {
+            return this.describePartition(partition, classLoader, strategy);
+          };
+          final Callable<List<IResourceDescription>> task = _function;
+          futures.add(executor.<List<IResourceDescription>>submit(task));
+        }
+      }
+      int _size_2 = partitions.size();
+      ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, _size_2, true);
+      for (final Integer i : _doubleDotLessThan) {
+        {
+          final List<URI> partition_1 = partitions.get((i).intValue());
+          final List<IResourceDescription> descriptions = this.<List<IResourceDescription>>getResult(futures.get((i).intValue()));
+          int _size_3 = partition_1.size();
+          ExclusiveRange _doubleDotLessThan_1 = new ExclusiveRange(0, _size_3, true);
+          for (final Integer j : _doubleDotLessThan_1) {
+            index.addDescription(partition_1.get((j).intValue()), descriptions.get((j).intValue()));
+          }
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+  
+  /**
+   * Computes the resource descriptions of the given resources in a new, short-lived resource set.
+   * The descriptions are copied, so they do not refer to the loaded resources.
+   * 
+   * @return the resource descriptions of the given resources in the same order.
+   */
+  protected List<IResourceDescription> describePartition(final List<URI> partition, final ClassLoader classLoader, final IResourceClusteringPolicy strategy) {
+    final XtextResourceSet resourceSet = this.resourceSetProvider.get();
+    if ((classLoader != null)) {
+      this.installTypeProvider(classLoader, resourceSet, null);
+    }
+    final List<IResourceDescription> descriptions = CollectionLiterals.<IResourceDescription>newArrayList();
+    int clusterIndex = 0;
+    for (final URI uri : partition) {
+      {
+        final Resource resource = resourceSet.getResource(uri, true);
+        final IResourceDescription description = this.languageAccess(uri).getResourceDescriptionManager().getResourceDescription(resource);
+        descriptions.add(SerializableResourceDescription.createCopy(description));
+        clusterIndex++;
+        boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
+        boolean _not = (!_continueProcessing);
+        if (_not) {
+          this.clearResourceSet(resourceSet);
+          clusterIndex = 0;
+        }
+      }
+    }
+    this.clearResourceSet(resourceSet);
+    return descriptions;
+  }
+  
+  /**
+   * Splits the given list into at most {@link #numberOfThreads} partitions of similar size.
+   */
+  protected <T extends Object> List<List<T>> partition(final List<T> elements) {
+    int _size = elements.size();
+    int _plus = (_size + this.numberOfThreads);
+    int _minus = (_plus - 1);
+    final int partitionSize = (_minus / this.numberOfThreads);
+    return Lists.<T>partition(elements, partitionSize);
+  }
+  
+  protected <T extends Object> T getResult(final Future<T> future) {
+    try {
+      try {
+        return future.get();
+      } catch (final Throwable _t) {
+        if (_t instanceof ExecutionException) {
+          final ExecutionException e = (ExecutionException)_t;
+          throw Exceptions.sneakyThrow(e.getCause());
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Creates the clustering policy for one of the given number of workers. The minimum cluster size is split
+   * between the workers, whereas the memory thresholds apply to the whole JVM.
+   */
+  protected IResourceClusteringPolicy createClusteringPolicy(final int workers) {
+    if ((this.clusteringConfig == null)) {
+      return new DisabledClusteringPolicy();
+    }
+    DynamicResourceClusteringPolicy _dynamicResourceClusteringPolicy = new DynamicResourceClusteringPolicy();
+    final Procedure1<DynamicResourceClusteringPolicy> _function = (DynamicResourceClusteringPolicy it) -> {
+      long _minimumFreeMemory = this.clusteringConfig.getMinimumFreeMemory();
+      long _multiply = (_minimumFreeMemory * 1024);
+      long _multiply_1 = (_multiply * 1024);
+      it.setMinimumFreeMemory(_multiply_1);
+      int _minimumClusterSize = this.clusteringConfig.getMinimumClusterSize();
+      int _divide = (_minimumClusterSize / workers);
+      it.setMinimumClusterSize(_divide);
+      it.setMinimumPercentFreeMemory(this.clusteringConfig.getMinimumPercentFreeMemory());
+    };
+    return ObjectExtensions.<DynamicResourceClusteringPolicy>operator_doubleArrow(_dynamicResourceClusteringPolicy, _function);
+  }
+  
+  /**
+   * Loads, resolves and validates the given resources cluster by cluster in a new resource set that shares the
+   * given index and class loader. Each validated cluster is handed over to the calling thread along with the issues
+   * of its resources, and the resource set is cleared once the cluster has been generated. An empty cluster signals
+   * that the partition is done.
+   */
+  protected void validatePartition(final List<URI> partition, final ResourceDescriptionsData index, final ClassLoader classLoader, final IResourceClusteringPolicy strategy, final BlockingQueue<Map<Resource, List<Issue>>> validatedClusters, final Semaphore generatedClusters) {
+    try {
+      try {
+        final XtextResourceSet resourceSet = this.resourceSetProvider.get();
+        this.installIndex(resourceSet, index);
+        if ((classLoader != null)) {
+          this.installTypeProvider(classLoader, resourceSet, this.jvmTypeAccess);
+        }
+        final Iterator<URI> iterator = partition.iterator();
+        while (iterator.hasNext()) {
+          {
+            final Map<Resource, List<Issue>> cluster = CollectionLiterals.<Resource, List<Issue>>newLinkedHashMap();
+            int clusterIndex = 0;
+            boolean continue_ = true;
+            while ((iterator.hasNext() && continue_)) {
+              {
+                final Resource resource = resourceSet.getResource(iterator.next(), true);
+                resource.getContents();
+                EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+                cluster.put(resource, this.computeIssues(resource));
+                clusterIndex++;
+                boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
+                boolean _not = (!_continueProcessing);
+                if (_not) {
+                  continue_ = false;
+                }
+              }
+            }
+            validatedClusters.put(cluster);
+            generatedClusters.acquire();
+            this.clearResourceSet(resourceSet);
+          }
+        }
+      } finally {
+        validatedClusters.put(CollectionLiterals.<Resource, List<Issue>>emptyMap());
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Computes the source resources that need to be validated and generated again. These are the changed
+   * resources and the resources that are affected by the changed, added or removed resource descriptions.
+   * The descriptions of the affected resources are computed again, and the resources that are affected by
+   * their changes are collected in turn until no further resources are affected.
+   */
+  protected List<URI> collectAffectedResources(final List<URI> sourceResourceURIs, final List<URI> changedURIs, final ResourceDescriptionsData previousIndex, final ResourceDescriptionsData index, final XtextResourceSet resourceSet, final IResourceClusteringPolicy strategy) {
+    List<IResourceDescription.Delta> deltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
+    for (final URI uri : changedURIs) {
+      IResourceDescription _resourceDescription = previousIndex.getResourceDescription(uri);
+      IResourceDescription _resourceDescription_1 = index.getResourceDescription(uri);
+      DefaultResourceDescriptionDelta _defaultResourceDescriptionDelta = new DefaultResourceDescriptionDelta(_resourceDescription, _resourceDescription_1);
+      deltas.add(_defaultResourceDescriptionDelta);
+    }
+    Iterable<IResourceDescription> _allResourceDescriptions = previousIndex.getAllResourceDescriptions();
+    for (final IResourceDescription previousDescription : _allResourceDescriptions) {
+      IResourceDescription _resourceDescription = index.getResourceDescription(previousDescription.getURI());
+      boolean _tripleEquals = (_resourceDescription == null);
+      if (_tripleEquals) {
+        DefaultResourceDescriptionDelta _defaultResourceDescriptionDelta = new DefaultResourceDescriptionDelta(previousDescription, null);
+        deltas.add(_defaultResourceDescriptionDelta);
+      }
+    }
+    final Set<URI> affected = CollectionLiterals.<URI>newHashSet();
+    affected.addAll(changedURIs);
+    int clusterIndex = 0;
+    while ((!deltas.isEmpty())) {
+      {
+        final List<IResourceDescription.Delta> newDeltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
+        for (final URI uri_1 : sourceResourceURIs) {
+          if (((!affected.contains(uri_1)) && this.languageAccess(uri_1).getResourceDescriptionManager().isAffected(deltas, 
+            index.getResourceDescription(uri_1), index))) {
+            affected.add(uri_1);
+            final IResourceDescription oldDescription = index.getResourceDescription(uri_1);
+            this.fillIndex(uri_1, resourceSet.getResource(uri_1, true), index);
+            IResourceDescription _resourceDescription_2 = index.getResourceDescription(uri_1);
+            final DefaultResourceDescriptionDelta delta = new DefaultResourceDescriptionDelta(oldDescription, _resourceDescription_2);
+            boolean _haveEObjectDescriptionsChanged = delta.haveEObjectDescriptionsChanged();
+            if (_haveEObjectDescriptionsChanged) {
+              newDeltas.add(delta);
+            }
+            clusterIndex++;
+            boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
+            boolean _not = (!_continueProcessing);
+            if (_not) {
+              clusterIndex = 0;
+              this.clearResourceSet(resourceSet);
+            }
+          }
+        }
+        deltas = newDeltas;
+      }
+    }
+    final Function1<URI, Boolean> _function = (URI it) -> {
+      return Boolean.valueOf(affected.contains(it));
+    };
+    final List<URI> result = IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(sourceResourceURIs, _function));
+    int _size = result.size();
+    String _plus = (Integer.valueOf(_size) + " of ");
+    int _size_1 = sourceResourceURIs.size();
+    String _plus_1 = (_plus + Integer.valueOf(_size_1));
+    String _plus_2 = (_plus_1 + " source resources are affected by changes.");
+    StandaloneBuilder.LOG.info(_plus_2);
+    return result;
+  }
+  
+  protected String computeContentHash(final URI uri, final ResourceSet resourceSet) {
+    try {
+      final InputStream in = resourceSet.getURIConverter().createInputStream(uri);
+      try {
+        return Hashing.sha256().hashBytes(ByteStreams.toByteArray(in)).toString();
+      } finally {
+        in.close();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Computes a hash of the configuration of the builder, the class path and the Java sources. The incremental
+   * build falls back to a full build if it differs from the hash of the previous build. Archives, class files and
+   * Java sources are hashed by their path, size and time stamp rather than by their content. The output folders are
+   * skipped.
+   */
+  protected String computeEnvironmentHash() {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    final Set<File> outputDirectories = CollectionLiterals.<File>newHashSet();
+    List<String> _sort = IterableExtensions.<String>sort(this.languages.keySet());
+    for (final String fileExtension : _sort) {
+      {
+        hasher.putString(fileExtension, StandardCharsets.UTF_8);
+        final Function1<OutputConfiguration, String> _function = (OutputConfiguration it) -> {
+          return it.getName();
+        };
+        List<OutputConfiguration> _sortBy = IterableExtensions.<OutputConfiguration, String>sortBy(this.getFileSystemAccess(this.languages.get(fileExtension)).getOutputConfigurations().values(), _function);
+        for (final OutputConfiguration output : _sortBy) {
+          {
+            String _name = output.getName();
+            String _plus = (_name + "=");
+            String _outputDirectory = output.getOutputDirectory();
+            String _plus_1 = (_plus + _outputDirectory);
+            String _plus_2 = (_plus_1 + ",");
+            boolean _isUseOutputPerSourceFolder = output.isUseOutputPerSourceFolder();
+            String _plus_3 = (_plus_2 + Boolean.valueOf(_isUseOutputPerSourceFolder));
+            hasher.putString(_plus_3, 
+              StandardCharsets.UTF_8);
+            String _outputDirectory_1 = output.getOutputDirectory();
+            File _absoluteFile = new File(_outputDirectory_1).getAbsoluteFile();
+            outputDirectories.add(_absoluteFile);
+            final Function1<OutputConfiguration.SourceMapping, String> _function_1 = (OutputConfiguration.SourceMapping it) -> {
+              return it.getSourceFolder();
+            };
+            List<OutputConfiguration.SourceMapping> _sortBy_1 = IterableExtensions.<OutputConfiguration.SourceMapping, String>sortBy(output.getSourceMappings(), _function_1);
+            for (final OutputConfiguration.SourceMapping mapping : _sortBy_1) {
+              {
+                String _sourceFolder = mapping.getSourceFolder();
+                String _plus_4 = (_sourceFolder + "=");
+                String _outputDirectory_2 = mapping.getOutputDirectory();
+                String _plus_5 = (_plus_4 + _outputDirectory_2);
+                hasher.putString(_plus_5, StandardCharsets.UTF_8);
+                String _outputDirectory_3 = mapping.getOutputDirectory();
+                boolean _tripleNotEquals = (_outputDirectory_3 != null);
+                if (_tripleNotEquals) {
+                  String _outputDirectory_4 = mapping.getOutputDirectory();
+                  File _absoluteFile_1 = new File(_outputDirectory_4).getAbsoluteFile();
+                  outputDirectories.add(_absoluteFile_1);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    hasher.putString(IterableExtensions.join(this.sourceDirs, File.pathSeparator), StandardCharsets.UTF_8);
+    hasher.putString(IterableExtensions.join(this.javaSourceDirs, File.pathSeparator), StandardCharsets.UTF_8);
+    hasher.putString(IterableExtensions.join(this.classPathEntries, File.pathSeparator), StandardCharsets.UTF_8);
+    String _plus = (this.encoding + ",");
+    String _plus_1 = (_plus + this.classPathLookUpFilter);
+    hasher.putString(_plus_1, StandardCharsets.UTF_8);
+    hasher.putBoolean(this.writeStorageResources);
+    hasher.putBoolean(this.compileStubsInMemory);
+    for (final String entry : this.classPathEntries) {
+      File _file = new File(entry);
+      final Function1<File, Boolean> _function = (File it) -> {
+        return Boolean.valueOf((it.getName().endsWith(".class") || it.getName().endsWith(".jar")));
+      };
+      this.putFiles(hasher, _file, outputDirectories, _function);
+    }
+    Iterable<String> _plus_2 = Iterables.<String>concat(this.javaSourceDirs, this.sourceDirs);
+    for (final String root : _plus_2) {
+      File _file_1 = new File(root);
+      final Function1<File, Boolean> _function_1 = (File it) -> {
+        return Boolean.valueOf(it.getName().endsWith(".java"));
+      };
+      this.putFiles(hasher, _file_1, outputDirectories, _function_1);
+    }
+    return hasher.hash().toString();
+  }
+  
+  /**
+   * Adds the files below the given root that are accepted by the given filter to the given hasher.
+   */
+  protected void putFiles(final Hasher hasher, final File root, final Set<File> excludedDirectories, final Function1<? super File, ? extends Boolean> filter) {
+    boolean _isDirectory = root.isDirectory();
+    if (_isDirectory) {
+      boolean _contains = excludedDirectories.contains(root.getAbsoluteFile());
+      boolean _not = (!_contains);
+      if (_not) {
+        final File[] children = root.listFiles();
+        if ((children != null)) {
+          final Function1<File, String> _function = (File it) -> {
+            return it.getName();
+          };
+          List<File> _sortBy = IterableExtensions.<File, String>sortBy(((Iterable<File>)Conversions.doWrapArray(children)), _function);
+          for (final File child : _sortBy) {
+            this.putFiles(hasher, child, excludedDirectories, filter);
+          }
+        }
+      }
+    } else {
+      if ((root.isFile() && (filter.apply(root)).booleanValue())) {
+        hasher.putString(root.getAbsolutePath(), StandardCharsets.UTF_8);
+        hasher.putLong(root.length());
+        hasher.putLong(root.lastModified());
+      }
+    }
+  }
+  
+  /**
+   * Forgets the generated files of the source resources that do not exist anymore and deletes the files that were
+   * generated by a previous build but are not generated anymore.
+   */
+  protected void cleanGeneratedFiles(final Map<URI, Set<String>> previousGeneratedFiles, final List<URI> sourceResourceURIs) {
+    this.generatedFiles.keySet().retainAll(IterableExtensions.<URI>toSet(sourceResourceURIs));
+    final Set<String> stillGenerated = IterableExtensions.<String>toSet(Iterables.<String>concat(this.generatedFiles.values()));
+    Set<String> _set = IterableExtensions.<String>toSet(Iterables.<String>concat(previousGeneratedFiles.values()));
+    for (final String file : _set) {
+      boolean _contains = stillGenerated.contains(file);
+      boolean _not = (!_contains);
+      if (_not) {
+        this.forceDebugLog((("Deleting \'" + file) + "\'."));
+        String _fileString = URI.createURI(file).toFileString();
+        new File(_fileString).delete();
+      }
+    }
+  }
+  
+  /**
+   * Stores the index, the content hashes and the generated files for the next incremental build. The hashes of
+   * the given unfinished resources are omitted so that they are processed again.
+   */
+  protected void saveBuildState(final ResourceDescriptionsData index, final Map<URI, String> contentHashes, final String environmentHash, final List<URI> unfinishedURIs) {
+    try {
+      final Map<URI, String> finishedHashes = CollectionLiterals.<URI, String>newHashMap();
+      finishedHashes.putAll(contentHashes);
+      final Consumer<URI> _function = (URI it) -> {
+        finishedHashes.remove(it);
+      };
+      unfinishedURIs.forEach(_function);
+      File _buildStateFile = this.getBuildStateFile();
+      new IncrementalBuildState(index, finishedHashes, environmentHash, this.generatedFiles).save(_buildStateFile);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  protected File getBuildStateFile() {
+    return new File(this.tempDir, StandaloneBuilder.BUILD_STATE_FILE_NAME);
+  }
+  
+  protected void saveClassFileCache() {
+    if ((this.classFileCache != null)) {
+      try {
+        this.classFileCache.save();
+      } catch (final Throwable _t) {
+        if (_t instanceof IOException) {
+          final IOException e = (IOException)_t;
+          StandaloneBuilder.LOG.warn((("Could not write the class file cache to \'" + this.classFileCacheDir) + "\'"), e);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+    }
+  }
+  
   public void fillIndex(final URI uri, final Resource resource, final ResourceDescriptionsData index) {
     final IResourceDescription description = this.languageAccess(uri).getResourceDescriptionManager().getResourceDescription(resource);
     index.addDescription(uri, description);
@@ -342,6 +1049,44 @@ public class StandaloneBuilder {
     return stubsClasses.getAbsolutePath();
   }
   
+  /**
+   * Generates the Java stubs and compiles them together with the Java files of the source directories
+   * without touching the disk.
+   * 
+   * @return the stub class files by their binary class names.
+   */
+  protected Map<String, byte[]> compileStubsInMemory(final IJavaCompiler.InMemory javaCompiler, final ResourceDescriptionsData data, final List<URI> sourceResourceURIs) {
+    final InMemoryFileSystemAccess fileSystemAccess = new InMemoryFileSystemAccess();
+    final Function1<URI, Boolean> _function = (URI it) -> {
+      return Boolean.valueOf(this.languageAccess(it).isLinksAgainstJava());
+    };
+    final Iterable<URI> generateStubs = IterableExtensions.<URI>filter(sourceResourceURIs, _function);
+    final Consumer<URI> _function_1 = (URI it) -> {
+      this.languageAccess(it).getStubGenerator().doGenerateStubs(fileSystemAccess, data.getResourceDescription(it));
+    };
+    generateStubs.forEach(_function_1);
+    final Map<String, CharSequence> stubs = CollectionLiterals.<String, CharSequence>newHashMap();
+    final BiConsumer<String, CharSequence> _function_2 = (String name, CharSequence contents) -> {
+      stubs.put(name.substring(IFileSystemAccess.DEFAULT_OUTPUT.length()), contents);
+    };
+    fileSystemAccess.getTextFiles().forEach(_function_2);
+    javaCompiler.setClassPath(this.classPathEntries);
+    int _size = stubs.size();
+    String _plus = ("Compiling " + Integer.valueOf(_size));
+    String _plus_1 = (_plus + " stubs in memory.");
+    StandaloneBuilder.LOG.info(_plus_1);
+    final Set<String> sourceRoots = this.uniqueEntries(Iterables.<String>concat(this.javaSourceDirs, this.sourceDirs));
+    String _join = IterableExtensions.join(sourceRoots, ",");
+    String _plus_2 = ("Compiler source roots: " + _join);
+    this.forceDebugLog(_plus_2);
+    final Map<String, byte[]> result = javaCompiler.compileInMemory(stubs, sourceRoots);
+    int _size_1 = result.size();
+    String _plus_3 = ("Stubs compilation produced " + Integer.valueOf(_size_1));
+    String _plus_4 = (_plus_3 + " class files.");
+    this.forceDebugLog(_plus_4);
+    return result;
+  }
+  
   protected Set<String> uniqueEntries(final Iterable<String> pathes) {
     final Function1<String, String> _function = (String it) -> {
       return new File(it).getAbsolutePath();
@@ -369,14 +1114,32 @@ public class StandaloneBuilder {
     return stubsDir;
   }
   
+  /**
+   * Validates the given resource and passes the issues to the issue handler.
+   */
   protected boolean validate(final Resource resource) {
+    return this.handleIssues(resource, this.computeIssues(resource));
+  }
+  
+  /**
+   * Computes the issues of the given resource. In a parallel build, this is called concurrently by the workers.
+   */
+  protected List<Issue> computeIssues(final Resource resource) {
     String _lastSegment = resource.getURI().lastSegment();
     String _plus = ("Starting validation for input: \'" + _lastSegment);
     String _plus_1 = (_plus + "\'");
     StandaloneBuilder.LOG.info(_plus_1);
     final IResourceValidator resourceValidator = this.languageAccess(resource.getURI()).getResourceValidator();
-    final List<Issue> validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-    return this.issueHandler.handleIssue(validationResult);
+    return resourceValidator.validate(resource, CheckMode.ALL, null);
+  }
+  
+  /**
+   * Passes the issues of the given resource to the issue handler. This is always called on the calling thread.
+   * 
+   * @return <code>false</code> if the issue handler found severe issues.
+   */
+  protected boolean handleIssues(final Resource resource, final List<Issue> issues) {
+    return this.issueHandler.handleIssue(issues);
   }
   
   protected void generate(final List<Resource> sourceResources) {
@@ -390,7 +1153,13 @@ public class StandaloneBuilder {
         StandaloneBuilder.LOG.info(_plus_1);
         this.registerCurrentSource(it.getURI());
         final LanguageAccess access = this.languageAccess(it.getURI());
-        final JavaIoFileSystemAccess fileSystemAccess = this.getFileSystemAccess(access);
+        IFileSystemAccess2 _xifexpression = null;
+        if (this.incrementalBuild) {
+          _xifexpression = this.recordGeneratedFiles(it.getURI(), this.getFileSystemAccess(access));
+        } else {
+          _xifexpression = this.getFileSystemAccess(access);
+        }
+        final IFileSystemAccess2 fileSystemAccess = _xifexpression;
         boolean _isWriteStorageResources = this.isWriteStorageResources();
         if (_isWriteStorageResources) {
           boolean _matched = false;
@@ -408,6 +1177,16 @@ public class StandaloneBuilder {
     }
   }
   
+  /**
+   * Returns a view on the given file system access that records the files that are generated for the given
+   * source resource.
+   */
+  protected IFileSystemAccess2 recordGeneratedFiles(final URI source, final JavaIoFileSystemAccess fileSystemAccess) {
+    final Set<String> files = CollectionLiterals.<String>newLinkedHashSet();
+    this.generatedFiles.put(source, files);
+    return new RecordingFileSystemAccess(fileSystemAccess, files);
+  }
+  
   protected void registerCurrentSource(final URI uri) {
     final JavaIoFileSystemAccess fsa = this.getFileSystemAccess(this.languageAccess(uri));
     final Function1<String, URI> _function = (String it) -> {
@@ -485,8 +1264,21 @@ public class StandaloneBuilder {
   }
   
   protected void installTypeProvider(final Iterable<String> classPathRoots, final XtextResourceSet resSet, final IndexedJvmTypeAccess typeAccess) {
-    final URLClassLoader classLoader = this.createURLClassLoader(classPathRoots);
-    new ClasspathTypeProvider(classLoader, resSet, typeAccess, null);
+    this.installTypeProvider(this.createURLClassLoader(classPathRoots), resSet, typeAccess);
+  }
+  
+  protected void installTypeProvider(final ClassLoader classLoader, final XtextResourceSet resSet, final IndexedJvmTypeAccess typeAccess) {
+    final PersistentClassFileBytesCache cache = this.classFileCache;
+    if ((cache != null)) {
+      new ClasspathTypeProvider(classLoader, resSet, typeAccess, null) {
+        @Override
+        protected ClassFileBytesAccess createClassFileReaderAccess() {
+          return new PersistentClassFileBytesAccess(cache);
+        }
+      };
+    } else {
+      new ClasspathTypeProvider(classLoader, resSet, typeAccess, null);
+    }
     resSet.setClasspathURIContext(classLoader);
   }
   
@@ -716,4 +1508,40 @@ public class StandaloneBuilder {
   public void setClusteringConfig(final ClusteringConfig clusteringConfig) {
     this.clusteringConfig = clusteringConfig;
   }
+  
+  @Pure
+  public int getNumberOfThreads() {
+    return this.numberOfThreads;
+  }
+  
+  public void setNumberOfThreads(final int numberOfThreads) {
+    this.numberOfThreads = numberOfThreads;
+  }
+  
+  @Pure
+  public boolean isIncrementalBuild() {
+    return this.incrementalBuild;
+  }
+  
+  public void setIncrementalBuild(final boolean incrementalBuild) {
+    this.incrementalBuild = incrementalBuild;
+  }
+  
+  @Pure
+  public boolean isCompileStubsInMemory() {
+    return this.compileStubsInMemory;
+  }
+  
+  public void setCompileStubsInMemory(final boolean compileStubsInMemory) {
+    this.compileStubsInMemory = compileStubsInMemory;
+  }
+  
+  @Pure
+  public String getClassFileCacheDir() {
+    return this.classFileCacheDir;
+  }
+  
+  public void setClassFileCacheDir(final String classFileCacheDir) {
+    this.classFileCacheDir = classFileCacheDir;
+  }
 }
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.eclipse.xtext.common.types.access.binary.ClassPathIndex;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassPathIndexTest extends Assert {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test public void testArchivedClasses() throws Exception {
+		File jar = temporaryFolder.newFile("test.jar");
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			out.putNextEntry(new JarEntry("foo/Bar.class"));
+			out.write(new byte[] { 1, 2, 3 });
+			out.closeEntry();
+			out.putNextEntry(new JarEntry("foo/Bar$Nested.class"));
+			out.write(new byte[] { 1, 2, 3 });
+			out.closeEntry();
+		}
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+			ClassPathIndex index = ClassPathIndex.get(classLoader);
+			assertNotNull(index);
+			assertSame(index, ClassPathIndex.get(classLoader));
+			assertTrue(index.containsClass("foo.Bar"));
+			assertTrue(index.containsClass("foo.Bar$Nested"));
+			assertFalse(index.containsClass("foo.Baz"));
+			assertTrue(index.containsClass("java.lang.String"));
+			assertEquals("foo.Bar", new BinaryClass("foo.Bar$Nested", classLoader).getOutermostClassName());
+			assertEquals("foo.Bar$Nested", BinaryClass.forName("foo.Bar$Nested", classLoader).getName());
+		}
+	}
+
+	@Test public void testArchivedPackages() throws Exception {
+		File library = temporaryFolder.newFile("library.jar");
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(library))) {
+			out.putNextEntry(new JarEntry("foo/bar/Baz.class"));
+			out.write(new byte[] { 1, 2, 3 });
+			out.closeEntry();
+		}
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "library.jar");
+		File jar = temporaryFolder.newFile("test.jar");
+		new JarOutputStream(new FileOutputStream(jar), manifest).close();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+			ClassPathIndex index = ClassPathIndex.get(classLoader);
+			assertTrue(index.containsPackage("foo.bar"));
+			assertTrue(index.containsPackage("foo"));
+			assertFalse(index.containsPackage("foo.bar.Baz"));
+			assertFalse(index.containsPackage("bar"));
+		}
+	}
+
+	@Test public void testArchiveIsReadAgainAfterChange() throws Exception {
+		File jar = temporaryFolder.newFile("test.jar");
+		writeJar(jar, "foo/Bar.class");
+		try (URLClassLoader first = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+			assertTrue(ClassPathIndex.get(first).containsClass("foo.Bar"));
+		}
+		long lastModified = jar.lastModified();
+		writeJar(jar, "foo/Baz.class");
+		assertTrue(jar.setLastModified(lastModified + 10000));
+		try (URLClassLoader second = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+			ClassPathIndex index = ClassPathIndex.get(second);
+			assertFalse(index.containsClass("foo.Bar"));
+			assertTrue(index.containsClass("foo.Baz"));
+		}
+	}
+
+	private void writeJar(File jar, String classFile) throws Exception {
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			out.putNextEntry(new JarEntry(classFile));
+			out.write(new byte[] { 1, 2, 3 });
+			out.closeEntry();
+		}
+	}
+
+	@Test public void testDirectoriesAreProbed() throws Exception {
+		File directory = temporaryFolder.newFolder();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null)) {
+			ClassPathIndex index = ClassPathIndex.get(classLoader);
+			assertFalse(index.containsClass("foo.Bar"));
+			assertFalse(index.containsPackage("foo"));
+			File classFile = new File(directory, "foo/Bar.class");
+			classFile.getParentFile().mkdirs();
+			classFile.createNewFile();
+			assertTrue(index.containsClass("foo.Bar"));
+			assertTrue(index.containsPackage("foo"));
+		}
+	}
+
+	@Test public void testUnknownClassLoader() throws Exception {
+		assertNull(ClassPathIndex.get(new ClassLoader(null) {
+		}));
+	}
+
+	@Test public void testURLClassLoaderSubclass() throws Exception {
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[0], null) {
+		}) {
+			assertNull(ClassPathIndex.get(classLoader));
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.access.binary.BinaryClass;
 import org.eclipse.xtext.common.types.xtext.ui.tests.RefactoringTestLanguageInjectorProvider;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResourceSet;
@@ -85,6 +86,53 @@ public class IndexedJvmTypeAccessTest {
 		assertSame(innerMostType, innerMostTypeFromIndex);
 	}
 
+	@Test
+	public void testLookupCache() throws ClassNotFoundException {
+		VersionedResourceDescriptionsData data = new VersionedResourceDescriptionsData(new ArrayList<>());
+		ResourceDescriptionsData.ResourceSetAdapter.installResourceDescriptionsData(resourceSet, data);
+		QualifiedName qualifiedName = QualifiedName.create("testdata", "Outer");
+
+		assertNull(indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet));
+		assertNull(indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet));
+		IndexedJvmTypeAccess.LookupCache cache = IndexedJvmTypeAccess.LookupCache.find(resourceSet);
+		assertEquals(1, cache.getStats().missCount());
+		assertEquals(1, cache.getStats().hitCount());
+
+		Resource resource = resourceSet.createResource(URI.createURI("test.typesRefactoring"));
+		JvmDeclaredType outerType = declaredTypeFactory.createType(BinaryClass.forName("testdata.Outer", getClass().getClassLoader()));
+		resource.getContents().add(outerType);
+		data.addDescription(resource.getURI(), getResourceDescription(resource));
+
+		assertSame(outerType, indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet));
+		assertSame(outerType, indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet));
+		assertEquals(2, cache.getStats().hitCount());
+	}
+
+	@Test
+	public void testLookupCacheAfterReplacedDescription() throws ClassNotFoundException {
+		VersionedResourceDescriptionsData data = new VersionedResourceDescriptionsData(new ArrayList<>());
+		ResourceDescriptionsData.ResourceSetAdapter.installResourceDescriptionsData(resourceSet, data);
+		QualifiedName qualifiedName = QualifiedName.create("testdata", "Outer");
+		Resource resource = resourceSet.createResource(URI.createURI("test.typesRefactoring"));
+		data.addDescription(resource.getURI(), getResourceDescription(resource));
+		assertNull(indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet));
+
+		JvmDeclaredType outerType = declaredTypeFactory.createType(BinaryClass.forName("testdata.Outer", getClass().getClassLoader()));
+		resource.getContents().add(outerType);
+		data.addDescription(resource.getURI(), getResourceDescription(resource));
+		assertSame("A replaced description should not be hidden by a cached miss", outerType,
+				indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet));
+
+		data.removeDescription(resource.getURI());
+		assertNull("A removed description should not be served from the cache",
+				indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet));
+	}
+
+	private IResourceDescription getResourceDescription(Resource resource) {
+		IResourceServiceProvider serviceProvider = IResourceServiceProvider.Registry.INSTANCE.getResourceServiceProvider(resource.getURI());
+		return serviceProvider.getResourceDescriptionManager().getResourceDescription(resource);
+	}
+
 	private JvmOperation getOperation(JvmDeclaredType type, String name) {
 		for (JvmOperation op : type.getDeclaredOperations()) {
 			if (name.equals(op.getSimpleName())) {
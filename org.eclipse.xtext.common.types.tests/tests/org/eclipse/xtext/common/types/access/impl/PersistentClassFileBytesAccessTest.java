@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.impl;
+
+import java.io.File;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.eclipse.xtext.common.types.access.binary.asm.PersistentClassFileBytesAccess;
+import org.eclipse.xtext.common.types.access.binary.asm.PersistentClassFileBytesCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PersistentClassFileBytesAccessTest extends Assert {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test public void testBytesAreReadFromCacheFile() throws Exception {
+		BinaryClass clazz = BinaryClass.forName(Test.class.getName(), getClass().getClassLoader());
+		Assume.assumeTrue("jar".equals(clazz.getClassFileURL().getProtocol()));
+		File directory = temporaryFolder.newFolder();
+
+		PersistentClassFileBytesCache cache = new PersistentClassFileBytesCache(directory);
+		byte[] bytes = new PersistentClassFileBytesAccess(cache).getBytes(clazz);
+		assertArrayEquals(clazz.getBytes(), bytes);
+		cache.save();
+		assertEquals(1, directory.listFiles().length);
+
+		PersistentClassFileBytesCache reloaded = new PersistentClassFileBytesCache(directory);
+		assertArrayEquals(bytes, reloaded.get(clazz.getClassFileURL(), clazz.getName()));
+		assertArrayEquals(bytes, new PersistentClassFileBytesAccess(reloaded).getBytes(clazz));
+	}
+
+	@Test public void testSaveWhileCacheFileIsMapped() throws Exception {
+		BinaryClass test = BinaryClass.forName(Test.class.getName(), getClass().getClassLoader());
+		BinaryClass rule = BinaryClass.forName(Rule.class.getName(), getClass().getClassLoader());
+		Assume.assumeTrue("jar".equals(test.getClassFileURL().getProtocol()));
+		File directory = temporaryFolder.newFolder();
+
+		PersistentClassFileBytesCache cache = new PersistentClassFileBytesCache(directory);
+		new PersistentClassFileBytesAccess(cache).getBytes(test);
+		cache.save();
+		assertNotNull(cache.get(test.getClassFileURL(), test.getName()));
+		new PersistentClassFileBytesAccess(cache).getBytes(rule);
+		cache.save();
+
+		PersistentClassFileBytesCache reloaded = new PersistentClassFileBytesCache(directory);
+		assertArrayEquals(test.getBytes(), reloaded.get(test.getClassFileURL(), test.getName()));
+		assertArrayEquals(rule.getBytes(), reloaded.get(rule.getClassFileURL(), rule.getName()));
+	}
+
+	@Test public void testClassesOfKnownPackageAreReadWithoutClassLoader() throws Exception {
+		final AtomicInteger lookups = new AtomicInteger();
+		class CountingBinaryClass extends BinaryClass {
+			CountingBinaryClass(Class<?> clazz) {
+				super(clazz.getName(), clazz.getClassLoader());
+			}
+
+			@Override
+			public URL getClassFileURL() {
+				lookups.incrementAndGet();
+				return super.getClassFileURL();
+			}
+		}
+		BinaryClass test = new CountingBinaryClass(Test.class);
+		BinaryClass after = new CountingBinaryClass(After.class);
+		Assume.assumeTrue("jar".equals(test.getClassFileURL().getProtocol()));
+		File directory = temporaryFolder.newFolder();
+		PersistentClassFileBytesCache cache = new PersistentClassFileBytesCache(directory);
+		PersistentClassFileBytesAccess access = new PersistentClassFileBytesAccess(cache);
+		access.getBytes(test);
+		access.getBytes(after);
+		cache.save();
+
+		lookups.set(0);
+		PersistentClassFileBytesAccess reloaded = new PersistentClassFileBytesAccess(new PersistentClassFileBytesCache(directory));
+		assertArrayEquals(test.getBytes(), reloaded.getBytes(test));
+		assertArrayEquals(after.getBytes(), reloaded.getBytes(after));
+		assertEquals("Only the first class of a package should be looked up", 1, lookups.get());
+	}
+
+	@Test public void testClassesFromDirectoriesAreNotCached() throws Exception {
+		BinaryClass clazz = BinaryClass.forName(getClass().getName(), getClass().getClassLoader());
+		Assume.assumeTrue("file".equals(clazz.getClassFileURL().getProtocol()));
+		File directory = temporaryFolder.newFolder();
+
+		PersistentClassFileBytesCache cache = new PersistentClassFileBytesCache(directory);
+		assertNotNull(new PersistentClassFileBytesAccess(cache).getBytes(clazz));
+		cache.save();
+		assertEquals(0, directory.listFiles().length);
+	}
+
+}
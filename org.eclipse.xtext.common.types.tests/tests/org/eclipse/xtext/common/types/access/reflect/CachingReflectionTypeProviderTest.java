@@ -7,6 +7,19 @@
  *******************************************************************************/
 package org.eclipse.xtext.common.types.access.reflect;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xtext.common.types.JvmType;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 
 /**
@@ -22,4 +35,31 @@ public class CachingReflectionTypeProviderTest extends ReflectionTypeProviderTes
 		return typeProviderFactory.createTypeProvider(getResourceSet());
 	}
 	
+	@Test
+	public void testConcurrentRequestsFromSeveralResourceSets() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<JvmType>> futures = Lists.newArrayList();
+			for(int i = 0; i < 8; i++) {
+				futures.add(executor.submit(new Callable<JvmType>() {
+					@Override
+					public JvmType call() throws Exception {
+						ResourceSet resourceSet = new ResourceSetImpl();
+						JvmType result = typeProviderFactory.createTypeProvider(resourceSet).findTypeByName(ArrayList.class.getName());
+						assertSame(resourceSet, result.eResource().getResourceSet());
+						return result;
+					}
+				}));
+			}
+			JvmType first = futures.get(0).get();
+			for(Future<JvmType> future: futures.subList(1, futures.size())) {
+				JvmType type = future.get();
+				assertNotSame(first, type);
+				assertEquals(first.getIdentifier(), type.getIdentifier());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
 }
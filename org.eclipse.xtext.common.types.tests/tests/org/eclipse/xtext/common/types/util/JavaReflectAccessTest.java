@@ -135,6 +135,19 @@ public class JavaReflectAccessTest extends Assert {
 		assertEquals(field, getJavaReflectAccess().getField((JvmField) addMethod));
 	}
 
+	@Test public void testGetMethod_3() throws Exception {
+		JvmDeclaredType type = getType(Z.class);
+		JavaReflectAccess javaReflectAccess = getJavaReflectAccess();
+		for(JvmMember member: type.getMembers()) {
+			if (member instanceof JvmOperation && member.getSimpleName().equals("b")) {
+				Method method = javaReflectAccess.getMethod((JvmOperation) member);
+				String bound = ((JvmOperation) member).getTypeParameters().get(0).getConstraints().get(0).getTypeReference().getIdentifier();
+				assertEquals(bound, method.getParameterTypes()[0].getName());
+				assertSame(method, javaReflectAccess.getMethod((JvmOperation) member));
+			}
+		}
+	}
+
 	protected JavaReflectAccess getJavaReflectAccess() {
 		JavaReflectAccess javaReflectAccess = new JavaReflectAccess();
 		javaReflectAccess.setClassLoader(getClass().getClassLoader());
@@ -151,4 +164,11 @@ public class JavaReflectAccessTest extends Assert {
 	public static class Y<T extends Comparable<CharSequence>> {
 		T z;
 	}
+
+	public static class Z {
+		public <T extends CharSequence> void b(T t) {
+		}
+		public <T extends Number> void b(T t) {
+		}
+	}
 }
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.util;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class PerformanceTelemetryTest extends Assert {
+
+	private final List<String> recorded = Lists.newArrayList();
+
+	private final PerformanceTelemetry.Sink sink = new PerformanceTelemetry.Sink() {
+		@Override
+		public synchronized void recordDuration(String phase, long durationNanos) {
+			assertTrue(durationNanos >= 0);
+			recorded.add(phase);
+		}
+
+		@Override
+		public synchronized void incrementCounter(String counter, long delta) {
+			recorded.add(counter + "+" + delta);
+		}
+	};
+
+	@After
+	public void tearDown() {
+		PerformanceTelemetry.setSink(null);
+	}
+
+	@Test public void testDisabled() {
+		assertFalse(PerformanceTelemetry.isEnabled());
+		long start = PerformanceTelemetry.start();
+		assertEquals(0L, start);
+		PerformanceTelemetry.setSink(sink);
+		PerformanceTelemetry.stop("phase", start);
+		assertTrue(recorded.isEmpty());
+	}
+
+	@Test public void testEnabled() {
+		PerformanceTelemetry.setSink(sink);
+		assertTrue(PerformanceTelemetry.isEnabled());
+		long start = PerformanceTelemetry.start();
+		PerformanceTelemetry.stop("phase", start);
+		PerformanceTelemetry.count("counter", 3);
+		assertEquals(Lists.newArrayList("phase", "counter+3"), recorded);
+	}
+
+	@Test public void testTypeCreation() {
+		PerformanceTelemetry.setSink(sink);
+		ClasspathTypeProvider typeProvider = new ClasspathTypeProvider(getClass().getClassLoader(), new ResourceSetImpl(), null, null);
+		assertNotNull(typeProvider.findTypeByName(PerformanceTelemetryTest.class.getName()));
+		assertTrue(recorded.toString(), recorded.contains(PerformanceTelemetry.JVM_TYPE_CREATION));
+	}
+
+}
@@ -7,6 +7,8 @@
  *******************************************************************************/
 package org.eclipse.xtext.common.types.access;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.common.types.access.binary.asm.ClassFileBytesAccess;
 import org.eclipse.xtext.common.types.access.impl.CachingClasspathTypeProvider;
@@ -33,7 +35,9 @@ public class CachingClasspathTypeProviderFactory extends ClasspathTypeProviderFa
 	}
 
 	private CachingDeclaredTypeFactory newClassReaderTypeFactory(ClassLoader classLoader) {
-		DeclaredTypeFactory factoryDelegate = new DeclaredTypeFactory(new ClassFileBytesAccess(), classLoader);
+		// the reused factory serves the type providers of all resource sets, so the bytes are cached concurrently
+		ClassFileBytesAccess bytesAccess = new ClassFileBytesAccess(new ConcurrentHashMap<String, byte[]>());
+		DeclaredTypeFactory factoryDelegate = new DeclaredTypeFactory(bytesAccess, classLoader);
 		return new CachingDeclaredTypeFactory(factoryDelegate);
 	}
 	
@@ -15,6 +15,7 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.common.types.access.impl.URIHelperConstants;
 
 import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
 
 /**
  * <p>
@@ -40,7 +41,10 @@ public class BinaryClass {
 		this.classLoader = classLoader;
 	}
 
-	protected ClassLoader getClassLoader() {
+	/**
+	 * @return the class loader that finds the class file of this class. Public since 2.17.
+	 */
+	public ClassLoader getClassLoader() {
 		return classLoader;
 	}
 
@@ -56,7 +60,7 @@ public class BinaryClass {
 		int dollar = name.indexOf('$', offset);
 		while (dollar != -1) {
 			String outerName = name.substring(0, dollar);
-			if (classLoader.getResource(toClassFile(outerName)) != null) {
+			if (hasClassFile(outerName, classLoader)) {
 				return outerName;
 			}
 			dollar = name.indexOf('$', dollar + 1);
@@ -73,7 +77,7 @@ public class BinaryClass {
 		try {
 			stream = classLoader.getResourceAsStream(toClassFile(name));
 			if (stream != null) {
-				return getInputStreamAsByteArray(stream, -1);
+				return ByteStreams.toByteArray(stream);
 			}
 			return null;
 		} catch (IOException e) {
@@ -88,68 +92,16 @@ public class BinaryClass {
 		}
 	}
 	
-	private static final int DEFAULT_READING_SIZE = 8192;
-	
 	/**
-	 * Returns the given input stream's contents as a byte array.
-	 * If a length is specified (i.e. if length != -1), only length bytes
-	 * are returned. Otherwise all bytes in the stream are returned.
-	 * Note this doesn't close the stream.
-	 * @throws IOException if a problem occured reading the stream.
+	 * @return the location of the class file or <code>null</code> if the class file is not available.
+	 * @since 2.17
 	 */
-	private byte[] getInputStreamAsByteArray(InputStream stream, int length)
-			throws IOException {
-		byte[] contents;
-		if (length == -1) {
-			contents = new byte[0];
-			int contentsLength = 0;
-			int amountRead = -1;
-			do {
-				int amountRequested = Math.max(stream.available(), DEFAULT_READING_SIZE);  // read at least 8K
-
-				// resize contents if needed
-				if (contentsLength + amountRequested > contents.length) {
-					System.arraycopy(
-						contents,
-						0,
-						contents = new byte[contentsLength + amountRequested],
-						0,
-						contentsLength);
-				}
-
-				// read as many bytes as possible
-				amountRead = stream.read(contents, contentsLength, amountRequested);
-
-				if (amountRead > 0) {
-					// remember length of contents
-					contentsLength += amountRead;
-				}
-			} while (amountRead != -1);
-
-			// resize contents if necessary
-			if (contentsLength < contents.length) {
-				System.arraycopy(
-					contents,
-					0,
-					contents = new byte[contentsLength],
-					0,
-					contentsLength);
-			}
-		} else {
-			contents = new byte[length];
-			int len = 0;
-			int readSize = 0;
-			while ((readSize != -1) && (len != length)) {
-				// See PR 1FMS89U
-				// We record first the read size. In this case len is the actual read size.
-				len += readSize;
-				readSize = stream.read(contents, len, length - len);
-			}
-		}
-
-		return contents;
+	public URL getClassFileURL() {
+		if (classLoader == null)
+			return null;
+		return classLoader.getResource(toClassFile(name));
 	}
-	
+
 	public boolean isPrimitive() {
 		return false;
 	}
@@ -215,8 +167,7 @@ public class BinaryClass {
 				}
 			}
 		}
-		URL url = classLoader.getResource(toClassFile(clazzName));
-		if (url != null) {
+		if (hasClassFile(clazzName, classLoader)) {
 			return new BinaryClass(clazzName, classLoader);
 		}
 		throw new ClassNotFoundException(clazzName) {
@@ -229,6 +180,17 @@ public class BinaryClass {
 		};
 	}
 
+	/**
+	 * Uses the {@link ClassPathIndex} of the class loader if it is available.
+	 */
+	private static boolean hasClassFile(String binaryName, ClassLoader classLoader) {
+		ClassPathIndex index = ClassPathIndex.get(classLoader);
+		if (index != null) {
+			return index.containsClass(binaryName);
+		}
+		return classLoader.getResource(toClassFile(binaryName)) != null;
+	}
+
 	protected static String toClassFile(String name) {
 		return name.replace('.', '/') + ".class";
 	}
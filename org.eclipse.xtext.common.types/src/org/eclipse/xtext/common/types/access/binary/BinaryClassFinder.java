@@ -7,7 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.common.types.access.binary;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.xtext.common.types.access.impl.AbstractClassFinder;
 import org.eclipse.xtext.common.types.access.impl.Primitives;
@@ -16,6 +16,8 @@ import org.eclipse.xtext.common.types.access.impl.Primitives;
  * Small helper class that allows to find types by their source names,
  * e.g. {@code java.lang.String[]} or {@code int}. 
  * 
+ * <p>It may be used concurrently.</p>
+ * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class BinaryClassFinder extends AbstractClassFinder<BinaryClass> {
@@ -23,7 +25,7 @@ public class BinaryClassFinder extends AbstractClassFinder<BinaryClass> {
 	private static final BinaryClass NULL_CLASS = new BinaryClass(null, null);
 
 	@SuppressWarnings("serial")
-	private static class Cache extends HashMap<String, BinaryClass> {
+	private static class Cache extends ConcurrentHashMap<String, BinaryClass> {
 		public Cache() {
 			super(500);
 			for (Class<?> primitiveType : Primitives.ALL_PRIMITIVE_TYPES) {
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+
+/**
+ * An index of the class files that are available in the archives of a class loader.
+ *
+ * <p>
+ * Finding out that a class does not exist is expensive for a {@link URLClassLoader} since each entry of the class path
+ * is searched. The index allows to answer these queries with a single hash lookup. It is computed once per class loader
+ * and only if the class path of the class loader and all its parents is known, i.e. for plain {@link URLClassLoader
+ * URLClassLoaders} and the system class loader. Directories of the class path are not indexed since their contents
+ * may change while the class loader is in use. Instead, they are probed on the file system. Classes of the bootstrap
+ * class path are still looked up by means of a class loader.
+ * </p>
+ * <p>
+ * The contents of an archive are read only once and shared by the indexes of all class loaders that use it, e.g. the
+ * class loaders of several resource sets with the same class path. An archive is read again if its size or time stamp
+ * changed.
+ * </p>
+ *
+ * @since 2.17
+ */
+public class ClassPathIndex {
+
+	private static final Logger LOG = Logger.getLogger(ClassPathIndex.class);
+
+	private static final ClassPathIndex NOT_INDEXABLE = new ClassPathIndex(ImmutableSet.<String>of(),
+			ImmutableList.<File>of(), null);
+
+	private static final ConcurrentMap<ClassLoader, ClassPathIndex> INDEXES = new MapMaker().weakKeys().makeMap();
+
+	private static final ConcurrentMap<File, Archive> ARCHIVES = new ConcurrentHashMap<File, Archive>();
+
+	/**
+	 * The class names and the class path references of an archive together with the size and the time stamp of the
+	 * archive when it was read.
+	 */
+	private static class Archive {
+
+		private final long length;
+
+		private final long lastModified;
+
+		private final Set<String> classNames;
+
+		private final List<File> references;
+
+		private Archive(long length, long lastModified, Set<String> classNames, List<File> references) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.classNames = classNames;
+			this.references = references;
+		}
+
+	}
+
+	/**
+	 * @return the index of the given class loader or <code>null</code> if its class path is not known.
+	 */
+	public static ClassPathIndex get(ClassLoader classLoader) {
+		if (classLoader == null) {
+			return null;
+		}
+		ClassPathIndex result = INDEXES.get(classLoader);
+		if (result == null) {
+			result = create(classLoader);
+			ClassPathIndex existing = INDEXES.putIfAbsent(classLoader, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result != NOT_INDEXABLE ? result : null;
+	}
+
+	protected static ClassPathIndex create(ClassLoader classLoader) {
+		List<File> entries = Lists.newArrayList();
+		ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+		ClassLoader delegate = null;
+		ClassLoader current = classLoader;
+		while (current != null) {
+			if (current == systemClassLoader) {
+				for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+					if (!entry.isEmpty()) {
+						entries.add(new File(entry));
+					}
+				}
+				delegate = current.getParent();
+				break;
+			}
+			if (current.getClass() != URLClassLoader.class) {
+				return NOT_INDEXABLE;
+			}
+			for (URL url : ((URLClassLoader) current).getURLs()) {
+				File file = toFile(url);
+				if (file == null) {
+					return NOT_INDEXABLE;
+				}
+				entries.add(file);
+			}
+			current = current.getParent();
+		}
+		if (delegate == null) {
+			delegate = new ClassLoader(null) {
+				// delegates to the bootstrap class loader
+			};
+		}
+		Set<String> classNames = new LinkedHashSet<String>();
+		List<File> directories = Lists.newArrayList();
+		Set<File> visited = new LinkedHashSet<File>();
+		try {
+			for (File entry : entries) {
+				collect(entry, classNames, directories, visited);
+			}
+		} catch (IOException e) {
+			LOG.debug("Cannot index the class path of " + classLoader, e);
+			return NOT_INDEXABLE;
+		}
+		return new ClassPathIndex(ImmutableSet.copyOf(classNames), ImmutableList.copyOf(directories), delegate);
+	}
+
+	private static void collect(File entry, Set<String> classNames, List<File> directories, Set<File> visited)
+			throws IOException {
+		if (!visited.add(entry.getAbsoluteFile())) {
+			return;
+		}
+		if (entry.isDirectory()) {
+			directories.add(entry);
+		} else if (entry.isFile()) {
+			Archive archive = getArchive(entry.getAbsoluteFile());
+			classNames.addAll(archive.classNames);
+			for (File referenced : archive.references) {
+				collect(referenced, classNames, directories, visited);
+			}
+		}
+	}
+
+	private static Archive getArchive(File file) throws IOException {
+		long length = file.length();
+		long lastModified = file.lastModified();
+		Archive result = ARCHIVES.get(file);
+		if (result == null || result.length != length || result.lastModified != lastModified) {
+			result = readArchive(file, length, lastModified);
+			ARCHIVES.put(file, result);
+		}
+		return result;
+	}
+
+	private static Archive readArchive(File file, long length, long lastModified) throws IOException {
+		Set<String> classNames = new HashSet<String>();
+		List<File> references = Lists.newArrayList();
+		try (JarFile jarFile = new JarFile(file)) {
+			Enumeration<JarEntry> jarEntries = jarFile.entries();
+			while (jarEntries.hasMoreElements()) {
+				String name = jarEntries.nextElement().getName();
+				if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+					classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+				}
+			}
+			Manifest manifest = jarFile.getManifest();
+			String classPath = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+			if (classPath != null) {
+				for (String reference : classPath.trim().split("\\s+")) {
+					if (!reference.isEmpty()) {
+						File referenced = toFile(new URL(file.toURI().toURL(), reference));
+						if (referenced != null) {
+							references.add(referenced);
+						}
+					}
+				}
+			}
+		}
+		return new Archive(length, lastModified, ImmutableSet.copyOf(classNames), ImmutableList.copyOf(references));
+	}
+
+	private static File toFile(URL url) {
+		if (!"file".equals(url.getProtocol())) {
+			return null;
+		}
+		try {
+			return new File(url.toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private final Set<String> archivedClassNames;
+
+	private final Set<String> archivedPackageNames;
+
+	private final List<File> directories;
+
+	private final ClassLoader delegate;
+
+	protected ClassPathIndex(Set<String> archivedClassNames, List<File> directories, ClassLoader delegate) {
+		this.archivedClassNames = archivedClassNames;
+		this.archivedPackageNames = getPackageNames(archivedClassNames);
+		this.directories = directories;
+		this.delegate = delegate;
+	}
+
+	private static Set<String> getPackageNames(Set<String> classNames) {
+		Set<String> result = new HashSet<String>();
+		for (String className : classNames) {
+			int index = className.lastIndexOf('.');
+			while (index > 0 && result.add(className.substring(0, index))) {
+				index = className.lastIndexOf('.', index - 1);
+			}
+		}
+		return ImmutableSet.copyOf(result);
+	}
+
+	/**
+	 * @param binaryName
+	 *            the binary name of a class, e.g. {@code java.util.Map$Entry}.
+	 * @return <code>true</code> if the class loader of this index can find the class file of the given class.
+	 */
+	public boolean containsClass(String binaryName) {
+		if (archivedClassNames.contains(binaryName)) {
+			return true;
+		}
+		String classFile = BinaryClass.toClassFile(binaryName);
+		for (int i = 0; i < directories.size(); i++) {
+			if (new File(directories.get(i), classFile).isFile()) {
+				return true;
+			}
+		}
+		return delegate.getResource(classFile) != null;
+	}
+
+	/**
+	 * The packages are derived from the archived classes, so archives without directory entries are covered, too.
+	 * 
+	 * @param packageName
+	 *            the name of a package, e.g. {@code java.util}.
+	 * @return <code>true</code> if an archive or a directory of the class path contains the given package or one of
+	 *         its sub packages. The packages of the bootstrap class path and of the parent of the system class loader
+	 *         are not considered.
+	 */
+	public boolean containsPackage(String packageName) {
+		if (archivedPackageNames.contains(packageName)) {
+			return true;
+		}
+		String path = packageName.replace('.', '/');
+		for (int i = 0; i < directories.size(); i++) {
+			if (new File(directories.get(i), path).isDirectory()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -20,7 +20,9 @@ import com.google.common.collect.Maps;
  * or parsing them again and again, a small struct with the necessary
  * information is cached.
  * 
- * <p>It is not expected to be used concurrently.</p>
+ * <p>It is not expected to be used concurrently unless it was created
+ * with a concurrent cache, e.g. a {@link java.util.concurrent.ConcurrentHashMap}.
+ * In that case the bytes of each class are read only once.</p>
  * 
  * @author Sebastian Zarnekow - Initial contribution and API
  * @author Arne Deutsch - Introduce hack to work with Java 10 and ASM 6.0
@@ -37,6 +39,14 @@ public class ClassFileBytesAccess {
 	public ClassFileBytesAccess() {
 		this.cache = createCache();
 	}
+	
+	/**
+	 * @param cache the map that caches the bytes per binary class name.
+	 * @since 2.17
+	 */
+	public ClassFileBytesAccess(Map<String, byte[]> cache) {
+		this.cache = cache;
+	}
 
 	protected HashMap<String, byte[]> createCache() {
 		return Maps.newHashMap();
@@ -46,17 +56,22 @@ public class ClassFileBytesAccess {
 		return cache;
 	}
 	
-	public byte[] getBytes(BinaryClass clazz)  {
-		String className = clazz.getName();
-		Map<String, byte[]> cache = getCache();
-		byte[] result = cache.get(className);
-		if (result != null) {
-			return result != notAvailable ? result : null;
-		}
-		result = clazz.getBytes();
-		
-		cache.put(className, result != null ? result : notAvailable);
-		return result;
+	public byte[] getBytes(final BinaryClass clazz)  {
+		byte[] result = getCache().computeIfAbsent(clazz.getName(), className -> {
+			byte[] bytes = readBytes(clazz);
+			return bytes != null ? bytes : notAvailable;
+		});
+		return result != notAvailable ? result : null;
+	}
+	
+	/**
+	 * Reads the bytes of the given class if they are not yet cached.
+	 * 
+	 * @return the bytes or <code>null</code> if the class file is not available.
+	 * @since 2.17
+	 */
+	protected byte[] readBytes(BinaryClass clazz) {
+		return clazz.getBytes();
 	}
 	
 }
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.binary.asm;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.eclipse.xtext.common.types.access.binary.asm.PersistentClassFileBytesCache.ArchiveCache;
+
+/**
+ * A {@link ClassFileBytesAccess} that reads the bytes of archived classes from a
+ * {@link PersistentClassFileBytesCache} rather than from the class loader.
+ * It may be used concurrently.
+ *
+ * <p>
+ * Once a class of a package was found in an archive, the other classes of that package are looked up in the cache
+ * of the same archive without asking the class loader for their class file. Packages that are split between
+ * several class path entries are always resolved through the class loader.
+ * </p>
+ *
+ * @since 2.17
+ */
+public class PersistentClassFileBytesAccess extends ClassFileBytesAccess {
+
+	private final PersistentClassFileBytesCache persistentCache;
+
+	/**
+	 * The archive of each package. An absent value marks a package that is not contained in a single archive.
+	 */
+	private final ConcurrentMap<String, Optional<ArchiveCache>> packageArchives = new ConcurrentHashMap<String, Optional<ArchiveCache>>();
+
+	public PersistentClassFileBytesAccess(PersistentClassFileBytesCache persistentCache) {
+		super(new ConcurrentHashMap<String, byte[]>());
+		this.persistentCache = persistentCache;
+	}
+
+	public PersistentClassFileBytesCache getPersistentCache() {
+		return persistentCache;
+	}
+
+	@Override
+	protected byte[] readBytes(BinaryClass clazz) {
+		String packageName = getPackageName(clazz.getName());
+		Optional<ArchiveCache> knownArchive = packageArchives.get(packageName);
+		if (knownArchive != null && knownArchive.isPresent()) {
+			byte[] result = knownArchive.get().get(clazz.getName());
+			if (result != null) {
+				return result;
+			}
+		}
+		ArchiveCache archiveCache = persistentCache.getArchiveCache(clazz.getClassFileURL());
+		if (knownArchive == null) {
+			knownArchive = packageArchives.putIfAbsent(packageName, Optional.ofNullable(archiveCache));
+		}
+		if (knownArchive != null && knownArchive.orElse(null) != archiveCache) {
+			packageArchives.put(packageName, Optional.<ArchiveCache>empty());
+		}
+		if (archiveCache == null) {
+			return super.readBytes(clazz);
+		}
+		byte[] result = archiveCache.get(clazz.getName());
+		if (result != null) {
+			return result;
+		}
+		result = super.readBytes(clazz);
+		if (result != null) {
+			archiveCache.put(clazz.getName(), result);
+		}
+		return result;
+	}
+
+	private String getPackageName(String className) {
+		int index = className.lastIndexOf('.');
+		return index == -1 ? "" : className.substring(0, index);
+	}
+
+}
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.binary.asm;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+
+/**
+ * A cache of class file bytes that survives the current process. It is shared by all
+ * {@link PersistentClassFileBytesAccess accessors} that use the same cache directory.
+ *
+ * <p>
+ * Only classes that are loaded from archives are cached. The bytes of an archive are stored in a single file of the
+ * cache directory that is keyed by the path, the size and the modification stamp of the archive. Thus a changed
+ * archive will never be served from a stale cache file. Cache files are memory mapped when they are first accessed.
+ * Classes that are read after that are kept in memory until the cache is {@link #save() saved}. Saving writes a new
+ * generation of the cache file rather than replacing the mapped one, because mapped files cannot be replaced on
+ * every platform.
+ * </p>
+ *
+ * <p>
+ * Instances may be used concurrently.
+ * </p>
+ *
+ * @since 2.17
+ */
+public class PersistentClassFileBytesCache {
+
+	private static final Logger LOG = Logger.getLogger(PersistentClassFileBytesCache.class);
+
+	private static final int VERSION = 1;
+
+	private final File directory;
+
+	private final ConcurrentMap<File, ArchiveCache> archives = new ConcurrentHashMap<File, ArchiveCache>();
+
+	public PersistentClassFileBytesCache(File directory) {
+		this.directory = directory;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @return the cached bytes of the class with the given binary name or <code>null</code> if the class file was
+	 *         not loaded from an archive or was not cached yet.
+	 */
+	public byte[] get(URL classFileURL, String className) {
+		ArchiveCache archiveCache = getArchiveCache(classFileURL);
+		if (archiveCache == null) {
+			return null;
+		}
+		return archiveCache.get(className);
+	}
+
+	/**
+	 * Records the bytes of the given class. Has no effect if the class file was not loaded from an archive.
+	 */
+	public void put(URL classFileURL, String className, byte[] bytes) {
+		ArchiveCache archiveCache = getArchiveCache(classFileURL);
+		if (archiveCache != null) {
+			archiveCache.put(className, bytes);
+		}
+	}
+
+	/**
+	 * Writes the classes that were read since the cache files were loaded to the cache directory.
+	 */
+	public void save() throws IOException {
+		if (!directory.mkdirs() && !directory.isDirectory()) {
+			throw new IOException("Failed to create directory '" + directory.getAbsolutePath() + "'");
+		}
+		for (ArchiveCache archiveCache : archives.values()) {
+			archiveCache.save();
+		}
+	}
+
+	protected ArchiveCache getArchiveCache(URL classFileURL) {
+		File archive = getArchive(classFileURL);
+		if (archive == null) {
+			return null;
+		}
+		ArchiveCache result = archives.get(archive);
+		if (result == null) {
+			ArchiveCache newCache = new ArchiveCache(directory, getCacheFilePrefix(archive));
+			result = archives.putIfAbsent(archive, newCache);
+			if (result == null) {
+				result = newCache;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the archive that contains the given class file or <code>null</code> if it is not a local archive.
+	 */
+	protected File getArchive(URL classFileURL) {
+		if (classFileURL == null || !"jar".equals(classFileURL.getProtocol())) {
+			return null;
+		}
+		String path = classFileURL.getPath();
+		int separator = path.indexOf("!/");
+		if (separator == -1 || !path.startsWith("file:")) {
+			return null;
+		}
+		try {
+			File result = new File(new java.net.URI(path.substring(0, separator)));
+			return result.isFile() ? result : null;
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the prefix of the names of the cache files of the given archive.
+	 */
+	protected String getCacheFilePrefix(File archive) {
+		String key = archive.getAbsolutePath() + '|' + archive.length() + '|' + archive.lastModified();
+		String hash = Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString();
+		return archive.getName() + '-' + hash.substring(0, 16);
+	}
+
+	/**
+	 * The cached classes of a single archive. They are stored in the latest generation of the cache files with the
+	 * given prefix, e.g. <code>prefix.3.classes</code>.
+	 */
+	protected static class ArchiveCache {
+
+		private static final String SUFFIX = ".classes";
+
+		private final File directory;
+
+		private final String prefix;
+
+		private Map<String, byte[]> added = Maps.newHashMap();
+
+		private Map<String, int[]> entries;
+
+		private ByteBuffer content;
+
+		private long generation = -1;
+
+		protected ArchiveCache(File directory, String prefix) {
+			this.directory = directory;
+			this.prefix = prefix;
+		}
+
+		protected synchronized byte[] get(String className) {
+			byte[] result = added.get(className);
+			if (result != null) {
+				return result;
+			}
+			ensureLoaded();
+			int[] entry = entries.get(className);
+			if (entry == null) {
+				return null;
+			}
+			result = new byte[entry[1]];
+			ByteBuffer view = content.duplicate();
+			view.position(entry[0]);
+			view.get(result);
+			return result;
+		}
+
+		protected synchronized void put(String className, byte[] bytes) {
+			ensureLoaded();
+			if (!entries.containsKey(className)) {
+				added.put(className, bytes);
+			}
+		}
+
+		private void ensureLoaded() {
+			if (entries != null) {
+				return;
+			}
+			entries = Maps.newHashMap();
+			generation = getLatestGeneration();
+			if (generation == -1) {
+				return;
+			}
+			File file = getFile(generation);
+			try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+				ByteBuffer mapped = input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length());
+				if (mapped.getInt() != VERSION) {
+					return;
+				}
+				int count = mapped.getInt();
+				Map<String, int[]> index = Maps.newHashMapWithExpectedSize(count);
+				for (int i = 0; i < count; i++) {
+					byte[] name = new byte[mapped.getShort() & 0xFFFF];
+					mapped.get(name);
+					int offset = mapped.getInt();
+					int length = mapped.getInt();
+					index.put(new String(name, StandardCharsets.UTF_8), new int[] { offset, length });
+				}
+				entries = index;
+				content = mapped;
+			} catch (IOException | RuntimeException e) {
+				LOG.warn("Ignoring corrupt class file cache '" + file.getAbsolutePath() + "'", e);
+			}
+		}
+
+		protected synchronized void save() throws IOException {
+			if (added.isEmpty()) {
+				return;
+			}
+			Map<String, byte[]> allClasses = Maps.newLinkedHashMap();
+			for (String className : entries.keySet()) {
+				allClasses.put(className, get(className));
+			}
+			allClasses.putAll(added);
+			long newGeneration = Math.max(generation, getLatestGeneration()) + 1;
+			File tmpFile = File.createTempFile(prefix, ".tmp", directory);
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+					out.writeInt(VERSION);
+					out.writeInt(allClasses.size());
+					int headerSize = 8;
+					for (String className : allClasses.keySet()) {
+						headerSize += 2 + className.getBytes(StandardCharsets.UTF_8).length + 8;
+					}
+					int offset = headerSize;
+					for (Map.Entry<String, byte[]> entry : allClasses.entrySet()) {
+						byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+						out.writeShort(name.length);
+						out.write(name);
+						out.writeInt(offset);
+						out.writeInt(entry.getValue().length);
+						offset += entry.getValue().length;
+					}
+					for (byte[] bytes : allClasses.values()) {
+						out.write(bytes);
+					}
+				}
+				try {
+					Files.move(tmpFile.toPath(), getFile(newGeneration).toPath());
+				} catch (FileAlreadyExistsException e) {
+					// another process saved the same generation concurrently
+				}
+			} finally {
+				tmpFile.delete();
+			}
+			// the classes are served from the written file the next time they are requested
+			entries = null;
+			content = null;
+			added = Maps.newHashMap();
+			for (long outdated : getGenerations()) {
+				if (outdated < newGeneration) {
+					// fails for files that are still mapped on some platforms, they are deleted by a later save
+					getFile(outdated).delete();
+				}
+			}
+		}
+
+		private File getFile(long generation) {
+			return new File(directory, prefix + '.' + generation + SUFFIX);
+		}
+
+		private long getLatestGeneration() {
+			long result = -1;
+			for (long candidate : getGenerations()) {
+				result = Math.max(result, candidate);
+			}
+			return result;
+		}
+
+		private List<Long> getGenerations() {
+			List<Long> result = Lists.newArrayList();
+			String[] names = directory.list();
+			if (names != null) {
+				for (String name : names) {
+					if (name.startsWith(prefix + '.') && name.endsWith(SUFFIX)) {
+						try {
+							result.add(Long.parseLong(name.substring(prefix.length() + 1, name.length() - SUFFIX.length())));
+						} catch (NumberFormatException e) {
+							// not a cache file of this archive
+						}
+					}
+				}
+			}
+			return result;
+		}
+	}
+
+}
@@ -41,10 +41,11 @@ public abstract class AbstractClassFinder<C> {
 
 		try {
 			result = forName(classNameUtil.normalizeClassName(name), classLoader);
-			cache.put(name, result);
-			return result;
+			// a concurrent lookup may have been faster, use its result to keep the found classes unique
+			C existing = cache.putIfAbsent(name, result);
+			return existing != null && existing != nullValue ? existing : result;
 		} catch(ClassNotFoundException e) {
-			cache.put(name, nullValue);
+			cache.putIfAbsent(name, nullValue);
 			throw e;
 		}
 	}
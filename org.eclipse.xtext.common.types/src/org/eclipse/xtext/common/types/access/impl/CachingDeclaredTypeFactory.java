@@ -7,8 +7,8 @@
  *******************************************************************************/
 package org.eclipse.xtext.common.types.access.impl;
 
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.xtext.EcoreUtil2;
@@ -33,6 +33,10 @@ import org.eclipse.xtext.common.types.access.binary.BinaryClass;
  * {@link JvmType types} since only one resource set is involved which maintains an index of resolved
  * types.  
  * 
+ * The factory may be shared by the type providers of several resource sets that are used concurrently.
+ * This is safe since a cached template is never modified after it was published: clients only ever
+ * receive a {@link EcoreUtil2#cloneWithProxies(org.eclipse.emf.ecore.EObject) clone} of it.
+ * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class CachingDeclaredTypeFactory implements ITypeFactory<BinaryClass, JvmDeclaredType> {
@@ -41,7 +45,7 @@ public class CachingDeclaredTypeFactory implements ITypeFactory<BinaryClass, Jvm
 
 	private final DeclaredTypeFactory delegate;
 
-	private final Map<String, JvmDeclaredType> typeCache = new ConcurrentHashMap<String, JvmDeclaredType>();
+	private final ConcurrentMap<String, JvmDeclaredType> typeCache = new ConcurrentHashMap<String, JvmDeclaredType>();
 	
 	private final JvmDeclaredType nullValue = TypesFactory.eINSTANCE.createJvmGenericType();
 
@@ -72,12 +76,13 @@ public class CachingDeclaredTypeFactory implements ITypeFactory<BinaryClass, Jvm
 		JvmDeclaredType cachedResult = typeCache.get(name);
 		if (cachedResult == null) {
 			cachedResult = load(clazz);
-			if (cachedResult == null) {
-				typeCache.put(name, nullValue);
-			} else {
-				typeCache.put(name, cachedResult);
+			// keep the first template if the type was loaded concurrently
+			JvmDeclaredType existing = typeCache.putIfAbsent(name, cachedResult == null ? nullValue : cachedResult);
+			if (existing != null) {
+				cachedResult = existing;
 			}
-		} else if (cachedResult == nullValue) {
+		}
+		if (cachedResult == nullValue) {
 			return null;
 		}
 		return cachedResult;
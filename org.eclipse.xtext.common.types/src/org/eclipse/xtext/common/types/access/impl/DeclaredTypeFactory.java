@@ -16,6 +16,7 @@ import org.eclipse.xtext.common.types.access.binary.asm.ClassFileBytesAccess;
 import org.eclipse.xtext.common.types.access.binary.asm.JvmDeclaredTypeBuilder;
 import org.eclipse.xtext.common.types.access.reflect.ReflectURIHelper;
 import org.eclipse.xtext.common.types.access.reflect.ReflectionTypeFactory;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.common.types.util.TypeReferences;
 import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
@@ -90,6 +91,7 @@ public class DeclaredTypeFactory implements ITypeFactory<BinaryClass, JvmDeclare
 	@Override
 	public JvmDeclaredType createType(BinaryClass binaryClass) {
 		if (useASM) {
+			long start = PerformanceTelemetry.start();
 			try {
 				createTypeTask.start();
 				return doCreateType(binaryClass);
@@ -97,6 +99,7 @@ public class DeclaredTypeFactory implements ITypeFactory<BinaryClass, JvmDeclare
 				throw new RuntimeException(e);
 			} finally {
 				createTypeTask.stop();
+				PerformanceTelemetry.stop(PerformanceTelemetry.JVM_TYPE_CREATION, start);
 			}
 		} else {
 			try {
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -33,6 +34,10 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionsProvider;
 import org.eclipse.xtext.util.Strings;
 
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 
 /**
@@ -104,7 +109,7 @@ public class IndexedJvmTypeAccess {
 	public EObject getIndexedJvmType(QualifiedName qualifiedName, String fragment, ResourceSet resourceSet, boolean throwShadowedException) throws UnknownNestedTypeException {
 		if (resourceSet != null) {
 			IResourceDescriptions descriptions = resourceDescriptionsProvider.getResourceDescriptions(resourceSet);
-			Iterable<IEObjectDescription> candidates = descriptions.getExportedObjects(TypesPackage.Literals.JVM_TYPE, qualifiedName, false);
+			Iterable<IEObjectDescription> candidates = getExportedTypes(descriptions, qualifiedName, resourceSet);
 			Iterator<IEObjectDescription> iterator = candidates.iterator();
 			if (iterator.hasNext()) {
 				EObject result = findAccessibleType(fragment, resourceSet, iterator);
@@ -121,6 +126,20 @@ public class IndexedJvmTypeAccess {
 		return null;
 	}
 
+	/**
+	 * Returns the types with the given name from the index. The result of the query is remembered in the
+	 * {@link LookupCache} of the resource set if the index is a {@link VersionedResourceDescriptionsData} and
+	 * the resource set is not in the {@link #isIndexingPhase(Notifier) indexing phase}.
+	 * @since 2.17
+	 */
+	protected Iterable<IEObjectDescription> getExportedTypes(IResourceDescriptions descriptions, QualifiedName qualifiedName, ResourceSet resourceSet) {
+		if (descriptions instanceof VersionedResourceDescriptionsData && !isIndexingPhase(resourceSet)) {
+			LookupCache cache = LookupCache.findOrCreate(resourceSet);
+			return cache.getExportedTypes((VersionedResourceDescriptionsData) descriptions, qualifiedName);
+		}
+		return descriptions.getExportedObjects(TypesPackage.Literals.JVM_TYPE, qualifiedName, false);
+	}
+
 	/**
 	 * Returns the first type that was found in the index. May be overridden to honor visibility semantics.
 	 * The given iterator is never empty.
@@ -208,6 +227,84 @@ public class IndexedJvmTypeAccess {
 		return component.getArrayType();
 	}
 
+	/**
+	 * Remembers the found types and the misses of the index queries per resource set. The cached entries
+	 * are discarded if another index is installed or if the installed index is modified.
+	 * <p>
+	 * The cache is only used if the index is a {@link VersionedResourceDescriptionsData} since only that one
+	 * tells about its modifications. At the moment, this is the case for the index of the standalone builder.
+	 * The indexes of the Eclipse builder, the language server and the plain {@link
+	 * org.eclipse.xtext.resource.impl.ResourceDescriptionsData ResourceDescriptionsData} are queried as before.
+	 * </p>
+	 * @since 2.17
+	 */
+	public static class LookupCache extends AdapterImpl {
+		
+		private static final int MAXIMUM_SIZE = 10000;
+		
+		private final Cache<QualifiedName, List<IEObjectDescription>> entries = CacheBuilder.newBuilder()
+				.maximumSize(MAXIMUM_SIZE)
+				.recordStats()
+				.build();
+		
+		private VersionedResourceDescriptionsData index;
+		
+		private long version;
+		
+		/**
+		 * @return the cache of the given resource set or <code>null</code> if no type was looked up yet.
+		 */
+		public static LookupCache find(ResourceSet resourceSet) {
+			return (LookupCache) EcoreUtil.getAdapter(resourceSet.eAdapters(), LookupCache.class);
+		}
+		
+		protected static LookupCache findOrCreate(ResourceSet resourceSet) {
+			synchronized (resourceSet.eAdapters()) {
+				LookupCache result = find(resourceSet);
+				if (result == null) {
+					result = new LookupCache();
+					resourceSet.eAdapters().add(result);
+				}
+				return result;
+			}
+		}
+		
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return LookupCache.class.equals(type);
+		}
+		
+		protected List<IEObjectDescription> getExportedTypes(VersionedResourceDescriptionsData index, QualifiedName qualifiedName) {
+			synchronized (this) {
+				long currentVersion = index.getVersion();
+				if (this.index != index || this.version != currentVersion) {
+					entries.invalidateAll();
+					this.index = index;
+					this.version = currentVersion;
+				}
+			}
+			List<IEObjectDescription> result = entries.getIfPresent(qualifiedName);
+			if (result == null) {
+				long queriedVersion = index.getVersion();
+				result = ImmutableList.copyOf(index.getExportedObjects(TypesPackage.Literals.JVM_TYPE, qualifiedName, false));
+				synchronized (this) {
+					// do not remember results of an index that was modified during the query
+					if (this.index == index && this.version == queriedVersion && index.getVersion() == queriedVersion) {
+						entries.put(qualifiedName, result);
+					}
+				}
+			}
+			return result;
+		}
+		
+		/**
+		 * @return the hit and miss counters of this cache. A miss of the cache is not a miss of the index.
+		 */
+		public CacheStats getStats() {
+			return entries.stats();
+		}
+	}
+
 	@SuppressWarnings("serial")
 	public static class ShadowedTypeException extends RuntimeException {
 		public ShadowedTypeException() {
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.impl;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+
+/**
+ * A {@link ResourceDescriptionsData} that counts its modifications. The {@link IndexedJvmTypeAccess.LookupCache}
+ * remembers the index queries of a resource set only if such an index is installed, and drops them as soon as the
+ * index is modified.
+ *
+ * @since 2.17
+ */
+public class VersionedResourceDescriptionsData extends ResourceDescriptionsData {
+
+	private volatile long version;
+
+	public VersionedResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
+		super(descriptions);
+	}
+
+	/**
+	 * @return a number that changes whenever a description is added, replaced or removed.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public void addDescription(URI uri, IResourceDescription newDescription) {
+		super.addDescription(uri, newDescription);
+		version++;
+	}
+
+	@Override
+	public void removeDescription(URI uri) {
+		super.removeDescription(uri);
+		version++;
+	}
+
+}
@@ -7,15 +7,14 @@
  *******************************************************************************/
 package org.eclipse.xtext.common.types.access.reflect;
 
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmType;
 
-import com.google.common.collect.Maps;
-
 /**
  * It caches the {@link JvmDeclaredType} per {@link Class}.
  * 
@@ -32,6 +31,10 @@ import com.google.common.collect.Maps;
  * {@link JvmType types} since only one resource set is involved which maintains an index of resolved
  * types.  
  * 
+ * The factory may be shared by the type providers of several resource sets that are used concurrently.
+ * This is safe since a cached template is never modified after it was published: clients only ever
+ * receive a {@link EcoreUtil2#cloneWithProxies(org.eclipse.emf.ecore.EObject) clone} of it.
+ * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
@@ -40,7 +43,7 @@ public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
 
 	private final ReflectionTypeFactory delegate;
 
-	private final Map<Class<?>, JvmDeclaredType> typeCache = Maps.newHashMap();
+	private final ConcurrentMap<Class<?>, JvmDeclaredType> typeCache = new ConcurrentHashMap<Class<?>, JvmDeclaredType>();
 
 	public CachingReflectionTypeFactory(ReflectionTypeFactory delegate) {
 		super(delegate.getUriHelper());
@@ -61,7 +64,9 @@ public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
 			if (log.isDebugEnabled()) {
 				log.debug(e.getMessage(), e);
 			}
-			return delegate.createType(clazz);
+			synchronized (delegate) {
+				return delegate.createType(clazz);
+			}
 		}
 	}
 
@@ -69,7 +74,11 @@ public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
 		JvmDeclaredType cachedResult = typeCache.get(key);
 		if (cachedResult == null) {
 			cachedResult = load(key);
-			typeCache.put(key, cachedResult);
+			// keep the first template if the type was loaded concurrently
+			JvmDeclaredType existing = typeCache.putIfAbsent(key, cachedResult);
+			if (existing != null) {
+				return existing;
+			}
 		}
 		return cachedResult;
 	}
@@ -77,7 +86,10 @@ public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
 	private JvmDeclaredType load(Class<?> key) {
 		if (log.isDebugEnabled())
 			log.debug("Hit:" + key.getCanonicalName());
-		return delegate.createType(key);
+		// the delegate is not thread safe
+		synchronized (delegate) {
+			return delegate.createType(key);
+		}
 	}
 	
 }
@@ -62,6 +62,7 @@ import org.eclipse.xtext.common.types.TypesFactory;
 import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.ITypeFactory;
 import org.eclipse.xtext.common.types.impl.JvmTypeConstraintImplCustom;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.common.types.util.TypeReferences;
 import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
@@ -117,6 +118,7 @@ public class ReflectionTypeFactory implements ITypeFactory<Class<?>, JvmDeclared
 	 */
 	@Override
 	public JvmDeclaredType createType(final Class<?> clazz) {
+		long start = PerformanceTelemetry.start();
 		try {
 			createTypeTask.start();
 			if (clazz.isAnonymousClass() || clazz.isSynthetic())
@@ -159,6 +161,7 @@ public class ReflectionTypeFactory implements ITypeFactory<Class<?>, JvmDeclared
 			return result;
 		} finally {
 			createTypeTask.stop();
+			PerformanceTelemetry.stop(PerformanceTelemetry.JVM_TYPE_CREATION, start);
 		}
 	}
 
@@ -11,6 +11,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
@@ -42,11 +44,24 @@ public class JavaReflectAccess {
 
 	private ClassFinder classFinder;
 
+	/**
+	 * The reflective objects that were already found for the current class loader, indexed by the
+	 * {@link #getCacheKey(JvmExecutable) erased signature} of the executable or by the identifier of the field.
+	 */
+	private final ConcurrentMap<String, Method> methods = new ConcurrentHashMap<String, Method>();
+
+	private final ConcurrentMap<String, Constructor<?>> constructors = new ConcurrentHashMap<String, Constructor<?>>();
+
+	private final ConcurrentMap<String, Field> fields = new ConcurrentHashMap<String, Field>();
+
 	@Inject(optional = true)
 	public void setClassLoader(ClassLoader classLoader) {
 		if (classLoader != this.classLoader) {
 			this.classLoader = classLoader;
 			classFinder = null;
+			methods.clear();
+			constructors.clear();
+			fields.clear();
 		}
 	}
 
@@ -54,6 +69,20 @@ public class JavaReflectAccess {
 	 * @return the {@link java.lang.reflect.Field} corresponding to the given {@link JvmField} or <code>null</code>.
 	 */
 	public Field getField(JvmField field) {
+		String key = field.getIdentifier();
+		Field result = fields.get(key);
+		if (result == null) {
+			result = findField(field);
+			if (result != null)
+				fields.putIfAbsent(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	protected Field findField(JvmField field) {
 		Class<?> class1 = getRawType(field.getDeclaringType());
 		if (class1 == null)
 			return null;
@@ -70,6 +99,20 @@ public class JavaReflectAccess {
 	 * @return the {@link Method} corresponding to the given {@link JvmOperation} or <code>null</code>.
 	 */
 	public Method getMethod(JvmOperation operation) {
+		String key = getCacheKey(operation);
+		Method result = methods.get(key);
+		if (result == null) {
+			result = findMethod(operation);
+			if (result != null)
+				methods.putIfAbsent(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	protected Method findMethod(JvmOperation operation) {
 		Class<?> declaringType = getRawType(operation.getDeclaringType());
 		if (declaringType == null)
 			return null;
@@ -87,6 +130,20 @@ public class JavaReflectAccess {
 	 * @return the {@link Constructor} corresponding to the given {@link JvmConstructor} or <code>null</code>.
 	 */
 	public Constructor<?> getConstructor(JvmConstructor constructor) {
+		String key = getCacheKey(constructor);
+		Constructor<?> result = constructors.get(key);
+		if (result == null) {
+			result = findConstructor(constructor);
+			if (result != null)
+				constructors.putIfAbsent(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	protected Constructor<?> findConstructor(JvmConstructor constructor) {
 		Class<?> declaringType = getRawType(constructor.getDeclaringType());
 		if (declaringType == null)
 			return null;
@@ -100,6 +157,50 @@ public class JavaReflectAccess {
 		return null;
 	}
 
+	/**
+	 * The identifier of an executable denotes its parameters by their declared type. Overloads may differ only
+	 * in the bounds of type parameters, so these are replaced by their erasure.
+	 */
+	private String getCacheKey(JvmExecutable executable) {
+		List<JvmFormalParameter> parameters = executable.getParameters();
+		boolean erasureRequired = false;
+		for (JvmFormalParameter p : parameters) {
+			if (isTypeParameter(p.getParameterType().getType())) {
+				erasureRequired = true;
+				break;
+			}
+		}
+		if (!erasureRequired)
+			return executable.getIdentifier();
+		StringBuilder result = new StringBuilder(executable.getDeclaringType().getIdentifier());
+		result.append('.').append(executable.getSimpleName()).append('(');
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i != 0)
+				result.append(',');
+			result.append(getErasureIdentifier(parameters.get(i).getParameterType().getType()));
+		}
+		return result.append(')').toString();
+	}
+
+	private boolean isTypeParameter(JvmType type) {
+		if (type instanceof JvmArrayType)
+			return isTypeParameter(((JvmArrayType) type).getComponentType());
+		return type instanceof JvmTypeParameter;
+	}
+
+	private String getErasureIdentifier(JvmType type) {
+		if (type instanceof JvmArrayType)
+			return getErasureIdentifier(((JvmArrayType) type).getComponentType()) + "[]";
+		if (type instanceof JvmTypeParameter) {
+			for (JvmTypeConstraint constraint : ((JvmTypeParameter) type).getConstraints()) {
+				if (constraint instanceof JvmUpperBound)
+					return getErasureIdentifier(constraint.getTypeReference().getType());
+			}
+			return Object.class.getName();
+		}
+		return type.getIdentifier();
+	}
+
 	/**
 	 * @return the {@link Class} corresponding to the given {@link JvmType} or <code>null</code>.
 	 */
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.util;
+
+/**
+ * A process wide hook that reports the latency of the phases of the JVM types and Xbase pipeline and a number of
+ * counters to a pluggable {@link Sink}, e.g. an adapter to a metrics library or to flight recorder events.
+ *
+ * Telemetry is disabled as long as no sink is installed. In that case {@link #start()} does not even read the clock
+ * and {@link #stop(String, long)} and {@link #count(String, long)} return immediately.
+ *
+ * Typical usage:
+ *
+ * <pre>
+ * long start = PerformanceTelemetry.start();
+ * try {
+ * 	..
+ * } finally {
+ * 	PerformanceTelemetry.stop(PerformanceTelemetry.TYPE_RESOLUTION, start);
+ * }
+ * </pre>
+ *
+ * @since 2.17
+ */
+public final class PerformanceTelemetry {
+
+	/**
+	 * The creation of a JVM type from a class file or from a loaded class.
+	 */
+	public static final String JVM_TYPE_CREATION = "jvmTypes.createType";
+
+	/**
+	 * The inference of the JVM model of a resource.
+	 */
+	public static final String JVM_MODEL_INFERENCE = "xbase.inferJvmModel";
+
+	/**
+	 * The type resolution of a single root, e.g. an inferred type or a standalone expression.
+	 */
+	public static final String TYPE_RESOLUTION = "xbase.resolveTypes";
+
+	/**
+	 * The number of linking candidates that are evaluated for feature and constructor calls.
+	 */
+	public static final String LINKING_CANDIDATES = "xbase.linkingCandidates";
+
+	/**
+	 * The generation of the Java code of a resource.
+	 */
+	public static final String CODE_GENERATION = "xbase.generate";
+
+	/**
+	 * Loading a resource from its binary storage.
+	 */
+	public static final String STORAGE_LOAD = "xbase.storage.load";
+
+	/**
+	 * Saving a resource to its binary storage.
+	 */
+	public static final String STORAGE_SAVE = "xbase.storage.save";
+
+	/**
+	 * Receives the measurements. Implementations have to be thread safe and should return quickly, since they are
+	 * called on the hot path.
+	 */
+	public interface Sink {
+
+		/**
+		 * @param phase
+		 *            the name of the phase, e.g. {@link PerformanceTelemetry#TYPE_RESOLUTION}.
+		 * @param durationNanos
+		 *            the elapsed time in nanoseconds.
+		 */
+		void recordDuration(String phase, long durationNanos);
+
+		/**
+		 * @param counter
+		 *            the name of the counter, e.g. {@link PerformanceTelemetry#LINKING_CANDIDATES}.
+		 * @param delta
+		 *            the amount to add.
+		 */
+		void incrementCounter(String counter, long delta);
+
+	}
+
+	private static volatile Sink sink;
+
+	private PerformanceTelemetry() {
+	}
+
+	/**
+	 * Installs the given sink. Passing <code>null</code> disables the telemetry.
+	 */
+	public static void setSink(Sink sink) {
+		PerformanceTelemetry.sink = sink;
+	}
+
+	/**
+	 * @return the installed sink or <code>null</code>.
+	 */
+	public static Sink getSink() {
+		return sink;
+	}
+
+	public static boolean isEnabled() {
+		return sink != null;
+	}
+
+	/**
+	 * @return the start time of a measurement that is to be passed to {@link #stop(String, long)} or <code>0</code>
+	 *         if the telemetry is disabled.
+	 */
+	public static long start() {
+		return sink != null ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Reports the time that elapsed since the given start time for the given phase.
+	 */
+	public static void stop(String phase, long start) {
+		Sink current = sink;
+		if (current != null && start != 0L) {
+			current.recordDuration(phase, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Adds the given delta to the counter with the given name.
+	 */
+	public static void count(String counter, long delta) {
+		Sink current = sink;
+		if (current != null) {
+			current.incrementCounter(counter, delta);
+		}
+	}
+
+}
@@ -7,6 +7,10 @@ import org.eclipse.emf.common.util.URI
 import org.eclipse.xtext.common.types.JvmGenericType
 import org.eclipse.xtext.common.types.JvmParameterizedTypeReference
 import org.eclipse.xtext.common.types.access.IJvmTypeProvider
+import org.eclipse.xtext.java.resource.ClassFileCache
+import org.eclipse.xtext.java.resource.JavaConfig
+import org.eclipse.xtext.java.resource.JavaDerivedStateComputer
+import org.eclipse.xtext.java.resource.JavaResource
 import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
@@ -44,6 +48,64 @@ class JavaSourceLanguageTest {
         Assert.assertSame(nestedType, referenced)
     }
     
+    @Test def void testBatchCompilation() {
+        val rs = resourceSet('MySuperClass.java' -> '''
+            public class MySuperClass {
+                interface InnerType {}
+            }
+        ''', 'MySubClass.java' -> '''
+            public class MySubClass extends MySuperClass {
+                public InnerType doStuff(InnerType some) {
+                    return some;
+                }
+            }
+        ''')
+        new JavaConfig => [
+            batchCompilation = true
+            attachToEmfObject(rs)
+        ]
+        val resource = rs.resources.findFirst[URI.toString.endsWith('MySubClass.java')]
+        val clazz = resource.contents.head as JvmGenericType
+        val superResource = rs.resources.findFirst[URI.toString.endsWith('MySuperClass.java')] as JavaResource
+        val superCompilationUnit = derivedStateComputer.getCompilationUnit(superResource)
+        val classFileCache = ClassFileCache.findInEmfObject(rs)
+        Assert.assertFalse(superResource.isInitialized)
+        Assert.assertTrue(classFileCache.containsCompiledTypes(superCompilationUnit))
+        val nestedType = (superResource.contents.head as JvmGenericType).allNestedTypes.head
+        Assert.assertFalse(classFileCache.containsCompiledTypes(superCompilationUnit))
+        val referenced = clazz.declaredOperations.head.returnType.type
+        Assert.assertSame(nestedType, referenced)
+    }
+    
+    @Test def void testBatchCompilationOfUnloadedAndRemovedResources() {
+        val rs = resourceSet('MySuperClass.java' -> '''
+            public class MySuperClass {
+            }
+        ''', 'MySubClass.java' -> '''
+            public class MySubClass extends MySuperClass {
+            }
+        ''', 'MyOtherSubClass.java' -> '''
+            public class MyOtherSubClass extends MySuperClass {
+            }
+        ''')
+        new JavaConfig => [
+            batchCompilation = true
+            attachToEmfObject(rs)
+        ]
+        val superResource = rs.resources.findFirst[URI.toString.endsWith('MySuperClass.java')]
+        val otherResource = rs.resources.findFirst[URI.toString.endsWith('MyOtherSubClass.java')]
+        val superCompilationUnit = derivedStateComputer.getCompilationUnit(superResource)
+        val otherCompilationUnit = derivedStateComputer.getCompilationUnit(otherResource)
+        rs.resources.findFirst[URI.toString.endsWith('MySubClass.java')].contents.head
+        val classFileCache = ClassFileCache.findInEmfObject(rs)
+        Assert.assertTrue(classFileCache.containsCompiledTypes(superCompilationUnit))
+        Assert.assertTrue(classFileCache.containsCompiledTypes(otherCompilationUnit))
+        superResource.unload
+        Assert.assertFalse(classFileCache.containsCompiledTypes(superCompilationUnit))
+        rs.resources.remove(otherResource)
+        Assert.assertFalse(classFileCache.containsCompiledTypes(otherCompilationUnit))
+    }
+    
     @Test def void testOverridenInterfaceMethod() {
         val rs = resourceSet('MySuperClass.java' -> '''
             public interface MySuperClass {
@@ -103,9 +165,26 @@ class JavaSourceLanguageTest {
         Assert.assertNotNull(clazz.declaredOperations.head)
     }
 
+    @Test def void testUpperCasePackage() {
+        val rs = resourceSet('Upper/MyType.java' -> '''
+            package Upper;
+            public class MyType {
+            }
+        ''', 'MyClass.java' -> '''
+            public interface MyClass {
+                public Upper.MyType getIt();
+            }
+        ''')
+        val type = rs.resources.findFirst[URI.toString.endsWith('MyType.java')].contents.head
+        val resource = rs.resources.findFirst[URI.toString.endsWith('MyClass.java')]
+        val clazz = resource.contents.head as JvmGenericType
+        Assert.assertSame(type, clazz.declaredOperations.head.returnType.type)
+    }
+
     @Inject Provider<XtextResourceSet> resourceSetProvider
     @Inject IResourceDescription.Manager resourceDesriptionManager
     @Inject IJvmTypeProvider.Factory typeProviderFactory
+    @Inject JavaDerivedStateComputer derivedStateComputer
 
     def protected resourceSet(Pair<String, String> ... files) {
         val result = resourceSetProvider.get
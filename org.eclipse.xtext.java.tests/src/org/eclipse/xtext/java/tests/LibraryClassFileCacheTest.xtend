@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.java.tests
+
+import com.google.common.io.ByteStreams
+import java.io.File
+import java.io.FileOutputStream
+import java.net.URL
+import java.net.URLClassLoader
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import org.eclipse.xtext.java.resource.LibraryClassFileCache
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+import static org.junit.Assert.*
+
+class LibraryClassFileCacheTest {
+
+	static val CLASS_FILE = 'org/eclipse/xtext/java/tests/MySuperClass2.class'
+
+	@Rule public val TemporaryFolder temporaryFolder = new TemporaryFolder
+
+	@Test def void testHitAcrossResourceSets() {
+		val jar = createJar
+		val cache = new LibraryClassFileCache(LibraryClassFileCache.DEFAULT_MAXIMUM_SIZE)
+		// each resource set has its own class loader for the same class path
+		val first = new URLClassLoader(#[jar.toURI.toURL], null)
+		val second = new URLClassLoader(#[jar.toURI.toURL], null)
+		try {
+			val type = cache.read(first.getResource(CLASS_FILE), CLASS_FILE)
+			assertEquals('org/eclipse/xtext/java/tests/MySuperClass2', String.valueOf(type.name))
+			assertSame(type, cache.read(second.getResource(CLASS_FILE), CLASS_FILE))
+		} finally {
+			first.close
+			second.close
+		}
+	}
+
+	@Test def void testReadAgainAfterTimestampChange() {
+		val jar = createJar
+		val cache = new LibraryClassFileCache(LibraryClassFileCache.DEFAULT_MAXIMUM_SIZE)
+		val url = new URL('jar:' + jar.toURI.toURL + '!/' + CLASS_FILE)
+		val type = cache.read(url, CLASS_FILE)
+		assertSame(type, cache.read(url, CLASS_FILE))
+		assertTrue(jar.setLastModified(jar.lastModified + 10000))
+		val changed = cache.read(url, CLASS_FILE)
+		assertNotSame(type, changed)
+		assertSame(changed, cache.read(url, CLASS_FILE))
+	}
+
+	private def File createJar() {
+		val jar = temporaryFolder.newFile('library.jar')
+		val stream = MySuperClass2.getResourceAsStream('MySuperClass2.class')
+		try {
+			val out = new JarOutputStream(new FileOutputStream(jar))
+			try {
+				out.putNextEntry(new JarEntry(CLASS_FILE))
+				ByteStreams.copy(stream, out)
+				out.closeEntry
+			} finally {
+				out.close
+			}
+		} finally {
+			stream.close
+		}
+		return jar
+	}
+
+}
@@ -9,6 +9,7 @@ import java.util.List;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.common.types.JvmAnnotationReference;
 import org.eclipse.xtext.common.types.JvmAnnotationValue;
@@ -20,6 +21,10 @@ import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.java.resource.ClassFileCache;
+import org.eclipse.xtext.java.resource.JavaConfig;
+import org.eclipse.xtext.java.resource.JavaDerivedStateComputer;
+import org.eclipse.xtext.java.resource.JavaResource;
 import org.eclipse.xtext.java.tests.JavaInjectorProvider;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.XtextResourceSet;
@@ -34,7 +39,9 @@ import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
+import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Pair;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -87,6 +94,111 @@ public class JavaSourceLanguageTest {
     Assert.assertSame(nestedType, referenced);
   }
   
+  @Test
+  public void testBatchCompilation() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("public class MySuperClass {");
+    _builder.newLine();
+    _builder.append("    ");
+    _builder.append("interface InnerType {}");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MySuperClass.java", _builder.toString());
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("public class MySubClass extends MySuperClass {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("public InnerType doStuff(InnerType some) {");
+    _builder_1.newLine();
+    _builder_1.append("        ");
+    _builder_1.append("return some;");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("}");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    Pair<String, String> _mappedTo_1 = Pair.<String, String>of("MySubClass.java", _builder_1.toString());
+    final XtextResourceSet rs = this.resourceSet(_mappedTo, _mappedTo_1);
+    JavaConfig _javaConfig = new JavaConfig();
+    final Procedure1<JavaConfig> _function = (JavaConfig it) -> {
+      it.setBatchCompilation(true);
+      it.attachToEmfObject(rs);
+    };
+    ObjectExtensions.<JavaConfig>operator_doubleArrow(_javaConfig, _function);
+    final Function1<Resource, Boolean> _function_1 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MySubClass.java"));
+    };
+    final Resource resource = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_1);
+    EObject _head = IterableExtensions.<EObject>head(resource.getContents());
+    final JvmGenericType clazz = ((JvmGenericType) _head);
+    final Function1<Resource, Boolean> _function_2 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MySuperClass.java"));
+    };
+    Resource _findFirst = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_2);
+    final JavaResource superResource = ((JavaResource) _findFirst);
+    final CompilationUnit superCompilationUnit = this.derivedStateComputer.getCompilationUnit(superResource);
+    final ClassFileCache classFileCache = ClassFileCache.findInEmfObject(rs);
+    Assert.assertFalse(superResource.isInitialized());
+    Assert.assertTrue(classFileCache.containsCompiledTypes(superCompilationUnit));
+    EObject _head_1 = IterableExtensions.<EObject>head(superResource.getContents());
+    final JvmDeclaredType nestedType = IterableExtensions.<JvmDeclaredType>head(((JvmGenericType) _head_1).getAllNestedTypes());
+    Assert.assertFalse(classFileCache.containsCompiledTypes(superCompilationUnit));
+    final JvmType referenced = IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()).getReturnType().getType();
+    Assert.assertSame(nestedType, referenced);
+  }
+  
+  @Test
+  public void testBatchCompilationOfUnloadedAndRemovedResources() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("public class MySuperClass {");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MySuperClass.java", _builder.toString());
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("public class MySubClass extends MySuperClass {");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    Pair<String, String> _mappedTo_1 = Pair.<String, String>of("MySubClass.java", _builder_1.toString());
+    StringConcatenation _builder_2 = new StringConcatenation();
+    _builder_2.append("public class MyOtherSubClass extends MySuperClass {");
+    _builder_2.newLine();
+    _builder_2.append("}");
+    _builder_2.newLine();
+    Pair<String, String> _mappedTo_2 = Pair.<String, String>of("MyOtherSubClass.java", _builder_2.toString());
+    final XtextResourceSet rs = this.resourceSet(_mappedTo, _mappedTo_1, _mappedTo_2);
+    JavaConfig _javaConfig = new JavaConfig();
+    final Procedure1<JavaConfig> _function = (JavaConfig it) -> {
+      it.setBatchCompilation(true);
+      it.attachToEmfObject(rs);
+    };
+    ObjectExtensions.<JavaConfig>operator_doubleArrow(_javaConfig, _function);
+    final Function1<Resource, Boolean> _function_1 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MySuperClass.java"));
+    };
+    final Resource superResource = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_1);
+    final Function1<Resource, Boolean> _function_2 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MyOtherSubClass.java"));
+    };
+    final Resource otherResource = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_2);
+    final CompilationUnit superCompilationUnit = this.derivedStateComputer.getCompilationUnit(superResource);
+    final CompilationUnit otherCompilationUnit = this.derivedStateComputer.getCompilationUnit(otherResource);
+    final Function1<Resource, Boolean> _function_3 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MySubClass.java"));
+    };
+    IterableExtensions.<EObject>head(IterableExtensions.<Resource>findFirst(rs.getResources(), _function_3).getContents());
+    final ClassFileCache classFileCache = ClassFileCache.findInEmfObject(rs);
+    Assert.assertTrue(classFileCache.containsCompiledTypes(superCompilationUnit));
+    Assert.assertTrue(classFileCache.containsCompiledTypes(otherCompilationUnit));
+    superResource.unload();
+    Assert.assertFalse(classFileCache.containsCompiledTypes(superCompilationUnit));
+    rs.getResources().remove(otherResource);
+    Assert.assertFalse(classFileCache.containsCompiledTypes(otherCompilationUnit));
+  }
+  
   @Test
   public void testOverridenInterfaceMethod() {
     StringConcatenation _builder = new StringConcatenation();
@@ -212,6 +324,39 @@ public class JavaSourceLanguageTest {
     Assert.assertNotNull(IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()));
   }
   
+  @Test
+  public void testUpperCasePackage() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("package Upper;");
+    _builder.newLine();
+    _builder.append("public class MyType {");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    Pair<String, String> _mappedTo = Pair.<String, String>of("Upper/MyType.java", _builder.toString());
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("public interface MyClass {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("public Upper.MyType getIt();");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    Pair<String, String> _mappedTo_1 = Pair.<String, String>of("MyClass.java", _builder_1.toString());
+    final XtextResourceSet rs = this.resourceSet(_mappedTo, _mappedTo_1);
+    final Function1<Resource, Boolean> _function = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MyType.java"));
+    };
+    final EObject type = IterableExtensions.<EObject>head(IterableExtensions.<Resource>findFirst(rs.getResources(), _function).getContents());
+    final Function1<Resource, Boolean> _function_1 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MyClass.java"));
+    };
+    final Resource resource = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_1);
+    EObject _head = IterableExtensions.<EObject>head(resource.getContents());
+    final JvmGenericType clazz = ((JvmGenericType) _head);
+    Assert.assertSame(type, IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()).getReturnType().getType());
+  }
+  
   @Inject
   private Provider<XtextResourceSet> resourceSetProvider;
   
@@ -221,6 +366,9 @@ public class JavaSourceLanguageTest {
   @Inject
   private IJvmTypeProvider.Factory typeProviderFactory;
   
+  @Inject
+  private JavaDerivedStateComputer derivedStateComputer;
+  
   protected XtextResourceSet resourceSet(final Pair<String, String>... files) {
     final XtextResourceSet result = this.resourceSetProvider.get();
     this.typeProviderFactory.createTypeProvider(result);
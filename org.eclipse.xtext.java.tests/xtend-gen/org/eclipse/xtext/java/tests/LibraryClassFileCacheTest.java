@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.java.tests;
+
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.xtext.java.resource.LibraryClassFileCache;
+import org.eclipse.xtext.java.tests.MySuperClass2;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings("all")
+public class LibraryClassFileCacheTest {
+  private static final String CLASS_FILE = "org/eclipse/xtext/java/tests/MySuperClass2.class";
+  
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+  
+  @Test
+  public void testHitAcrossResourceSets() {
+    try {
+      final File jar = this.createJar();
+      final LibraryClassFileCache cache = new LibraryClassFileCache(LibraryClassFileCache.DEFAULT_MAXIMUM_SIZE);
+      URL _uRL = jar.toURI().toURL();
+      final URLClassLoader first = new URLClassLoader(new URL[] { _uRL }, null);
+      URL _uRL_1 = jar.toURI().toURL();
+      final URLClassLoader second = new URLClassLoader(new URL[] { _uRL_1 }, null);
+      try {
+        final IBinaryType type = cache.read(first.getResource(LibraryClassFileCacheTest.CLASS_FILE), LibraryClassFileCacheTest.CLASS_FILE);
+        Assert.assertEquals("org/eclipse/xtext/java/tests/MySuperClass2", String.valueOf(type.getName()));
+        Assert.assertSame(type, cache.read(second.getResource(LibraryClassFileCacheTest.CLASS_FILE), LibraryClassFileCacheTest.CLASS_FILE));
+      } finally {
+        first.close();
+        second.close();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testReadAgainAfterTimestampChange() {
+    try {
+      final File jar = this.createJar();
+      final LibraryClassFileCache cache = new LibraryClassFileCache(LibraryClassFileCache.DEFAULT_MAXIMUM_SIZE);
+      URL _uRL = jar.toURI().toURL();
+      String _plus = ("jar:" + _uRL);
+      String _plus_1 = (_plus + "!/");
+      String _plus_2 = (_plus_1 + LibraryClassFileCacheTest.CLASS_FILE);
+      final URL url = new URL(_plus_2);
+      final IBinaryType type = cache.read(url, LibraryClassFileCacheTest.CLASS_FILE);
+      Assert.assertSame(type, cache.read(url, LibraryClassFileCacheTest.CLASS_FILE));
+      long _lastModified = jar.lastModified();
+      long _plus_3 = (_lastModified + 10000);
+      Assert.assertTrue(jar.setLastModified(_plus_3));
+      final IBinaryType changed = cache.read(url, LibraryClassFileCacheTest.CLASS_FILE);
+      Assert.assertNotSame(type, changed);
+      Assert.assertSame(changed, cache.read(url, LibraryClassFileCacheTest.CLASS_FILE));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private File createJar() {
+    try {
+      final File jar = this.temporaryFolder.newFile("library.jar");
+      final InputStream stream = MySuperClass2.class.getResourceAsStream("MySuperClass2.class");
+      try {
+        FileOutputStream _fileOutputStream = new FileOutputStream(jar);
+        final JarOutputStream out = new JarOutputStream(_fileOutputStream);
+        try {
+          JarEntry _jarEntry = new JarEntry(LibraryClassFileCacheTest.CLASS_FILE);
+          out.putNextEntry(_jarEntry);
+          ByteStreams.copy(stream, out);
+          out.closeEntry();
+        } finally {
+          out.close();
+        }
+      } finally {
+        stream.close();
+      }
+      return jar;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
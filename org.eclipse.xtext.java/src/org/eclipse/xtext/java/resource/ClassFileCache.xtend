@@ -7,10 +7,13 @@
  *******************************************************************************/
 package org.eclipse.xtext.java.resource
 
+import java.util.List
 import java.util.Map
 import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Function
 import org.eclipse.jdt.internal.compiler.env.IBinaryType
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit
+import org.eclipse.xtext.common.types.JvmDeclaredType
 import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.util.internal.EmfAdaptable
 
@@ -28,6 +31,8 @@ class ClassFileCache {
 	
 	val Map<QualifiedName, Object> cache = new ConcurrentHashMap()
 	
+	val Map<ICompilationUnit, List<JvmDeclaredType>> compiledTypes = new ConcurrentHashMap()
+	
 	def boolean containsKey(QualifiedName qualifiedName) {
 		return cache.containsKey(qualifiedName)
 	}
@@ -58,8 +63,33 @@ class ClassFileCache {
 		return null
 	}
 	
+	/**
+	 * Whether types were compiled for the given compilation unit that are not yet installed.
+	 * @since 2.17
+	 */
+	def boolean containsCompiledTypes(ICompilationUnit compilationUnit) {
+		return compiledTypes.containsKey(compilationUnit)
+	}
+	
+	/**
+	 * Remembers the types of a compilation unit that was compiled along with another one.
+	 * @since 2.17
+	 */
+	def void putCompiledTypes(ICompilationUnit compilationUnit, List<JvmDeclaredType> types) {
+		compiledTypes.put(compilationUnit, types)
+	}
+	
+	/**
+	 * Returns and forgets the types that were compiled for the given compilation unit, if any.
+	 * @since 2.17
+	 */
+	def List<JvmDeclaredType> removeCompiledTypes(ICompilationUnit compilationUnit) {
+		return compiledTypes.remove(compilationUnit)
+	}
+	
 	def void clear() {
 		cache.clear()
+		compiledTypes.clear()
 	}
 	
 }
\ No newline at end of file
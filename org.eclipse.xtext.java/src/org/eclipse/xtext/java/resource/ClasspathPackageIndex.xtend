@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.java.resource
+
+import java.io.File
+import java.io.IOException
+import java.net.URI
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.util.Set
+import java.util.zip.ZipFile
+import org.eclipse.xtext.common.types.access.binary.ClassPathIndex
+import org.eclipse.xtext.naming.QualifiedName
+
+/**
+ * Knows the packages of the class path of a class loader.
+ *
+ * The packages of the JDK are read once per process, from the runtime image of a modular JDK or from the jars of the
+ * boot and extension class path otherwise. The packages of the class path are taken from the {@link ClassPathIndex}
+ * of the class loader. A package is only reported to be missing if the whole class path is known. Otherwise the
+ * class loader is asked for the package directory.
+ *
+ * @since 2.17
+ */
+class ClasspathPackageIndex {
+
+	static val Set<QualifiedName> SYSTEM_PACKAGES = readSystemPackages
+
+	val ClassLoader classLoader
+
+	val ClassPathIndex classPathIndex
+
+	new(ClassLoader classLoader) {
+		this.classLoader = classLoader
+		this.classPathIndex = ClassPathIndex.get(classLoader)
+	}
+
+	/**
+	 * Whether the packages of the whole class path are known, i.e. {@link #isPackage(QualifiedName)} returns
+	 * <code>false</code> only for packages that do not exist.
+	 */
+	def boolean isComplete() {
+		return classPathIndex !== null && SYSTEM_PACKAGES !== null
+	}
+
+	def boolean isPackage(QualifiedName packageName) {
+		if (SYSTEM_PACKAGES !== null && SYSTEM_PACKAGES.contains(packageName)) {
+			return true
+		}
+		if (classPathIndex !== null && classPathIndex.containsPackage(packageName.toString)) {
+			return true
+		}
+		if (complete) {
+			return false
+		}
+		if (classLoader.getResource(packageName.toString('/') + '/') !== null) {
+			return true
+		}
+		// the packages of jars without directory entries are not found as resources
+		return Character.isLowerCase(packageName.lastSegment.charAt(0))
+	}
+
+	/**
+	 * Adds the given package and all its parent packages.
+	 */
+	static def void addPackages(Set<QualifiedName> packages, QualifiedName packageName) {
+		var name = packageName
+		while (name.segmentCount > 0 && packages.add(name)) {
+			name = name.skipLast(1)
+		}
+	}
+
+	protected static def Set<QualifiedName> readPackages(File archive) throws IOException {
+		val result = <QualifiedName>newHashSet
+		val zipFile = new ZipFile(archive)
+		try {
+			val entries = zipFile.entries
+			while (entries.hasMoreElements) {
+				val name = entries.nextElement.name
+				val index = name.lastIndexOf('/')
+				if (index > 0) {
+					addPackages(result, QualifiedName.create(name.substring(0, index).split('/')))
+				}
+			}
+		} finally {
+			zipFile.close
+		}
+		return result
+	}
+
+	/**
+	 * Returns the packages of the JDK or <code>null</code> if they are not known.
+	 */
+	private static def Set<QualifiedName> readSystemPackages() {
+		val result = <QualifiedName>newHashSet
+		try {
+			val stream = Files.newDirectoryStream(FileSystems.getFileSystem(URI.create('jrt:/')).getPath('/packages'))
+			try {
+				for (path : stream) {
+					addPackages(result, QualifiedName.create(path.fileName.toString.split('\\.')))
+				}
+			} finally {
+				stream.close
+			}
+			return result
+		} catch (Exception e) {
+			// no modular JDK, read the jars of the boot and the extension class path
+		}
+		val bootClassPath = System.getProperty('sun.boot.class.path')
+		if (bootClassPath === null) {
+			return null
+		}
+		val archives = <File>newArrayList
+		for (entry : bootClassPath.split(File.pathSeparator)) {
+			if (!entry.empty) {
+				archives += new File(entry)
+			}
+		}
+		for (directory : System.getProperty('java.ext.dirs', '').split(File.pathSeparator)) {
+			val files = new File(directory).listFiles
+			if (!directory.empty && files !== null) {
+				for (file : files) {
+					archives += file
+				}
+			}
+		}
+		try {
+			for (archive : archives) {
+				if (archive.isDirectory) {
+					// the contents of a directory may change
+					return null
+				}
+				if (archive.isFile) {
+					result += readPackages(archive)
+				}
+			}
+		} catch (IOException e) {
+			return null
+		}
+		return result
+	}
+
+}
@@ -2,17 +2,18 @@ package org.eclipse.xtext.java.resource
 
 import java.util.ArrayList
 import java.util.Map
+import java.util.Set
 import org.eclipse.jdt.internal.compiler.batch.CompilationUnit
-import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.common.types.TypesPackage
+import org.eclipse.xtext.common.types.access.impl.VersionedResourceDescriptionsData
 import org.eclipse.xtext.common.types.descriptions.EObjectDescriptionBasedStubGenerator
 import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.emf.ecore.resource.Resource
-import java.io.InputStream
+import org.eclipse.emf.ecore.resource.ResourceSet
 import org.eclipse.jdt.internal.compiler.env.IBinaryType
 
 @FinalFieldsConstructor class IndexAwareNameEnvironment implements INameEnvironment {
@@ -24,10 +25,18 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType
 	val ClassFileCache classFileCache
 	
 	Map<QualifiedName, NameEnvironmentAnswer> nameToAnswerCache = newHashMap()
+	
+	Map<QualifiedName, Boolean> packageCache = newHashMap()
+	
+	Set<QualifiedName> indexedPackages
+	
+	ClasspathPackageIndex classpathPackageIndex
 
 	override cleanup() {
 		nameToAnswerCache.clear
 		classFileCache.clear
+		packageCache.clear
+		indexedPackages = null
 	}
 
 	override findType(char[][] compoundTypeName) {
@@ -58,6 +67,12 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType
 			}
 			result = new NameEnvironmentAnswer(new CompilationUnit(source.toCharArray, className.toString('/')+'.java', null), null)
 		} else {
+			if (className.segmentCount > 1 && getClasspathPackageIndex.complete
+				&& !getClasspathPackageIndex.isPackage(className.skipLast(1))) {
+				// no need to ask the class loader for a type in a package that does not exist
+				nameToAnswerCache.put(className, null)
+				return null
+			}
 			val fileName = className.toString('/') + ".class"
 			val url = classLoader.getResource(fileName)
 			if (url === null) {
@@ -65,13 +80,7 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType
 				classFileCache.put(className, null)
 				return null;
 			}
-			var InputStream stream = null
-			val IBinaryType reader = try {
-				stream = url.openStream
-				ClassFileReader.read(stream, fileName)
-			} finally {
-				stream?.close
-			}
+			val IBinaryType reader = LibraryClassFileCache.instance.read(url, fileName)
 			if (reader === null) {
 				return null;
 			}
@@ -93,8 +102,67 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType
 		if (packageName === null || packageName.length == 0) {
 			return false;
 		}
-		// Mostly working hack
-		return Character.isLowerCase(packageName.head)
+		val list = new ArrayList<String>
+		if (parentPackageName !== null) {
+			list += parentPackageName.map[String.valueOf(it)]
+		}
+		list += String.valueOf(packageName)
+		return isPackage(QualifiedName.create(list))
+	}
+	
+	/**
+	 * Whether the given package contains a type of the index or of the class path.
+	 * If the class path is not completely known, a package that is not found is guessed by the case of its name.
+	 * The same holds for the packages of an index that is not a {@link VersionedResourceDescriptionsData}.
+	 * @since 2.17
+	 */
+	def boolean isPackage(QualifiedName packageName) {
+		var result = packageCache.get(packageName)
+		if (result === null) {
+			result = isIndexedPackage(packageName) || getClasspathPackageIndex.isPackage(packageName)
+			packageCache.put(packageName, result)
+		}
+		return result
+	}
+	
+	/**
+	 * Whether the given package contains a type of the index. The packages of a {@link VersionedResourceDescriptionsData}
+	 * are shared by the name environments of a resource set as long as it is not modified. Other indexes may change
+	 * without notice and can only be queried by exact names, so a package is guessed by the case of its name unless
+	 * the index contains a type with that name.
+	 * @since 2.17
+	 */
+	protected def boolean isIndexedPackage(QualifiedName packageName) {
+		val descriptions = resourceDescriptions
+		if (descriptions instanceof VersionedResourceDescriptionsData) {
+			if (indexedPackages === null) {
+				indexedPackages = findOrCreateIndexedPackageCache(resource.resourceSet).getPackages(descriptions)
+			}
+			return indexedPackages.contains(packageName)
+		}
+		return Character.isLowerCase(packageName.lastSegment.charAt(0))
+			&& descriptions.getExportedObjects(TypesPackage.Literals.JVM_DECLARED_TYPE, packageName, false).empty
+	}
+	
+	private def IndexedPackageCache findOrCreateIndexedPackageCache(ResourceSet resourceSet) {
+		synchronized (resourceSet.eAdapters) {
+			var cache = IndexedPackageCache.findInEmfObject(resourceSet)
+			if (cache === null) {
+				cache = new IndexedPackageCache
+				cache.attachToEmfObject(resourceSet)
+			}
+			return cache
+		}
+	}
+	
+	/**
+	 * @since 2.17
+	 */
+	protected def ClasspathPackageIndex getClasspathPackageIndex() {
+		if (classpathPackageIndex === null) {
+			classpathPackageIndex = new ClasspathPackageIndex(classLoader)
+		}
+		return classpathPackageIndex
 	}
 }	
  
\ No newline at end of file
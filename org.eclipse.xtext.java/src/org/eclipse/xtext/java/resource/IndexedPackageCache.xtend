@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.java.resource
+
+import java.util.Set
+import org.eclipse.xtext.common.types.TypesPackage
+import org.eclipse.xtext.common.types.access.impl.VersionedResourceDescriptionsData
+import org.eclipse.xtext.naming.QualifiedName
+import org.eclipse.xtext.resource.IResourceDescriptions
+import org.eclipse.xtext.util.internal.EmfAdaptable
+
+/**
+ * The packages of the types in the index of a resource set. They are computed once per version of a
+ * {@link VersionedResourceDescriptionsData} and computed again as soon as the index is modified.
+ *
+ * @since 2.17
+ */
+@EmfAdaptable
+class IndexedPackageCache {
+
+	VersionedResourceDescriptionsData index
+
+	long version
+
+	Set<QualifiedName> packages
+
+	def synchronized Set<QualifiedName> getPackages(VersionedResourceDescriptionsData index) {
+		val currentVersion = index.version
+		if (packages === null || this.index !== index || version != currentVersion) {
+			val result = computePackages(index)
+			// do not remember the packages of an index that was modified while they were computed
+			if (index.version == currentVersion) {
+				this.index = index
+				this.version = currentVersion
+				this.packages = result
+			}
+			return result
+		}
+		return packages
+	}
+
+	/**
+	 * Computes the packages of the types in the given index. The names of nested types may contain the name of
+	 * their outer type as a segment, so the names of the types themselves are not considered packages.
+	 */
+	static def Set<QualifiedName> computePackages(IResourceDescriptions descriptions) {
+		val types = <QualifiedName>newHashSet
+		for (description : descriptions.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE)) {
+			types += description.name
+		}
+		val packages = <QualifiedName>newHashSet
+		for (type : types) {
+			ClasspathPackageIndex.addPackages(packages, type.skipLast(1))
+		}
+		packages.removeAll(types)
+		return packages
+	}
+
+}
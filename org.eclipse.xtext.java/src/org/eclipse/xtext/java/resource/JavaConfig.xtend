@@ -8,4 +8,11 @@ import org.eclipse.xtext.util.internal.EmfAdaptable
 class JavaConfig {
     @Accessors JavaVersion javaSourceLevel
     @Accessors JavaVersion javaTargetLevel
+    /**
+     * Whether all loaded java resources of the resource set that are not yet installed shall be compiled
+     * in a single pass. Defaults to <code>false</code>.
+     * 
+     * @since 2.17
+     */
+    @Accessors boolean batchCompilation
 }
\ No newline at end of file
@@ -1,8 +1,9 @@
 package org.eclipse.xtext.java.resource
 
+import com.google.common.collect.Sets
 import com.google.inject.Inject
-import java.util.Arrays
 import java.util.List
+import java.util.Set
 import org.eclipse.emf.common.util.EList
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.resource.Resource
@@ -13,6 +14,7 @@ import org.eclipse.jdt.internal.compiler.Compiler
 import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions
 import org.eclipse.jdt.internal.compiler.parser.Parser
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory
@@ -121,9 +123,23 @@ class JavaDerivedStateComputer {
 		val compilationUnit = getCompilationUnit(resource)
 		val classLoader = getClassLoader(resource)
 		
+		val compiledTypes = classFileCache.removeCompiledTypes(compilationUnit)
+		if (compiledTypes !== null) {
+			// compiled along with another resource
+			resource.contents += compiledTypes
+			return;
+		}
 		val data = resourceDescriptionsProvider.getResourceDescriptions(resource.resourceSet)
 		if (data === null)
 			throw new IllegalStateException("no index installed")
+		val List<ICompilationUnit> pendingCompilationUnits = if (resource.resourceSet.isBatchCompilation) {
+			getPendingCompilationUnits(resource, classFileCache)
+		} else {
+			emptyList
+		}
+		// the compilation units do not override equals, so an identity set avoids their linear search
+		val Set<ICompilationUnit> pendingCompilationUnitSet = Sets.newIdentityHashSet
+		pendingCompilationUnitSet += pendingCompilationUnits
 		// TODO use container manager
 		val nameEnv = new IndexAwareNameEnvironment(resource, classLoader, data, stubGenerator, classFileCache)
 		val compiler = new Compiler(nameEnv, DefaultErrorHandlingPolicies.proceedWithAllProblems(), resource.compilerOptions, [
@@ -131,30 +147,73 @@ class JavaDerivedStateComputer {
 				val key = QualifiedName.create(CharOperation.toStrings(cls.compoundName))
 				classFileCache.computeIfAbsent(key, [name|new ClassFileReader(cls.bytes, cls.fileName)])
 			}
-			if (Arrays.equals(it.fileName, compilationUnit.fileName)) {
-				val map = newHashMap
-				var List<String> topLevelTypes = newArrayList
-				for (cf : it.getClassFiles()) {
-					val className = CharOperation.toString(cf.compoundName)
-					map.put(className, cf.bytes)
-					if (!cf.isNestedType) {
-						topLevelTypes += className
-					}
-				}
-				val inMemClassLoader = new InMemoryClassLoader(map, classLoader)
-				for (topLevel : topLevelTypes) {
-					try {
-                        val builder = new JvmDeclaredTypeBuilder(new BinaryClass(topLevel, inMemClassLoader),
-                            new ClassFileBytesAccess(), inMemClassLoader)
-                        val type = builder.buildType
-                        resource.contents += type
-                    } catch (Throwable t) {
-                        throw new IllegalStateException("could not load type '" + topLevel + "'", t)
-                    }
-				}
+			if (it.compilationUnit === compilationUnit) {
+				resource.contents += createTypes(it, classLoader)
+			} else if (pendingCompilationUnitSet.contains(it.compilationUnit)) {
+				classFileCache.putCompiledTypes(it.compilationUnit, createTypes(it, classLoader))
 			}
 		], new DefaultProblemFactory())
-		compiler.compile(#[compilationUnit])
+		val compilationUnits = <ICompilationUnit>newArrayList(compilationUnit)
+		compilationUnits += pendingCompilationUnits
+		compiler.compile(compilationUnits)
+	}
+	
+	/**
+	 * Creates the types for the class files of the given compilation result.
+	 * @since 2.17
+	 */
+	protected def List<JvmDeclaredType> createTypes(CompilationResult compilationResult, ClassLoader classLoader) {
+		val map = newHashMap
+		var List<String> topLevelTypes = newArrayList
+		for (cf : compilationResult.getClassFiles()) {
+			val className = CharOperation.toString(cf.compoundName)
+			map.put(className, cf.bytes)
+			if (!cf.isNestedType) {
+				topLevelTypes += className
+			}
+		}
+		val inMemClassLoader = new InMemoryClassLoader(map, classLoader)
+		val List<JvmDeclaredType> result = newArrayList
+		for (topLevel : topLevelTypes) {
+			try {
+				val builder = new JvmDeclaredTypeBuilder(new BinaryClass(topLevel, inMemClassLoader),
+					new ClassFileBytesAccess(), inMemClassLoader)
+				result += builder.buildType
+			} catch (Throwable t) {
+				throw new IllegalStateException("could not load type '" + topLevel + "'", t)
+			}
+		}
+		return result
+	}
+	
+	/**
+	 * Whether all pending java resources of the resource set shall be compiled together with the one
+	 * that is installed first.
+	 * @since 2.17
+	 */
+	protected def boolean isBatchCompilation(ResourceSet resourceSet) {
+		val javaConfig = JavaConfig.findInEmfObject(resourceSet)
+		return javaConfig !== null && javaConfig.batchCompilation
+	}
+	
+	/**
+	 * Returns the compilation units of the other java resources in the resource set that are loaded
+	 * but not yet installed.
+	 * @since 2.17
+	 */
+	protected def List<ICompilationUnit> getPendingCompilationUnits(Resource resource, ClassFileCache classFileCache) {
+		val List<ICompilationUnit> result = newArrayList
+		for (other : resource.resourceSet.resources) {
+			if (other !== resource && other instanceof JavaResource && other.isLoaded && !other.isInfoFile) {
+				val javaResource = other as JavaResource
+				val otherCompilationUnit = javaResource.getCompilationUnit
+				if (!javaResource.isInitialized && !javaResource.isInitializing && otherCompilationUnit !== null
+					&& !classFileCache.containsCompiledTypes(otherCompilationUnit)) {
+					result += otherCompilationUnit
+				}
+			}
+		}
+		return result
 	}
 	
 	protected def isInfoFile(Resource resource) {
@@ -7,6 +7,7 @@ import java.io.IOException
 import java.io.InputStream
 import java.io.InputStreamReader
 import java.util.Map
+import org.eclipse.emf.common.notify.NotificationChain
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.InternalEObject
@@ -97,6 +98,27 @@ class JavaResource extends ResourceImpl implements IJavaSchemeUriResolver, ISync
         super.getContents();
     }
 	
+	override protected doUnload() {
+		forgetCompiledTypes(getResourceSet)
+		super.doUnload
+	}
+	
+	override basicSetResourceSet(ResourceSet newResourceSet, NotificationChain notifications) {
+		if (getResourceSet !== newResourceSet) {
+			forgetCompiledTypes(getResourceSet)
+		}
+		super.basicSetResourceSet(newResourceSet, notifications)
+	}
+	
+	/**
+	 * Drops the types that were compiled for this resource along with another one.
+	 */
+	private def void forgetCompiledTypes(ResourceSet resourceSet) {
+		if (compilationUnit !== null && resourceSet !== null) {
+			ClassFileCache.findInEmfObject(resourceSet)?.removeCompiledTypes(compilationUnit)
+		}
+	}
+	
 	def installStubs() {
 		initializing[
 			derivedStateComputer.installStubs(this)
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.java.resource
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.io.ByteStreams
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+import java.net.URISyntaxException
+import java.net.URL
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader
+import org.eclipse.jdt.internal.compiler.env.IBinaryType
+import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
+
+/**
+ * A process wide cache of the class files that are read from the jars and folders of a class path. Unlike the
+ * {@link ClassFileCache}, it is not bound to a resource set, so subsequent resource sets do not read and parse
+ * the same library class files again.
+ * 
+ * The entries are keyed by the URL of the class file and the time stamp and length of the file or jar that contains
+ * it, a changed class file is read again.
+ * The size of the cache is bounded by the accumulated length of the class files.
+ * 
+ * @since 2.17
+ */
+class LibraryClassFileCache {
+
+	/**
+	 * The default bound of the accumulated length of the cached class files.
+	 */
+	public static val DEFAULT_MAXIMUM_SIZE = 64 * 1024 * 1024
+
+	static val INSTANCE = new LibraryClassFileCache(DEFAULT_MAXIMUM_SIZE)
+
+	def static LibraryClassFileCache getInstance() {
+		return INSTANCE
+	}
+
+	val Cache<String, Entry> entries
+
+	new(long maximumSize) {
+		entries = CacheBuilder.newBuilder.maximumWeight(maximumSize).weigher[String key, Entry value|value.length].build
+	}
+
+	/**
+	 * Returns the class file at the given URL. It is read if it is not cached yet or if it was changed since it
+	 * was cached. Class files that are not read from a jar or a folder are never cached.
+	 */
+	def IBinaryType read(URL url, String fileName) throws IOException {
+		val key = getKey(url)
+		if (key === null) {
+			return doRead(url, fileName)
+		}
+		val cached = entries.getIfPresent(key)
+		if (cached !== null) {
+			return cached.type
+		}
+		val bytes = readBytes(url)
+		// fully initialized readers are not modified afterwards and can be shared by concurrent compilations
+		val result = new Entry(new ClassFileReader(bytes, fileName.toCharArray, true), bytes.length)
+		entries.put(key, result)
+		return result.type
+	}
+
+	/**
+	 * Returns the key of the class file at the given URL or <code>null</code> if it should not be cached.
+	 */
+	protected def String getKey(URL url) {
+		val protocol = url.protocol
+		if (protocol == 'file') {
+			return getKey(url, toFile(url))
+		}
+		if (protocol == 'jar') {
+			// the entries of a jar are keyed by the stat of the jar, a connection per lookup would be far more expensive
+			val path = url.path
+			val separator = path.indexOf('!/')
+			if (separator < 0) {
+				return null
+			}
+			return getKey(url, toFile(new URL(path.substring(0, separator))))
+		}
+		if (protocol == 'jrt') {
+			// the runtime image does not change while the process is running
+			return url.toExternalForm
+		}
+		return null
+	}
+
+	private def String getKey(URL url, File file) {
+		if (file === null || !file.isFile) {
+			return null
+		}
+		return url.toExternalForm + '#' + file.lastModified + '#' + file.length
+	}
+
+	/**
+	 * Returns the local file of the given URL or <code>null</code> if it does not denote one.
+	 */
+	protected def File toFile(URL url) {
+		if (url.protocol != 'file') {
+			return null
+		}
+		try {
+			return new File(url.toURI)
+		} catch (URISyntaxException e) {
+			// e.g. an URL with unescaped characters, it is read without caching
+			return null
+		} catch (IllegalArgumentException e) {
+			// e.g. an URL with an authority component
+			return null
+		}
+	}
+
+	protected def IBinaryType doRead(URL url, String fileName) throws IOException {
+		return new ClassFileReader(readBytes(url), fileName.toCharArray)
+	}
+
+	protected def byte[] readBytes(URL url) throws IOException {
+		var InputStream stream = null
+		try {
+			stream = url.openStream
+			return ByteStreams.toByteArray(stream)
+		} finally {
+			stream?.close
+		}
+	}
+
+	def void clear() {
+		entries.invalidateAll
+	}
+
+	@FinalFieldsConstructor
+	protected static class Entry {
+		public val IBinaryType type
+		public val int length
+	}
+
+}
@@ -15,6 +15,8 @@ import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.util.internal.EmfAdaptable;
 
@@ -49,6 +51,8 @@ public class ClassFileCache {
   
   private final Map<QualifiedName, Object> cache = new ConcurrentHashMap<QualifiedName, Object>();
   
+  private final Map<ICompilationUnit, List<JvmDeclaredType>> compiledTypes = new ConcurrentHashMap<ICompilationUnit, List<JvmDeclaredType>>();
+  
   public boolean containsKey(final QualifiedName qualifiedName) {
     return this.cache.containsKey(qualifiedName);
   }
@@ -87,8 +91,33 @@ public class ClassFileCache {
     return null;
   }
   
+  /**
+   * Whether types were compiled for the given compilation unit that are not yet installed.
+   * @since 2.17
+   */
+  public boolean containsCompiledTypes(final ICompilationUnit compilationUnit) {
+    return this.compiledTypes.containsKey(compilationUnit);
+  }
+  
+  /**
+   * Remembers the types of a compilation unit that was compiled along with another one.
+   * @since 2.17
+   */
+  public void putCompiledTypes(final ICompilationUnit compilationUnit, final List<JvmDeclaredType> types) {
+    this.compiledTypes.put(compilationUnit, types);
+  }
+  
+  /**
+   * Returns and forgets the types that were compiled for the given compilation unit, if any.
+   * @since 2.17
+   */
+  public List<JvmDeclaredType> removeCompiledTypes(final ICompilationUnit compilationUnit) {
+    return this.compiledTypes.remove(compilationUnit);
+  }
+  
   public void clear() {
     this.cache.clear();
+    this.compiledTypes.clear();
   }
   
   public static ClassFileCache findInEmfObject(final Notifier emfObject) {
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.java.resource;
+
+import com.google.common.collect.Iterables;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.eclipse.xtext.common.types.access.binary.ClassPathIndex;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+
+/**
+ * Knows the packages of the class path of a class loader.
+ *
+ * The packages of the JDK are read once per process, from the runtime image of a modular JDK or from the jars of the
+ * boot and extension class path otherwise. The packages of the class path are taken from the {@link ClassPathIndex}
+ * of the class loader. A package is only reported to be missing if the whole class path is known. Otherwise the
+ * class loader is asked for the package directory.
+ *
+ * @since 2.17
+ */
+@SuppressWarnings("all")
+public class ClasspathPackageIndex {
+  private static final Set<QualifiedName> SYSTEM_PACKAGES = ClasspathPackageIndex.readSystemPackages();
+  
+  private final ClassLoader classLoader;
+  
+  private final ClassPathIndex classPathIndex;
+  
+  public ClasspathPackageIndex(final ClassLoader classLoader) {
+    this.classLoader = classLoader;
+    this.classPathIndex = ClassPathIndex.get(classLoader);
+  }
+  
+  /**
+   * Whether the packages of the whole class path are known, i.e. {@link #isPackage(QualifiedName)} returns
+   * <code>false</code> only for packages that do not exist.
+   */
+  public boolean isComplete() {
+    return ((this.classPathIndex != null) && (ClasspathPackageIndex.SYSTEM_PACKAGES != null));
+  }
+  
+  public boolean isPackage(final QualifiedName packageName) {
+    if (((ClasspathPackageIndex.SYSTEM_PACKAGES != null) && ClasspathPackageIndex.SYSTEM_PACKAGES.contains(packageName))) {
+      return true;
+    }
+    if (((this.classPathIndex != null) && this.classPathIndex.containsPackage(packageName.toString()))) {
+      return true;
+    }
+    boolean _isComplete = this.isComplete();
+    if (_isComplete) {
+      return false;
+    }
+    String _string = packageName.toString("/");
+    String _plus = (_string + "/");
+    URL _resource = this.classLoader.getResource(_plus);
+    boolean _tripleNotEquals = (_resource != null);
+    if (_tripleNotEquals) {
+      return true;
+    }
+    return Character.isLowerCase(packageName.getLastSegment().charAt(0));
+  }
+  
+  /**
+   * Adds the given package and all its parent packages.
+   */
+  public static void addPackages(final Set<QualifiedName> packages, final QualifiedName packageName) {
+    QualifiedName name = packageName;
+    while (((name.getSegmentCount() > 0) && packages.add(name))) {
+      name = name.skipLast(1);
+    }
+  }
+  
+  protected static Set<QualifiedName> readPackages(final File archive) throws IOException {
+    final HashSet<QualifiedName> result = CollectionLiterals.<QualifiedName>newHashSet();
+    final ZipFile zipFile = new ZipFile(archive);
+    try {
+      final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        {
+          final String name = entries.nextElement().getName();
+          final int index = name.lastIndexOf("/");
+          if ((index > 0)) {
+            ClasspathPackageIndex.addPackages(result, QualifiedName.create(name.substring(0, index).split("/")));
+          }
+        }
+      }
+    } finally {
+      zipFile.close();
+    }
+    return result;
+  }
+  
+  /**
+   * Returns the packages of the JDK or <code>null</code> if they are not known.
+   */
+  private static Set<QualifiedName> readSystemPackages() {
+    final HashSet<QualifiedName> result = CollectionLiterals.<QualifiedName>newHashSet();
+    try {
+      final DirectoryStream<Path> stream = Files.newDirectoryStream(FileSystems.getFileSystem(URI.create("jrt:/")).getPath("/packages"));
+      try {
+        for (final Path path : stream) {
+          ClasspathPackageIndex.addPackages(result, QualifiedName.create(path.getFileName().toString().split("\\.")));
+        }
+      } finally {
+        stream.close();
+      }
+      return result;
+    } catch (final Throwable _t) {
+      if (_t instanceof Exception) {
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+    final String bootClassPath = System.getProperty("sun.boot.class.path");
+    if ((bootClassPath == null)) {
+      return null;
+    }
+    final ArrayList<File> archives = CollectionLiterals.<File>newArrayList();
+    String[] _split = bootClassPath.split(File.pathSeparator);
+    for (final String entry : _split) {
+      boolean _isEmpty = entry.isEmpty();
+      boolean _not = (!_isEmpty);
+      if (_not) {
+        File _file = new File(entry);
+        archives.add(_file);
+      }
+    }
+    String[] _split_1 = System.getProperty("java.ext.dirs", "").split(File.pathSeparator);
+    for (final String directory : _split_1) {
+      {
+        final File[] files = new File(directory).listFiles();
+        if (((!directory.isEmpty()) && (files != null))) {
+          for (final File file : files) {
+            archives.add(file);
+          }
+        }
+      }
+    }
+    try {
+      for (final File archive : archives) {
+        {
+          boolean _isDirectory = archive.isDirectory();
+          if (_isDirectory) {
+            return null;
+          }
+          boolean _isFile = archive.isFile();
+          if (_isFile) {
+            Set<QualifiedName> _readPackages = ClasspathPackageIndex.readPackages(archive);
+            Iterables.<QualifiedName>addAll(result, _readPackages);
+          }
+        }
+      }
+    } catch (final Throwable _t) {
+      if (_t instanceof IOException) {
+        return null;
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+    return result;
+  }
+}
@@ -1,21 +1,26 @@
 package org.eclipse.xtext.java.resource;
 
-import java.io.InputStream;
 import java.net.URL;
+import com.google.common.collect.Iterables;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
-import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.common.types.TypesPackage;
+import org.eclipse.xtext.common.types.access.impl.VersionedResourceDescriptionsData;
 import org.eclipse.xtext.common.types.descriptions.EObjectDescriptionBasedStubGenerator;
 import org.eclipse.xtext.java.resource.ClassFileCache;
+import org.eclipse.xtext.java.resource.ClasspathPackageIndex;
+import org.eclipse.xtext.java.resource.IndexedPackageCache;
 import org.eclipse.xtext.java.resource.JavaResource;
+import org.eclipse.xtext.java.resource.LibraryClassFileCache;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
@@ -42,10 +47,18 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
   
   private Map<QualifiedName, NameEnvironmentAnswer> nameToAnswerCache = CollectionLiterals.<QualifiedName, NameEnvironmentAnswer>newHashMap();
   
+  private Map<QualifiedName, Boolean> packageCache = CollectionLiterals.<QualifiedName, Boolean>newHashMap();
+  
+  private Set<QualifiedName> indexedPackages;
+  
+  private ClasspathPackageIndex classpathPackageIndex;
+  
   @Override
   public void cleanup() {
     this.nameToAnswerCache.clear();
     this.classFileCache.clear();
+    this.packageCache.clear();
+    this.indexedPackages = null;
   }
   
   @Override
@@ -90,6 +103,11 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
         NameEnvironmentAnswer _nameEnvironmentAnswer = new NameEnvironmentAnswer(_compilationUnit, null);
         result = _nameEnvironmentAnswer;
       } else {
+        if ((((className.getSegmentCount() > 1) && this.getClasspathPackageIndex().isComplete()) && 
+          (!this.getClasspathPackageIndex().isPackage(className.skipLast(1))))) {
+          this.nameToAnswerCache.put(className, null);
+          return null;
+        }
         String _string_1 = className.toString("/");
         final String fileName = (_string_1 + ".class");
         final URL url = this.classLoader.getResource(fileName);
@@ -98,21 +116,7 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
           this.classFileCache.put(className, null);
           return null;
         }
-        InputStream stream = null;
-        ClassFileReader _xtrycatchfinallyexpression = null;
-        try {
-          ClassFileReader _xblockexpression = null;
-          {
-            stream = url.openStream();
-            _xblockexpression = ClassFileReader.read(stream, fileName);
-          }
-          _xtrycatchfinallyexpression = _xblockexpression;
-        } finally {
-          if (stream!=null) {
-            stream.close();
-          }
-        }
-        final IBinaryType reader = _xtrycatchfinallyexpression;
+        final IBinaryType reader = LibraryClassFileCache.getInstance().read(url, fileName);
         if ((reader == null)) {
           return null;
         }
@@ -145,7 +149,74 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
     if (((packageName == null) || (packageName.length == 0))) {
       return false;
     }
-    return Character.isLowerCase((IterableExtensions.<Character>head(((Iterable<Character>)Conversions.doWrapArray(packageName)))).charValue());
+    final ArrayList<String> list = new ArrayList<String>();
+    if ((parentPackageName != null)) {
+      final Function1<char[], String> _function = (char[] it) -> {
+        return String.valueOf(it);
+      };
+      List<String> _map = ListExtensions.<char[], String>map(((List<char[]>)Conversions.doWrapArray(parentPackageName)), _function);
+      Iterables.<String>addAll(list, _map);
+    }
+    String _valueOf = String.valueOf(packageName);
+    list.add(_valueOf);
+    return this.isPackage(QualifiedName.create(list));
+  }
+  
+  /**
+   * Whether the given package contains a type of the index or of the class path.
+   * If the class path is not completely known, a package that is not found is guessed by the case of its name.
+   * The same holds for the packages of an index that is not a {@link VersionedResourceDescriptionsData}.
+   * @since 2.17
+   */
+  public boolean isPackage(final QualifiedName packageName) {
+    Boolean result = this.packageCache.get(packageName);
+    if ((result == null)) {
+      result = Boolean.valueOf((this.isIndexedPackage(packageName) || this.getClasspathPackageIndex().isPackage(packageName)));
+      this.packageCache.put(packageName, result);
+    }
+    return (result).booleanValue();
+  }
+  
+  /**
+   * Whether the given package contains a type of the index. The packages of a {@link VersionedResourceDescriptionsData}
+   * are shared by the name environments of a resource set as long as it is not modified. Other indexes may change
+   * without notice and can only be queried by exact names, so a package is guessed by the case of its name unless
+   * the index contains a type with that name.
+   * @since 2.17
+   */
+  protected boolean isIndexedPackage(final QualifiedName packageName) {
+    final IResourceDescriptions descriptions = this.resourceDescriptions;
+    if ((descriptions instanceof VersionedResourceDescriptionsData)) {
+      if ((this.indexedPackages == null)) {
+        this.indexedPackages = this.findOrCreateIndexedPackageCache(this.resource.getResourceSet()).getPackages(((VersionedResourceDescriptionsData)descriptions));
+      }
+      return this.indexedPackages.contains(packageName);
+    }
+    return (Character.isLowerCase(packageName.getLastSegment().charAt(0)) && 
+      IterableExtensions.isEmpty(descriptions.getExportedObjects(TypesPackage.Literals.JVM_DECLARED_TYPE, packageName, false)));
+  }
+  
+  private IndexedPackageCache findOrCreateIndexedPackageCache(final ResourceSet resourceSet) {
+    synchronized (resourceSet.eAdapters()) {
+      IndexedPackageCache cache = IndexedPackageCache.findInEmfObject(resourceSet);
+      if ((cache == null)) {
+        IndexedPackageCache _indexedPackageCache = new IndexedPackageCache();
+        cache = _indexedPackageCache;
+        cache.attachToEmfObject(resourceSet);
+      }
+      return cache;
+    }
+  }
+  
+  /**
+   * @since 2.17
+   */
+  protected ClasspathPackageIndex getClasspathPackageIndex() {
+    if ((this.classpathPackageIndex == null)) {
+      ClasspathPackageIndex _classpathPackageIndex = new ClasspathPackageIndex(this.classLoader);
+      this.classpathPackageIndex = _classpathPackageIndex;
+    }
+    return this.classpathPackageIndex;
   }
   
   public IndexAwareNameEnvironment(final Resource resource, final ClassLoader classLoader, final IResourceDescriptions resourceDescriptions, final EObjectDescriptionBasedStubGenerator stubGenerator, final ClassFileCache classFileCache) {
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.java.resource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.xtext.common.types.TypesPackage;
+import org.eclipse.xtext.common.types.access.impl.VersionedResourceDescriptionsData;
+import org.eclipse.xtext.java.resource.ClasspathPackageIndex;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.util.internal.EmfAdaptable;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+
+/**
+ * The packages of the types in the index of a resource set. They are computed once per version of a
+ * {@link VersionedResourceDescriptionsData} and computed again as soon as the index is modified.
+ *
+ * @since 2.17
+ */
+@EmfAdaptable
+@SuppressWarnings("all")
+public class IndexedPackageCache {
+  public static class IndexedPackageCacheAdapter extends AdapterImpl {
+    private IndexedPackageCache element;
+    
+    public IndexedPackageCacheAdapter(final IndexedPackageCache element) {
+      this.element = element;
+    }
+    
+    public IndexedPackageCache get() {
+      return this.element;
+    }
+    
+    @Override
+    public boolean isAdapterForType(final Object object) {
+      return object == IndexedPackageCache.class;
+    }
+  }
+  
+  private VersionedResourceDescriptionsData index;
+  
+  private long version;
+  
+  private Set<QualifiedName> packages;
+  
+  public synchronized Set<QualifiedName> getPackages(final VersionedResourceDescriptionsData index) {
+    final long currentVersion = index.getVersion();
+    if ((((this.packages == null) || (this.index != index)) || (this.version != currentVersion))) {
+      final Set<QualifiedName> result = IndexedPackageCache.computePackages(index);
+      long _version = index.getVersion();
+      boolean _equals = (_version == currentVersion);
+      if (_equals) {
+        this.index = index;
+        this.version = currentVersion;
+        this.packages = result;
+      }
+      return result;
+    }
+    return this.packages;
+  }
+  
+  /**
+   * Computes the packages of the types in the given index. The names of nested types may contain the name of
+   * their outer type as a segment, so the names of the types themselves are not considered packages.
+   */
+  public static Set<QualifiedName> computePackages(final IResourceDescriptions descriptions) {
+    final HashSet<QualifiedName> types = CollectionLiterals.<QualifiedName>newHashSet();
+    Iterable<IEObjectDescription> _exportedObjectsByType = descriptions.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE);
+    for (final IEObjectDescription description : _exportedObjectsByType) {
+      QualifiedName _name = description.getName();
+      types.add(_name);
+    }
+    final HashSet<QualifiedName> packages = CollectionLiterals.<QualifiedName>newHashSet();
+    for (final QualifiedName type : types) {
+      ClasspathPackageIndex.addPackages(packages, type.skipLast(1));
+    }
+    packages.removeAll(types);
+    return packages;
+  }
+  
+  public static IndexedPackageCache findInEmfObject(final Notifier emfObject) {
+    for (Adapter adapter : emfObject.eAdapters()) {
+    	if (adapter instanceof IndexedPackageCache.IndexedPackageCacheAdapter) {
+    		return ((IndexedPackageCache.IndexedPackageCacheAdapter) adapter).get();
+    	}
+    }
+    return null;
+  }
+  
+  public static IndexedPackageCache removeFromEmfObject(final Notifier emfObject) {
+    List<Adapter> adapters = emfObject.eAdapters();
+    for(int i = 0, max = adapters.size(); i < max; i++) {
+    	Adapter adapter = adapters.get(i);
+    	if (adapter instanceof IndexedPackageCache.IndexedPackageCacheAdapter) {
+    		emfObject.eAdapters().remove(i);
+    		return ((IndexedPackageCache.IndexedPackageCacheAdapter) adapter).get();
+    	}
+    }
+    return null;
+  }
+  
+  public void attachToEmfObject(final Notifier emfObject) {
+    IndexedPackageCache result = findInEmfObject(emfObject);
+    if (result != null)
+    	throw new IllegalStateException("The given EMF object already contains an adapter for IndexedPackageCache");
+    IndexedPackageCache.IndexedPackageCacheAdapter adapter = new IndexedPackageCache.IndexedPackageCacheAdapter(this);
+    emfObject.eAdapters().add(adapter);
+  }
+}
@@ -35,6 +35,15 @@ public class JavaConfig {
   @Accessors
   private JavaVersion javaTargetLevel;
   
+  /**
+   * Whether all loaded java resources of the resource set that are not yet installed shall be compiled
+   * in a single pass. Defaults to <code>false</code>.
+   * 
+   * @since 2.17
+   */
+  @Accessors
+  private boolean batchCompilation;
+  
   public static JavaConfig findInEmfObject(final Notifier emfObject) {
     for (Adapter adapter : emfObject.eAdapters()) {
     	if (adapter instanceof JavaConfig.JavaConfigAdapter) {
@@ -81,4 +90,13 @@ public class JavaConfig {
   public void setJavaTargetLevel(final JavaVersion javaTargetLevel) {
     this.javaTargetLevel = javaTargetLevel;
   }
+  
+  @Pure
+  public boolean isBatchCompilation() {
+    return this.batchCompilation;
+  }
+  
+  public void setBatchCompilation(final boolean batchCompilation) {
+    this.batchCompilation = batchCompilation;
+  }
 }
@@ -1,10 +1,13 @@
 package org.eclipse.xtext.java.resource;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
@@ -197,10 +200,26 @@ public class JavaDerivedStateComputer {
     final ClassFileCache classFileCache = this.findOrCreateClassFileCache(resource.getResourceSet());
     final CompilationUnit compilationUnit = this.getCompilationUnit(resource);
     final ClassLoader classLoader = this.getClassLoader(resource);
+    final List<JvmDeclaredType> compiledTypes = classFileCache.removeCompiledTypes(compilationUnit);
+    if ((compiledTypes != null)) {
+      EList<EObject> _contents = resource.getContents();
+      Iterables.<EObject>addAll(_contents, compiledTypes);
+      return;
+    }
     final IResourceDescriptions data = this.resourceDescriptionsProvider.getResourceDescriptions(resource.getResourceSet());
     if ((data == null)) {
       throw new IllegalStateException("no index installed");
     }
+    List<ICompilationUnit> _xifexpression = null;
+    boolean _isBatchCompilation = this.isBatchCompilation(resource.getResourceSet());
+    if (_isBatchCompilation) {
+      _xifexpression = this.getPendingCompilationUnits(resource, classFileCache);
+    } else {
+      _xifexpression = CollectionLiterals.<ICompilationUnit>emptyList();
+    }
+    final List<ICompilationUnit> pendingCompilationUnits = _xifexpression;
+    final Set<ICompilationUnit> pendingCompilationUnitSet = Sets.<ICompilationUnit>newIdentityHashSet();
+    Iterables.<ICompilationUnit>addAll(pendingCompilationUnitSet, pendingCompilationUnits);
     final IndexAwareNameEnvironment nameEnv = new IndexAwareNameEnvironment(resource, classLoader, data, this.stubGenerator, classFileCache);
     IErrorHandlingPolicy _proceedWithAllProblems = DefaultErrorHandlingPolicies.proceedWithAllProblems();
     CompilerOptions _compilerOptions = this.getCompilerOptions(resource);
@@ -221,43 +240,90 @@ public class JavaDerivedStateComputer {
           classFileCache.computeIfAbsent(key, _function_1);
         }
       }
-      boolean _equals = Arrays.equals(it.fileName, compilationUnit.fileName);
-      if (_equals) {
-        final HashMap<String, byte[]> map = CollectionLiterals.<String, byte[]>newHashMap();
-        List<String> topLevelTypes = CollectionLiterals.<String>newArrayList();
-        ClassFile[] _classFiles_1 = it.getClassFiles();
-        for (final ClassFile cf : _classFiles_1) {
-          {
-            final String className = CharOperation.toString(cf.getCompoundName());
-            map.put(className, cf.getBytes());
-            if ((!cf.isNestedType)) {
-              topLevelTypes.add(className);
-            }
-          }
-        }
-        final InMemoryClassLoader inMemClassLoader = new InMemoryClassLoader(map, classLoader);
-        for (final String topLevel : topLevelTypes) {
-          try {
-            BinaryClass _binaryClass = new BinaryClass(topLevel, inMemClassLoader);
-            ClassFileBytesAccess _classFileBytesAccess = new ClassFileBytesAccess();
-            final JvmDeclaredTypeBuilder builder = new JvmDeclaredTypeBuilder(_binaryClass, _classFileBytesAccess, inMemClassLoader);
-            final JvmDeclaredType type = builder.buildType();
-            EList<EObject> _contents = resource.getContents();
-            _contents.add(type);
-          } catch (final Throwable _t) {
-            if (_t instanceof Throwable) {
-              final Throwable t = (Throwable)_t;
-              throw new IllegalStateException((("could not load type \'" + topLevel) + "\'"), t);
-            } else {
-              throw Exceptions.sneakyThrow(_t);
-            }
-          }
+      if ((it.compilationUnit == compilationUnit)) {
+        EList<EObject> _contents_1 = resource.getContents();
+        List<JvmDeclaredType> _createTypes = this.createTypes(it, classLoader);
+        Iterables.<EObject>addAll(_contents_1, _createTypes);
+      } else {
+        boolean _contains = pendingCompilationUnitSet.contains(it.compilationUnit);
+        if (_contains) {
+          classFileCache.putCompiledTypes(it.compilationUnit, this.createTypes(it, classLoader));
         }
       }
     };
     DefaultProblemFactory _defaultProblemFactory = new DefaultProblemFactory();
     final org.eclipse.jdt.internal.compiler.Compiler compiler = new org.eclipse.jdt.internal.compiler.Compiler(nameEnv, _proceedWithAllProblems, _compilerOptions, _function, _defaultProblemFactory);
-    compiler.compile(new ICompilationUnit[] { compilationUnit });
+    final ArrayList<ICompilationUnit> compilationUnits = CollectionLiterals.<ICompilationUnit>newArrayList(compilationUnit);
+    Iterables.<ICompilationUnit>addAll(compilationUnits, pendingCompilationUnits);
+    compiler.compile(((ICompilationUnit[])Conversions.unwrapArray(compilationUnits, ICompilationUnit.class)));
+  }
+  
+  /**
+   * Creates the types for the class files of the given compilation result.
+   * @since 2.17
+   */
+  protected List<JvmDeclaredType> createTypes(final CompilationResult compilationResult, final ClassLoader classLoader) {
+    final HashMap<String, byte[]> map = CollectionLiterals.<String, byte[]>newHashMap();
+    List<String> topLevelTypes = CollectionLiterals.<String>newArrayList();
+    ClassFile[] _classFiles = compilationResult.getClassFiles();
+    for (final ClassFile cf : _classFiles) {
+      {
+        final String className = CharOperation.toString(cf.getCompoundName());
+        map.put(className, cf.getBytes());
+        if ((!cf.isNestedType)) {
+          topLevelTypes.add(className);
+        }
+      }
+    }
+    final InMemoryClassLoader inMemClassLoader = new InMemoryClassLoader(map, classLoader);
+    final List<JvmDeclaredType> result = CollectionLiterals.<JvmDeclaredType>newArrayList();
+    for (final String topLevel : topLevelTypes) {
+      try {
+        BinaryClass _binaryClass = new BinaryClass(topLevel, inMemClassLoader);
+        ClassFileBytesAccess _classFileBytesAccess = new ClassFileBytesAccess();
+        final JvmDeclaredTypeBuilder builder = new JvmDeclaredTypeBuilder(_binaryClass, _classFileBytesAccess, inMemClassLoader);
+        JvmDeclaredType _buildType = builder.buildType();
+        result.add(_buildType);
+      } catch (final Throwable _t) {
+        if (_t instanceof Throwable) {
+          final Throwable t = (Throwable)_t;
+          throw new IllegalStateException((("could not load type \'" + topLevel) + "\'"), t);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+    }
+    return result;
+  }
+  
+  /**
+   * Whether all pending java resources of the resource set shall be compiled together with the one
+   * that is installed first.
+   * @since 2.17
+   */
+  protected boolean isBatchCompilation(final ResourceSet resourceSet) {
+    final JavaConfig javaConfig = JavaConfig.findInEmfObject(resourceSet);
+    return ((javaConfig != null) && javaConfig.isBatchCompilation());
+  }
+  
+  /**
+   * Returns the compilation units of the other java resources in the resource set that are loaded
+   * but not yet installed.
+   * @since 2.17
+   */
+  protected List<ICompilationUnit> getPendingCompilationUnits(final Resource resource, final ClassFileCache classFileCache) {
+    final List<ICompilationUnit> result = CollectionLiterals.<ICompilationUnit>newArrayList();
+    EList<Resource> _resources = resource.getResourceSet().getResources();
+    for (final Resource other : _resources) {
+      if (((((other != resource) && (other instanceof JavaResource)) && other.isLoaded()) && (!this.isInfoFile(other)))) {
+        final JavaResource javaResource = ((JavaResource) other);
+        final CompilationUnit otherCompilationUnit = javaResource.getCompilationUnit();
+        if (((((!javaResource.isInitialized()) && (!javaResource.isInitializing())) && (otherCompilationUnit != null)) && (!classFileCache.containsCompiledTypes(otherCompilationUnit)))) {
+          result.add(otherCompilationUnit);
+        }
+      }
+    }
+    return result;
   }
   
   protected boolean isInfoFile(final Resource resource) {
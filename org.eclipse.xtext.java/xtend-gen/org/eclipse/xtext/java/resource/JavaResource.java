@@ -9,6 +9,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.List;
 import java.util.Map;
+import org.eclipse.emf.common.notify.NotificationChain;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
@@ -28,6 +29,7 @@ import org.eclipse.xtext.common.types.access.impl.AbstractClassMirror;
 import org.eclipse.xtext.common.types.access.impl.AbstractJvmTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
 import org.eclipse.xtext.common.types.access.impl.URIHelperConstants;
+import org.eclipse.xtext.java.resource.ClassFileCache;
 import org.eclipse.xtext.java.resource.JavaDerivedStateComputer;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.resource.IFragmentProvider;
@@ -182,6 +184,34 @@ public class JavaResource extends ResourceImpl implements IJavaSchemeUriResolver
     return super.getContents();
   }
   
+  @Override
+  protected void doUnload() {
+    this.forgetCompiledTypes(this.getResourceSet());
+    super.doUnload();
+  }
+  
+  @Override
+  public NotificationChain basicSetResourceSet(final ResourceSet newResourceSet, final NotificationChain notifications) {
+    ResourceSet _resourceSet = this.getResourceSet();
+    boolean _tripleNotEquals = (_resourceSet != newResourceSet);
+    if (_tripleNotEquals) {
+      this.forgetCompiledTypes(this.getResourceSet());
+    }
+    return super.basicSetResourceSet(newResourceSet, notifications);
+  }
+  
+  /**
+   * Drops the types that were compiled for this resource along with another one.
+   */
+  private void forgetCompiledTypes(final ResourceSet resourceSet) {
+    if (((this.compilationUnit != null) && (resourceSet != null))) {
+      ClassFileCache _findInEmfObject = ClassFileCache.findInEmfObject(resourceSet);
+      if (_findInEmfObject!=null) {
+        _findInEmfObject.removeCompiledTypes(this.compilationUnit);
+      }
+    }
+  }
+  
   public void installStubs() {
     final Procedure0 _function = () -> {
       this.derivedStateComputer.installStubs(this);
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.java.resource;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+
+/**
+ * A process wide cache of the class files that are read from the jars and folders of a class path. Unlike the
+ * {@link ClassFileCache}, it is not bound to a resource set, so subsequent resource sets do not read and parse
+ * the same library class files again.
+ *
+ * The entries are keyed by the URL of the class file and the time stamp and length of the file or jar that contains
+ * it, a changed class file is read again.
+ * The size of the cache is bounded by the accumulated length of the class files.
+ *
+ * @since 2.17
+ */
+@SuppressWarnings("all")
+public class LibraryClassFileCache {
+  @FinalFieldsConstructor
+  protected static class Entry {
+    public final IBinaryType type;
+  
+    public final int length;
+  
+    public Entry(final IBinaryType type, final int length) {
+      super();
+      this.type = type;
+      this.length = length;
+    }
+  }
+  
+  /**
+   * The default bound of the accumulated length of the cached class files.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = ((64 * 1024) * 1024);
+  
+  private static final LibraryClassFileCache INSTANCE = new LibraryClassFileCache(LibraryClassFileCache.DEFAULT_MAXIMUM_SIZE);
+  
+  public static LibraryClassFileCache getInstance() {
+    return LibraryClassFileCache.INSTANCE;
+  }
+  
+  private final Cache<String, LibraryClassFileCache.Entry> entries;
+  
+  public LibraryClassFileCache(final long maximumSize) {
+    final Weigher<String, LibraryClassFileCache.Entry> _function = (String key, LibraryClassFileCache.Entry value) -> {
+      return value.length;
+    };
+    this.entries = CacheBuilder.newBuilder().maximumWeight(maximumSize).<String, LibraryClassFileCache.Entry>weigher(_function).<String, LibraryClassFileCache.Entry>build();
+  }
+  
+  /**
+   * Returns the class file at the given URL. It is read if it is not cached yet or if it was changed since it
+   * was cached. Class files that are not read from a jar or a folder are never cached.
+   */
+  public IBinaryType read(final URL url, final String fileName) throws IOException {
+    try {
+      final String key = this.getKey(url);
+      if ((key == null)) {
+        return this.doRead(url, fileName);
+      }
+      final LibraryClassFileCache.Entry cached = this.entries.getIfPresent(key);
+      if ((cached != null)) {
+        return cached.type;
+      }
+      final byte[] bytes = this.readBytes(url);
+      char[] _charArray = fileName.toCharArray();
+      ClassFileReader _classFileReader = new ClassFileReader(bytes, _charArray, true);
+      int _length = bytes.length;
+      final LibraryClassFileCache.Entry result = new LibraryClassFileCache.Entry(_classFileReader, _length);
+      this.entries.put(key, result);
+      return result.type;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Returns the key of the class file at the given URL or <code>null</code> if it should not be cached.
+   */
+  protected String getKey(final URL url) {
+    try {
+      final String protocol = url.getProtocol();
+      boolean _equals = Objects.equal(protocol, "file");
+      if (_equals) {
+        return this.getKey(url, this.toFile(url));
+      }
+      boolean _equals_1 = Objects.equal(protocol, "jar");
+      if (_equals_1) {
+        final String path = url.getPath();
+        final int separator = path.indexOf("!/");
+        if ((separator < 0)) {
+          return null;
+        }
+        String _substring = path.substring(0, separator);
+        URL _uRL = new URL(_substring);
+        return this.getKey(url, this.toFile(_uRL));
+      }
+      boolean _equals_2 = Objects.equal(protocol, "jrt");
+      if (_equals_2) {
+        return url.toExternalForm();
+      }
+      return null;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private String getKey(final URL url, final File file) {
+    if (((file == null) || (!file.isFile()))) {
+      return null;
+    }
+    String _externalForm = url.toExternalForm();
+    String _plus = (_externalForm + "#");
+    long _lastModified = file.lastModified();
+    String _plus_1 = (_plus + Long.valueOf(_lastModified));
+    String _plus_2 = (_plus_1 + "#");
+    long _length = file.length();
+    return (_plus_2 + Long.valueOf(_length));
+  }
+  
+  /**
+   * Returns the local file of the given URL or <code>null</code> if it does not denote one.
+   */
+  protected File toFile(final URL url) {
+    String _protocol = url.getProtocol();
+    boolean _notEquals = (!Objects.equal(_protocol, "file"));
+    if (_notEquals) {
+      return null;
+    }
+    try {
+      URI _uRI = url.toURI();
+      return new File(_uRI);
+    } catch (final Throwable _t) {
+      if (_t instanceof URISyntaxException) {
+        return null;
+      } else if (_t instanceof IllegalArgumentException) {
+        return null;
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+  }
+  
+  protected IBinaryType doRead(final URL url, final String fileName) throws IOException {
+    try {
+      byte[] _readBytes = this.readBytes(url);
+      char[] _charArray = fileName.toCharArray();
+      return new ClassFileReader(_readBytes, _charArray);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  protected byte[] readBytes(final URL url) throws IOException {
+    InputStream stream = null;
+    try {
+      stream = url.openStream();
+      return ByteStreams.toByteArray(stream);
+    } finally {
+      if (stream!=null) {
+        stream.close();
+      }
+    }
+  }
+  
+  public void clear() {
+    this.entries.invalidateAll();
+  }
+}
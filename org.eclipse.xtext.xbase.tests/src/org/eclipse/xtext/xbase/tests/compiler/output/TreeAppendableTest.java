@@ -272,6 +272,17 @@ public class TreeAppendableTest extends Assert implements ILocationInFileProvide
 		assertEquals("my bbaa text bbaa more bbaa end", appendable.getContent());
 	}
 
+	@Test
+	public void testLengthOfNestedContent() {
+		expectedRegions = Arrays.asList(ITextRegionWithLineInformation.EMPTY_REGION, ITextRegionWithLineInformation.EMPTY_REGION).iterator();
+		TreeAppendable appendable = new TreeAppendable(new ImportManager(false), this, this, this, content, "aa", "bb");
+		appendable.append("first").increaseIndentation().newLine();
+		appendable.trace(content).append("nested").newLine().append("child");
+		appendable.decreaseIndentation().newLine().append("last");
+		assertEquals("firstbbaanestedbbaachildbblast", appendable.getContent());
+		assertEquals(appendable.getContent().length(), appendable.length());
+	}
+
 	@Override
 	public Set<EObject> getSourceElements(EObject jvmElement) {
 		return Collections.emptySet();
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.interpreter;
+
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.xbase.interpreter.impl.XbaseInterpreter;
+import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+
+/**
+ * Runs the evaluation tests with operations being invoked by means of method handles.
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(XbaseInjectorProvider.class)
+public class XbaseInterpreterMethodHandlesTest extends XbaseInterpreterTest {
+
+	@Before
+	public void useMethodHandles() {
+		((XbaseInterpreter) getInterpreter()).setUseMethodHandles(true);
+	}
+
+}
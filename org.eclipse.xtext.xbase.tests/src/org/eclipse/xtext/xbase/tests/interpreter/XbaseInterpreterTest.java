@@ -46,6 +46,10 @@ public class XbaseInterpreterTest extends AbstractXbaseEvaluationTest {
 		parseHelper = null;
 	}
 	
+	protected IExpressionInterpreter getInterpreter() {
+		return interpreter;
+	}
+	
 	@Test
 	public void testInvokeProtectedMethod() throws Exception {
 		// assuming a context where protected members are accessible, e.g. an interpreted operation
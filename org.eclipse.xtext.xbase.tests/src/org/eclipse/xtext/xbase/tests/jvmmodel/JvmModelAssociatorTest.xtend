@@ -6,9 +6,11 @@ import org.eclipse.emf.ecore.EcoreFactory
 import org.eclipse.xtext.common.types.JvmConstructor
 import org.eclipse.xtext.common.types.JvmDeclaredType
 import org.eclipse.xtext.common.types.JvmGenericType
+import org.eclipse.xtext.common.types.TypesFactory
 import org.eclipse.xtext.resource.DerivedStateAwareResource
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator
+import org.eclipse.xtext.xbase.XbaseFactory
 import org.eclipse.xtext.xbase.jvmmodel.JvmTypesBuilder
 import org.junit.Test
 import com.google.inject.MembersInjector
@@ -113,5 +115,34 @@ class JvmModelAssociatorTest extends AbstractJvmModelTest {
 		sources2 = assoc.getSourceElements(jvmElement2)
 		assertEquals(0, sources2.size)
 	}
+	
+	@Test
+	def void testLogicalChild() {
+		val adapter = new JvmModelAssociator.Adapter
+		val first = XbaseFactory.eINSTANCE.createXNullLiteral
+		val second = XbaseFactory.eINSTANCE.createXNullLiteral
+		val third = XbaseFactory.eINSTANCE.createXNullLiteral
+		val operation = TypesFactory.eINSTANCE.createJvmOperation
+		val field = TypesFactory.eINSTANCE.createJvmField
+		adapter.associateLogicalContainer(first, operation)
+		adapter.associateLogicalContainer(second, operation)
+		assertSame(first, adapter.getLogicalChild(operation))
+		assertNull(adapter.getLogicalChild(field))
+		
+		adapter.associateLogicalContainer(first, field)
+		assertSame(first, adapter.getLogicalChild(field))
+		assertSame(second, adapter.getLogicalChild(operation))
+		
+		adapter.removeLogicalChildAssociation(operation)
+		assertNull(adapter.getLogicalChild(operation))
+		assertSame(first, adapter.getLogicalChild(field))
+		
+		adapter.logicalContainerMap.put(third, operation)
+		assertSame(third, adapter.getLogicalChild(operation))
+		
+		// the size of the map does not change
+		adapter.logicalContainerMap.put(first, operation)
+		assertSame(first, adapter.getLogicalChild(operation))
+		assertNull(adapter.getLogicalChild(field))
+	}
 }
-
@@ -16,6 +16,8 @@ import java.io.InputStream
 import java.util.HashMap
 import java.util.Map
 import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.common.util.WrappedException
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectOutputStream
 import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils
 import org.eclipse.xtext.resource.persistence.IResourceStorageFacade
@@ -26,7 +28,13 @@ import org.eclipse.xtext.testing.XtextRunner
 import org.eclipse.xtext.util.StringInputStream
 import org.eclipse.xtext.xbase.XBlockExpression
 import org.eclipse.xtext.xbase.XExpression
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator
+import org.eclipse.xtext.xbase.resource.BatchLinkableResource
 import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageFacade
+import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageLoadable
+import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageWritable
+import org.eclipse.xtext.xbase.resource.LazyAssociationsAdapter
 import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase
 import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider
 import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider.XbaseTestRuntimeModule
@@ -91,6 +99,8 @@ class ResourceStorageTest extends AbstractXbaseTestCase {
 	
 	@Inject IResourceStorageFacade resourceStorageFacade
 	
+	@Inject IJvmModelAssociations associations
+	
 	@Test def void testWriteAndLoad() {
 		val contents = '''
 		{
@@ -157,4 +167,84 @@ class ResourceStorageTest extends AbstractXbaseTestCase {
 		assertFalse(originalNodes.hasNext)
 	}
 	
-}
\ No newline at end of file
+	@Test def void testWriteAndLoadAssociations() {
+		val file = expression('''
+		{
+			val x = "Hello"
+			println(x)
+		}
+		''') as XBlockExpression
+		val first = file.expressions.head
+		val last = file.expressions.last
+		val adapter = new JvmModelAssociator.Adapter
+		adapter.sourceToTargetMap.put(file, newLinkedHashSet(first, last))
+		adapter.targetToSourceMap.put(first, newLinkedHashSet(file))
+		adapter.targetToSourceMap.put(last, newLinkedHashSet(file))
+		file.eResource.eAdapters += adapter
+		
+		val bout = new ByteArrayOutputStream;
+		(resourceStorageFacade as ResourceStorageFacade).storeNodeModel = false
+		resourceStorageFacade.createResourceStorageWritable(bout).writeResource(file.eResource as StorageAwareResource)
+		
+		val in = resourceStorageFacade.createResourceStorageLoadable(new ByteArrayInputStream(bout.toByteArray))
+		val resource = file.eResource.resourceSet.createResource(URI.createURI("synthetic:/Test.___xbase")) as StorageAwareResource
+		resource.loadFromStorage(in)
+		
+		val root = resource.contents.head as XBlockExpression
+		val loaded = resource.eAdapters.filter(JvmModelAssociator.Adapter).head
+		assertEquals(newLinkedHashSet(root.expressions.head, root.expressions.last), loaded.sourceToTargetMap.get(root))
+		assertEquals(newLinkedHashSet(root), loaded.targetToSourceMap.get(root.expressions.head))
+		assertEquals(newLinkedHashSet(root), loaded.targetToSourceMap.get(root.expressions.last))
+		assertTrue(loaded.logicalContainerMap.empty)
+	}
+	
+	@Test def void testLoadAssociationsLazily() {
+		val file = expression('''
+		{
+			val x = "Hello"
+			println(x)
+		}
+		''') as XBlockExpression
+		val first = file.expressions.head
+		val adapter = new JvmModelAssociator.Adapter
+		adapter.sourceToTargetMap.put(file, newLinkedHashSet(first))
+		adapter.targetToSourceMap.put(first, newLinkedHashSet(file))
+		file.eResource.eAdapters += adapter
+		
+		val bout = new ByteArrayOutputStream;
+		(resourceStorageFacade as ResourceStorageFacade).storeNodeModel = false
+		resourceStorageFacade.createResourceStorageWritable(bout).writeResource(file.eResource as StorageAwareResource)
+		
+		val in = new BatchLinkableResourceStorageLoadable(new ByteArrayInputStream(bout.toByteArray), false)
+		in.lazyAssociations = true
+		val resource = file.eResource.resourceSet.createResource(URI.createURI("synthetic:/Test.___xbase")) as StorageAwareResource
+		resource.loadFromStorage(in)
+		
+		val root = resource.contents.head as XBlockExpression
+		val loaded = resource.eAdapters.filter(LazyAssociationsAdapter).head
+		assertFalse(loaded.initialized)
+		assertEquals(newLinkedHashSet(root), associations.getSourceElements(root.expressions.head))
+		assertTrue(loaded.initialized)
+		assertEquals(newLinkedHashSet(root.expressions.head), associations.getJvmElements(root))
+	}
+	
+	@Test def void testLoadAssociationsLazilyFails() {
+		val file = expression('{ null }')
+		val bout = new ByteArrayOutputStream
+		val out = new EObjectOutputStream(bout, emptyMap)
+		out.writeCompressedInt(BatchLinkableResourceStorageWritable.ASSOCIATIONS_FORMAT_VERSION + 1)
+		out.flush
+		val loadable = new BatchLinkableResourceStorageLoadable(new ByteArrayInputStream(bout.toByteArray), false)
+		val adapter = new LazyAssociationsAdapter(loadable, file.eResource as BatchLinkableResource, bout.toByteArray) {}
+		try {
+			adapter.ensureInitialized
+			fail('expected an exception')
+		} catch (WrappedException e) {
+			assertTrue(e.cause instanceof IOException)
+		}
+		assertFalse(adapter.initialized)
+		assertTrue(adapter.sourceToTargetMap.empty)
+		assertTrue(adapter.logicalContainerMap.empty)
+	}
+	
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.scoping;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmFeature;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.xbase.XTypeLiteral;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ObjectExtensions;
+import org.eclipse.xtext.xbase.scoping.batch.ExtensionOperationIndex;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class ExtensionOperationIndexTest extends AbstractXbaseTestCase {
+
+	@Test public void testCandidates() throws Exception {
+		XTypeLiteral literal = (XTypeLiteral) expression("typeof(" + ObjectExtensions.class.getName() + ")");
+		JvmDeclaredType type = (JvmDeclaredType) literal.getType();
+		ExtensionOperationIndex index = ExtensionOperationIndex.getIndex(type);
+		assertSame(index, ExtensionOperationIndex.getIndex(type));
+		Set<String> names = Sets.newHashSet();
+		for (JvmOperation operation : index.getCandidates(Sets.newHashSet(String.class.getName(), Object.class.getName()))) {
+			names.add(operation.getSimpleName());
+		}
+		// operator_doubleArrow has a type parameter as first parameter
+		assertTrue(names.toString(), names.contains("operator_doubleArrow"));
+		assertTrue(names.toString(), names.contains("operator_plus"));
+		List<JvmOperation> unrestricted = index.getCandidates(Sets.<String>newHashSet());
+		for (JvmOperation operation : unrestricted) {
+			assertFalse(operation.getParameters().get(0).getParameterType().getType() instanceof JvmDeclaredType);
+		}
+	}
+
+	@Test public void testCandidatesKeepDeclarationOrder() throws Exception {
+		XTypeLiteral literal = (XTypeLiteral) expression("typeof(" + IterableExtensions.class.getName() + ")");
+		JvmDeclaredType type = (JvmDeclaredType) literal.getType();
+		List<JvmOperation> candidates = ExtensionOperationIndex.getIndex(type).getCandidates(
+				Sets.newHashSet(Iterable.class.getName(), Object.class.getName()));
+		assertFalse(candidates.isEmpty());
+		List<JvmFeature> allFeatures = Lists.newArrayList(type.getAllFeatures());
+		int previous = -1;
+		for (JvmOperation operation : candidates) {
+			int position = allFeatures.indexOf(operation);
+			assertTrue(operation.getSimpleName(), position > previous);
+			previous = position;
+		}
+	}
+
+}
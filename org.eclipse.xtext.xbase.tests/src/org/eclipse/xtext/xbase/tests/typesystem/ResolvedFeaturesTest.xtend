@@ -18,6 +18,7 @@ import org.eclipse.xtext.xbase.XCastedExpression
 import org.eclipse.xtext.xbase.XTypeLiteral
 import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase
 import org.eclipse.xtext.xbase.typesystem.^override.OverrideHelper
+import org.eclipse.xtext.xbase.typesystem.^override.RawResolvedFeatures
 import org.junit.Test
 import org.eclipse.xtext.xbase.typesystem.^override.ResolvedFeatures
 import java.util.List
@@ -123,6 +124,16 @@ class ResolvedFeaturesTest extends AbstractXbaseTestCase {
 		]
 	}
 	
+	@Test
+	def void testSealedTypesShareFeaturesAcrossResourceSets() {
+		val first = typeof(ArrayList).toResolvedOperations.allOperations
+		val hits = RawResolvedFeatures.sharedFeatureIndexHitCount
+		val second = typeof(ArrayList).toResolvedOperations.allOperations
+		assertTrue(RawResolvedFeatures.sharedFeatureIndexHitCount > hits)
+		assertEquals(first.map[declaration.identifier].toSet, second.map[declaration.identifier].toSet)
+		assertNotSame(first.head.declaration.eResource.resourceSet, second.head.declaration.eResource.resourceSet)
+	}
+	
 	@Test
 	def void testIterableIterator() {
 		val resolvedOperations = typeof(Iterable).toResolvedOperations
@@ -9,15 +9,20 @@ package org.eclipse.xtext.xbase.tests.typing;
 
 import java.util.List;
 
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.testing.util.ParseHelper;
+import org.eclipse.xtext.xbase.XBlockExpression;
 import org.eclipse.xtext.xbase.XExpression;
 import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
 import org.eclipse.xtext.xbase.typesystem.IBatchTypeResolver;
 import org.eclipse.xtext.xbase.typesystem.IResolvedTypes;
+import org.eclipse.xtext.xbase.typesystem.conformance.RawTypeConformanceCache;
 import org.eclipse.xtext.xbase.typesystem.conformance.TypeConformanceComputationArgument;
+import org.eclipse.xtext.xbase.typesystem.conformance.TypeConformanceComputer;
 import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
 import org.junit.Test;
 
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 
 /**
@@ -98,6 +103,51 @@ public class XbaseTypeConformanceTest extends AbstractXbaseTestCase {
 		return conformant;
 	}
 	
+	@Test public void testRawConformanceIsCached() throws Exception {
+		XExpression leftParse = parseHelper.parse("null as CharSequence");
+		XExpression rightParse = parseHelper.parse("null as String", leftParse.eResource().getResourceSet());
+		LightweightTypeReference leftType = typeResolver.resolveTypes(leftParse).getActualType(leftParse);
+		LightweightTypeReference rightType = typeResolver.resolveTypes(rightParse).getActualType(rightParse);
+		TypeConformanceComputationArgument rawArgument = new TypeConformanceComputationArgument(true, false, true, true, false, true);
+		assertTrue(leftType.isAssignableFrom(rightType, rawArgument));
+		RawTypeConformanceCache cache = RawTypeConformanceCache.find(leftParse.eResource().getResourceSet());
+		assertNotNull(cache);
+		long hits = cache.getStats().hitCount();
+		assertTrue(leftType.isAssignableFrom(rightType, rawArgument));
+		assertFalse(rightType.isAssignableFrom(leftType, rawArgument));
+		assertFalse(rightType.isAssignableFrom(leftType, rawArgument));
+		assertTrue(cache.getStats().hitCount() > hits);
+	}
+	
+	@Test public void testRawConformanceCacheIsRecreatedAfterRemoval() throws Exception {
+		XExpression leftParse = parseHelper.parse("null as CharSequence");
+		XExpression rightParse = parseHelper.parse("null as String", leftParse.eResource().getResourceSet());
+		LightweightTypeReference leftType = typeResolver.resolveTypes(leftParse).getActualType(leftParse);
+		LightweightTypeReference rightType = typeResolver.resolveTypes(rightParse).getActualType(rightParse);
+		TypeConformanceComputationArgument rawArgument = new TypeConformanceComputationArgument(true, false, true, true, false, true);
+		assertTrue(leftType.isAssignableFrom(rightType, rawArgument));
+		ResourceSet resourceSet = leftParse.eResource().getResourceSet();
+		RawTypeConformanceCache cache = RawTypeConformanceCache.find(resourceSet);
+		resourceSet.eAdapters().remove(cache);
+		assertTrue(leftType.isAssignableFrom(rightType, rawArgument));
+		RawTypeConformanceCache newCache = RawTypeConformanceCache.find(resourceSet);
+		assertNotNull(newCache);
+		assertNotSame(cache, newCache);
+	}
+	
+	@Test public void testCommonSuperTypeOfSameRawType() throws Exception {
+		XBlockExpression block = (XBlockExpression) parseHelper.parse("{ null as java.util.ArrayList<String> null as java.util.ArrayList<Integer> }");
+		IResolvedTypes resolvedTypes = typeResolver.resolveTypes(block);
+		LightweightTypeReference strings = resolvedTypes.getActualType(block.getExpressions().get(0));
+		LightweightTypeReference integers = resolvedTypes.getActualType(block.getExpressions().get(1));
+		TypeConformanceComputer computer = strings.getOwner().getServices().getTypeConformanceComputer();
+		assertSame(strings, computer.getCommonSuperType(Lists.newArrayList(strings, strings, strings), strings.getOwner()));
+		LightweightTypeReference commonSuperType = computer.getCommonSuperType(Lists.newArrayList(strings, integers, strings), strings.getOwner());
+		assertEquals("java.util.ArrayList", commonSuperType.getRawTypeReference().getIdentifier());
+		assertTrue(commonSuperType.getIdentifier(), commonSuperType.isAssignableFrom(strings));
+		assertTrue(commonSuperType.getIdentifier(), commonSuperType.isAssignableFrom(integers));
+	}
+	
 	@Test public void testIgnoreGenerics_00() throws Exception {
 		String left = "null as Iterable<String>";
 		String right = "null as Iterable<Integer>";
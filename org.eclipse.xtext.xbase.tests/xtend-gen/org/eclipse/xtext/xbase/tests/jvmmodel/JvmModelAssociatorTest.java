@@ -13,10 +13,15 @@ import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.common.types.JvmConstructor;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.common.types.TypesFactory;
 import org.eclipse.xtext.resource.DerivedStateAwareResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.xbase.XNullLiteral;
+import org.eclipse.xtext.xbase.XbaseFactory;
 import org.eclipse.xtext.xbase.jvmmodel.IJvmDeclaredTypeAcceptor;
 import org.eclipse.xtext.xbase.jvmmodel.IJvmModelInferrer;
 import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
@@ -165,4 +170,29 @@ public class JvmModelAssociatorTest extends AbstractJvmModelTest {
     sources2 = this.assoc.getSourceElements(jvmElement2);
     Assert.assertEquals(0, sources2.size());
   }
+  
+  @Test
+  public void testLogicalChild() {
+    final JvmModelAssociator.Adapter adapter = new JvmModelAssociator.Adapter();
+    final XNullLiteral first = XbaseFactory.eINSTANCE.createXNullLiteral();
+    final XNullLiteral second = XbaseFactory.eINSTANCE.createXNullLiteral();
+    final XNullLiteral third = XbaseFactory.eINSTANCE.createXNullLiteral();
+    final JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
+    final JvmField field = TypesFactory.eINSTANCE.createJvmField();
+    adapter.associateLogicalContainer(first, operation);
+    adapter.associateLogicalContainer(second, operation);
+    Assert.assertSame(first, adapter.getLogicalChild(operation));
+    Assert.assertNull(adapter.getLogicalChild(field));
+    adapter.associateLogicalContainer(first, field);
+    Assert.assertSame(first, adapter.getLogicalChild(field));
+    Assert.assertSame(second, adapter.getLogicalChild(operation));
+    adapter.removeLogicalChildAssociation(operation);
+    Assert.assertNull(adapter.getLogicalChild(operation));
+    Assert.assertSame(first, adapter.getLogicalChild(field));
+    adapter.logicalContainerMap.put(third, operation);
+    Assert.assertSame(third, adapter.getLogicalChild(operation));
+    adapter.logicalContainerMap.put(first, operation);
+    Assert.assertSame(first, adapter.getLogicalChild(operation));
+    Assert.assertNull(adapter.getLogicalChild(field));
+  }
 }
@@ -7,6 +7,7 @@
  */
 package org.eclipse.xtext.xbase.tests.resources;
 
+import com.google.common.collect.Iterables;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
@@ -17,11 +18,14 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
 import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.nodemodel.BidiTreeIterator;
@@ -36,9 +40,16 @@ import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.util.StringInputStream;
 import org.eclipse.xtext.xbase.XBlockExpression;
 import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.resource.BatchLinkableResource;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageFacade;
+import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageLoadable;
+import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageWritable;
+import org.eclipse.xtext.xbase.resource.LazyAssociationsAdapter;
 import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
 import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider;
 import org.junit.Assert;
@@ -108,6 +119,9 @@ public class ResourceStorageTest extends AbstractXbaseTestCase {
   @Inject
   private IResourceStorageFacade resourceStorageFacade;
   
+  @Inject
+  private IJvmModelAssociations associations;
+  
   @Test
   public void testWriteAndLoad() {
     try {
@@ -195,4 +209,131 @@ public class ResourceStorageTest extends AbstractXbaseTestCase {
       throw Exceptions.sneakyThrow(_e);
     }
   }
+  
+  @Test
+  public void testWriteAndLoadAssociations() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("{");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("val x = \"Hello\"");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("println(x)");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      XExpression _expression = this.expression(_builder);
+      final XBlockExpression file = ((XBlockExpression) _expression);
+      final XExpression first = IterableExtensions.<XExpression>head(file.getExpressions());
+      final XExpression last = IterableExtensions.<XExpression>last(file.getExpressions());
+      final JvmModelAssociator.Adapter adapter = new JvmModelAssociator.Adapter();
+      adapter.sourceToTargetMap.put(file, CollectionLiterals.<EObject>newLinkedHashSet(first, last));
+      adapter.targetToSourceMap.put(first, CollectionLiterals.<EObject>newLinkedHashSet(file));
+      adapter.targetToSourceMap.put(last, CollectionLiterals.<EObject>newLinkedHashSet(file));
+      EList<Adapter> _eAdapters = file.eResource().eAdapters();
+      _eAdapters.add(adapter);
+      final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+      ((ResourceStorageFacade) this.resourceStorageFacade).setStoreNodeModel(false);
+      Resource _eResource = file.eResource();
+      this.resourceStorageFacade.createResourceStorageWritable(bout).writeResource(((StorageAwareResource) _eResource));
+      byte[] _byteArray = bout.toByteArray();
+      ByteArrayInputStream _byteArrayInputStream = new ByteArrayInputStream(_byteArray);
+      final ResourceStorageLoadable in = this.resourceStorageFacade.createResourceStorageLoadable(_byteArrayInputStream);
+      Resource _createResource = file.eResource().getResourceSet().createResource(URI.createURI("synthetic:/Test.___xbase"));
+      final StorageAwareResource resource = ((StorageAwareResource) _createResource);
+      resource.loadFromStorage(in);
+      EObject _head = IterableExtensions.<EObject>head(resource.getContents());
+      final XBlockExpression root = ((XBlockExpression) _head);
+      final JvmModelAssociator.Adapter loaded = IterableExtensions.<JvmModelAssociator.Adapter>head(Iterables.<JvmModelAssociator.Adapter>filter(resource.eAdapters(), JvmModelAssociator.Adapter.class));
+      Assert.assertEquals(CollectionLiterals.<XExpression>newLinkedHashSet(IterableExtensions.<XExpression>head(root.getExpressions()), IterableExtensions.<XExpression>last(root.getExpressions())), loaded.sourceToTargetMap.get(root));
+      Assert.assertEquals(CollectionLiterals.<XBlockExpression>newLinkedHashSet(root), loaded.targetToSourceMap.get(IterableExtensions.<XExpression>head(root.getExpressions())));
+      Assert.assertEquals(CollectionLiterals.<XBlockExpression>newLinkedHashSet(root), loaded.targetToSourceMap.get(IterableExtensions.<XExpression>last(root.getExpressions())));
+      Assert.assertTrue(loaded.logicalContainerMap.isEmpty());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testLoadAssociationsLazily() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("{");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("val x = \"Hello\"");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("println(x)");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      XExpression _expression = this.expression(_builder);
+      final XBlockExpression file = ((XBlockExpression) _expression);
+      final XExpression first = IterableExtensions.<XExpression>head(file.getExpressions());
+      final JvmModelAssociator.Adapter adapter = new JvmModelAssociator.Adapter();
+      adapter.sourceToTargetMap.put(file, CollectionLiterals.<EObject>newLinkedHashSet(first));
+      adapter.targetToSourceMap.put(first, CollectionLiterals.<EObject>newLinkedHashSet(file));
+      EList<Adapter> _eAdapters = file.eResource().eAdapters();
+      _eAdapters.add(adapter);
+      final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+      ((ResourceStorageFacade) this.resourceStorageFacade).setStoreNodeModel(false);
+      Resource _eResource = file.eResource();
+      this.resourceStorageFacade.createResourceStorageWritable(bout).writeResource(((StorageAwareResource) _eResource));
+      byte[] _byteArray = bout.toByteArray();
+      ByteArrayInputStream _byteArrayInputStream = new ByteArrayInputStream(_byteArray);
+      final BatchLinkableResourceStorageLoadable in = new BatchLinkableResourceStorageLoadable(_byteArrayInputStream, false);
+      in.setLazyAssociations(true);
+      Resource _createResource = file.eResource().getResourceSet().createResource(URI.createURI("synthetic:/Test.___xbase"));
+      final StorageAwareResource resource = ((StorageAwareResource) _createResource);
+      resource.loadFromStorage(in);
+      EObject _head = IterableExtensions.<EObject>head(resource.getContents());
+      final XBlockExpression root = ((XBlockExpression) _head);
+      final LazyAssociationsAdapter loaded = IterableExtensions.<LazyAssociationsAdapter>head(Iterables.<LazyAssociationsAdapter>filter(resource.eAdapters(), LazyAssociationsAdapter.class));
+      Assert.assertFalse(loaded.isInitialized());
+      Assert.assertEquals(CollectionLiterals.<XBlockExpression>newLinkedHashSet(root), this.associations.getSourceElements(IterableExtensions.<XExpression>head(root.getExpressions())));
+      Assert.assertTrue(loaded.isInitialized());
+      Assert.assertEquals(CollectionLiterals.<XExpression>newLinkedHashSet(IterableExtensions.<XExpression>head(root.getExpressions())), this.associations.getJvmElements(root));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testLoadAssociationsLazilyFails() {
+    try {
+      final XExpression file = this.expression("{ null }");
+      final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+      Map<Object, Object> _emptyMap = CollectionLiterals.<Object, Object>emptyMap();
+      final BinaryResourceImpl.EObjectOutputStream out = new BinaryResourceImpl.EObjectOutputStream(bout, _emptyMap);
+      out.writeCompressedInt((BatchLinkableResourceStorageWritable.ASSOCIATIONS_FORMAT_VERSION + 1));
+      out.flush();
+      byte[] _byteArray = bout.toByteArray();
+      ByteArrayInputStream _byteArrayInputStream = new ByteArrayInputStream(_byteArray);
+      final BatchLinkableResourceStorageLoadable loadable = new BatchLinkableResourceStorageLoadable(_byteArrayInputStream, false);
+      Resource _eResource = file.eResource();
+      byte[] _byteArray_1 = bout.toByteArray();
+      final LazyAssociationsAdapter adapter = new LazyAssociationsAdapter(loadable, ((BatchLinkableResource) _eResource), _byteArray_1) {
+      };
+      try {
+        adapter.ensureInitialized();
+        Assert.fail("expected an exception");
+      } catch (final Throwable _t) {
+        if (_t instanceof WrappedException) {
+          final WrappedException e = (WrappedException)_t;
+          Throwable _cause = e.getCause();
+          Assert.assertTrue((_cause instanceof IOException));
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+      Assert.assertFalse(adapter.isInitialized());
+      Assert.assertTrue(adapter.sourceToTargetMap.isEmpty());
+      Assert.assertTrue(adapter.logicalContainerMap.isEmpty());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
 }
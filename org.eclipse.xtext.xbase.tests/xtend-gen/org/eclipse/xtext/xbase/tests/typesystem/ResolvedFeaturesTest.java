@@ -25,11 +25,13 @@ import org.eclipse.xtext.xbase.XTypeLiteral;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
 import org.eclipse.xtext.xbase.typesystem.override.IResolvedConstructor;
 import org.eclipse.xtext.xbase.typesystem.override.IResolvedField;
 import org.eclipse.xtext.xbase.typesystem.override.IResolvedOperation;
 import org.eclipse.xtext.xbase.typesystem.override.OverrideHelper;
+import org.eclipse.xtext.xbase.typesystem.override.RawResolvedFeatures;
 import org.eclipse.xtext.xbase.typesystem.override.ResolvedFeatures;
 import org.junit.Assert;
 import org.junit.Test;
@@ -147,6 +149,24 @@ public class ResolvedFeaturesTest extends AbstractXbaseTestCase {
     all.forEach(_function);
   }
   
+  @Test
+  public void testSealedTypesShareFeaturesAcrossResourceSets() {
+    final List<IResolvedOperation> first = this.toResolvedOperations(ArrayList.class).getAllOperations();
+    final long hits = RawResolvedFeatures.getSharedFeatureIndexHitCount();
+    final List<IResolvedOperation> second = this.toResolvedOperations(ArrayList.class).getAllOperations();
+    long _sharedFeatureIndexHitCount = RawResolvedFeatures.getSharedFeatureIndexHitCount();
+    boolean _greaterThan = (_sharedFeatureIndexHitCount > hits);
+    Assert.assertTrue(_greaterThan);
+    final Function1<IResolvedOperation, String> _function = (IResolvedOperation it) -> {
+      return it.getDeclaration().getIdentifier();
+    };
+    final Function1<IResolvedOperation, String> _function_1 = (IResolvedOperation it) -> {
+      return it.getDeclaration().getIdentifier();
+    };
+    Assert.assertEquals(IterableExtensions.<String>toSet(ListExtensions.<IResolvedOperation, String>map(first, _function)), IterableExtensions.<String>toSet(ListExtensions.<IResolvedOperation, String>map(second, _function_1)));
+    Assert.assertNotSame(IterableExtensions.<IResolvedOperation>head(first).getDeclaration().eResource().getResourceSet(), IterableExtensions.<IResolvedOperation>head(second).getDeclaration().eResource().getResourceSet());
+  }
+  
   @Test
   public void testIterableIterator() {
     final ResolvedFeatures resolvedOperations = this.toResolvedOperations(Iterable.class);
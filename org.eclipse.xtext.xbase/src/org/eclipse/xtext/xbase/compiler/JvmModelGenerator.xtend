@@ -48,6 +48,7 @@ import org.eclipse.xtext.common.types.JvmTypeParameterDeclarator
 import org.eclipse.xtext.common.types.JvmTypeReference
 import org.eclipse.xtext.common.types.JvmUpperBound
 import org.eclipse.xtext.common.types.JvmVisibility
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry
 import org.eclipse.xtext.common.types.util.TypeReferences
 import org.eclipse.xtext.documentation.IEObjectDocumentationProvider
 import org.eclipse.xtext.documentation.IEObjectDocumentationProviderExtension
@@ -116,8 +117,13 @@ class JvmModelGenerator implements IGenerator {
 	@Inject IQualifiedNameConverter qualifiedNameConverter
 	
 	override void doGenerate(Resource input, IFileSystemAccess fsa) {
-		for (obj : input.contents) {
-			obj.internalDoGenerate(fsa)
+		val start = PerformanceTelemetry.start
+		try {
+			for (obj : input.contents) {
+				obj.internalDoGenerate(fsa)
+			}
+		} finally {
+			PerformanceTelemetry.stop(PerformanceTelemetry.CODE_GENERATION, start)
 		}
 	}
 	
@@ -16,6 +16,8 @@ import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
 import org.eclipse.xtext.xbase.compiler.ImportManager;
 import org.eclipse.xtext.xbase.compiler.ScopeStack;
 
+import com.google.common.collect.Lists;
+
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
  * @noextend This class is not intended to be subclassed by clients.
@@ -30,6 +32,7 @@ public class SharedAppendableState {
 	private final ImportManager importManager;
 	private final Resource resource;
 	private GeneratorConfig generatorConfig;
+	private final List<String> newLineAndIndentation = Lists.newArrayListWithCapacity(8);
 	
 	public SharedAppendableState(String indentation, String lineSeparator, ImportManager importManager, Resource resource) {
 		this.resource = resource;
@@ -49,10 +52,18 @@ public class SharedAppendableState {
 	}
 	
 	public void appendNewLineAndIndentation(IAcceptor<String> content) {
-		content.accept(lineSeparator);
-		for(int i = 0; i < indentationlevel; i++) {
-			content.accept(indentation);
+		content.accept(getNewLineAndIndentation(indentationlevel));
+	}
+	
+	/**
+	 * The line separator followed by the indentation of the given level. The strings are shared by all
+	 * appendables of this state, thus a line break is a single child of an appendable.
+	 */
+	private String getNewLineAndIndentation(int level) {
+		for(int i = newLineAndIndentation.size(); i <= level; i++) {
+			newLineAndIndentation.add(i == 0 ? lineSeparator : newLineAndIndentation.get(i - 1) + indentation);
 		}
+		return newLineAndIndentation.get(level);
 	}
 	
 	public void increaseIndentation() {
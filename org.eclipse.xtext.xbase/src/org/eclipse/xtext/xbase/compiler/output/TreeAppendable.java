@@ -483,7 +483,8 @@ public class TreeAppendable implements ITreeAppendable, IAcceptor<String>, CharS
 
 	@Override
 	public String getContent() {
-		StringBuilder result = new StringBuilder(8 * 1024);
+		// the exact length avoids that the builder grows repeatedly for huge files
+		StringBuilder result = new StringBuilder(doGetLength());
 		doGetContent(result);
 		return result.toString();
 	}
@@ -513,9 +514,26 @@ public class TreeAppendable implements ITreeAppendable, IAcceptor<String>, CharS
 		}
 	}
 
+	/**
+	 * Computes the length of the content without creating it.
+	 * 
+	 * @since 2.17
+	 */
+	protected int doGetLength() {
+		int result = 0;
+		for (Object child : children) {
+			if (child instanceof String) {
+				result += ((String) child).length();
+			} else {
+				result += ((TreeAppendable) child).doGetLength();
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public int length() {
-		return toString().length();
+		return doGetLength();
 	}
 
 	@Override
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.interpreter.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * Caches a {@link MethodHandle} per reflective {@link Method} that is invoked by the {@link XbaseInterpreter}.
+ *
+ * All handles share the signature <code>(Object receiver, Object[] arguments)Object</code>, so they can be called
+ * with {@link MethodHandle#invokeExact(Object...) invokeExact}. The receiver of a static method is ignored.
+ *
+ * A handle is only handed out if the invocation does not need any of the conversions that
+ * {@link Method#invoke(Object, Object...)} performs, e.g. widening of primitive values. Otherwise clients are
+ * expected to fall back to reflection, which also reports illegal arguments the usual way.
+ *
+ * @since 2.17
+ */
+public class MethodHandleCache {
+
+	private final ConcurrentMap<Method, Entry> entries = new ConcurrentHashMap<Method, Entry>();
+
+	/**
+	 * @return the handle for the given invocation or <code>null</code> if the method should be invoked reflectively.
+	 */
+	public MethodHandle getHandle(Method method, Object receiver, Object[] arguments) {
+		Entry entry = entries.get(method);
+		if (entry == null) {
+			entry = createEntry(method);
+			Entry existing = entries.putIfAbsent(method, entry);
+			if (existing != null) {
+				entry = existing;
+			}
+		}
+		if (entry.handle == null || !entry.isApplicable(receiver, arguments)) {
+			return null;
+		}
+		return entry.handle;
+	}
+
+	protected Entry createEntry(Method method) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		try {
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+			if (isStatic) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			handle = handle.asType(MethodType.genericMethodType(parameterTypes.length + 1))
+					.asSpreader(Object[].class, parameterTypes.length);
+			return new Entry(handle, isStatic ? null : method.getDeclaringClass(), parameterTypes);
+		} catch (IllegalAccessException e) {
+			return new Entry(null, null, parameterTypes);
+		} catch (SecurityException e) {
+			return new Entry(null, null, parameterTypes);
+		}
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	protected static final class Entry {
+
+		private final MethodHandle handle;
+
+		/**
+		 * The declaring class of an instance method or <code>null</code> for static methods.
+		 */
+		private final Class<?> receiverType;
+
+		private final Class<?>[] parameterTypes;
+
+		private final boolean[] primitive;
+
+		protected Entry(MethodHandle handle, Class<?> receiverType, Class<?>[] parameterTypes) {
+			this.handle = handle;
+			this.receiverType = receiverType;
+			this.parameterTypes = new Class<?>[parameterTypes.length];
+			this.primitive = new boolean[parameterTypes.length];
+			for(int i = 0; i < parameterTypes.length; i++) {
+				this.primitive[i] = parameterTypes[i].isPrimitive();
+				this.parameterTypes[i] = Primitives.wrap(parameterTypes[i]);
+			}
+		}
+
+		protected boolean isApplicable(Object receiver, Object[] arguments) {
+			if (receiverType != null && !receiverType.isInstance(receiver)) {
+				return false;
+			}
+			if (arguments.length != parameterTypes.length) {
+				return false;
+			}
+			for(int i = 0; i < arguments.length; i++) {
+				Object argument = arguments[i];
+				if (argument == null) {
+					if (primitive[i]) {
+						return false;
+					}
+				} else if (primitive[i] ? argument.getClass() != parameterTypes[i] : !parameterTypes[i].isInstance(argument)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
@@ -12,6 +12,7 @@ import static com.google.common.collect.Maps.*;
 import static com.google.common.collect.Sets.*;
 import static org.eclipse.xtext.util.Strings.*;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -102,6 +103,7 @@ import org.eclipse.xtext.xbase.util.XSwitchExpressions;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -156,6 +158,20 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 	@Inject
 	private XSwitchExpressions switchExpressions;
 	
+	/**
+	 * The name of the boolean binding that enables the invocation of operations by means of cached
+	 * {@link MethodHandle method handles}.
+	 * 
+	 * @since 2.17
+	 */
+	public static final String USE_METHOD_HANDLES = "org.eclipse.xtext.xbase.interpreter.useMethodHandles";
+	
+	@Inject(optional = true)
+	@Named(USE_METHOD_HANDLES)
+	private boolean useMethodHandles = false;
+	
+	private final MethodHandleCache methodHandleCache = new MethodHandleCache();
+	
 	private ClassFinder classFinder;
 
 	private ClassLoader classLoader;
@@ -165,6 +181,24 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 		this.classFinder = new ClassFinder(classLoader);
 		this.classLoader = classLoader;
 		this.javaReflectAccess.setClassLoader(classLoader);
+		this.methodHandleCache.clear();
+	}
+	
+	/**
+	 * @since 2.17
+	 */
+	public boolean isUseMethodHandles() {
+		return useMethodHandles;
+	}
+	
+	/**
+	 * Operations are invoked by means of cached method handles if enabled. Otherwise or if an invocation
+	 * requires conversions of the argument values, {@link Method#invoke(Object, Object...)} is used.
+	 * 
+	 * @since 2.17
+	 */
+	public void setUseMethodHandles(boolean useMethodHandles) {
+		this.useMethodHandles = useMethodHandles;
 	}
 	
 	protected Class<?> getClass(Class<?> class1) {
@@ -1082,8 +1116,19 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 					throw new InvocationTargetException(throwable);
 				}
 			} else {
+				Object[] arguments = argumentValues.toArray(new Object[argumentValues.size()]);
+				if (useMethodHandles) {
+					MethodHandle handle = methodHandleCache.getHandle(method, receiver, arguments);
+					if (handle != null) {
+						try {
+							return (Object) handle.invokeExact(receiver, arguments);
+						} catch(Throwable throwable) {
+							throw new InvocationTargetException(throwable);
+						}
+					}
+				}
 				method.setAccessible(true);
-				Object result = method.invoke(receiver, argumentValues.toArray(new Object[argumentValues.size()]));
+				Object result = method.invoke(receiver, arguments);
 				return result;
 			}
 		} catch (EvaluationException e) {
@@ -10,11 +10,14 @@ package org.eclipse.xtext.xbase.jvmmodel;
 import java.util.AbstractSet;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BiFunction;
+
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Notifier;
@@ -26,6 +29,7 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.Constants;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.common.types.xtext.JvmMemberInitializableResource;
 import org.eclipse.xtext.resource.DerivedStateAwareResource;
 import org.eclipse.xtext.resource.IDerivedStateComputer;
@@ -96,12 +100,205 @@ public class JvmModelAssociator implements IJvmModelAssociations, IJvmModelAssoc
 	public static class Adapter extends AdapterImpl {
 		public Map<EObject, Set<EObject>> sourceToTargetMap = Maps2.newLinkedHashMapWithExpectedSize(40);
 		public Map<EObject, Set<EObject>> targetToSourceMap = Maps2.newLinkedHashMapWithExpectedSize(40);
-		public Map<EObject, JvmIdentifiableElement> logicalContainerMap = Maps2.newLinkedHashMapWithExpectedSize(40);
+		public Map<EObject, JvmIdentifiableElement> logicalContainerMap = new LogicalContainerMap();
 
 		@Override
 		public boolean isAdapterForType(Object type) {
 			return Adapter.class == type;
 		}
+		
+		/**
+		 * Ensures that the maps of this adapter are populated. Adapters that are loaded from a resource storage
+		 * may defer that until the maps are accessed for the first time.
+		 * 
+		 * @since 2.17
+		 */
+		public void ensureInitialized() {
+			// populated eagerly by default
+		}
+
+		/**
+		 * The first logical child of each logical container, i.e. the reverse of the {@link #logicalContainerMap}.
+		 * It is rebuilt if the {@link #logicalContainerMap} was modified directly.
+		 */
+		private Map<JvmIdentifiableElement, XExpression> logicalChildMap;
+
+		/**
+		 * The size of the {@link #logicalContainerMap} that the {@link #logicalChildMap} corresponds to.
+		 */
+		private int indexedSize;
+
+		/**
+		 * The {@link LogicalContainerMap#modifications modifications} of the {@link #logicalContainerMap} that the
+		 * {@link #logicalChildMap} corresponds to.
+		 */
+		private int indexedModifications;
+
+		/**
+		 * @since 2.17
+		 */
+		public void associateLogicalContainer(EObject logicalChild, JvmIdentifiableElement container) {
+			boolean indexValid = isLogicalChildMapValid();
+			JvmIdentifiableElement previous = logicalContainerMap.put(logicalChild, container);
+			if (!indexValid || previous != null && previous != container) {
+				logicalChildMap = null;
+				return;
+			}
+			if (container != null && logicalChild instanceof XExpression && !logicalChildMap.containsKey(container)) {
+				logicalChildMap.put(container, (XExpression) logicalChild);
+			}
+			updateIndexedState();
+		}
+
+		/**
+		 * @since 2.17
+		 */
+		public void removeLogicalChildAssociation(JvmIdentifiableElement container) {
+			boolean indexValid = isLogicalChildMapValid();
+			Iterator<Entry<EObject, JvmIdentifiableElement>> iterator = logicalContainerMap.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Entry<EObject, JvmIdentifiableElement> next = iterator.next();
+				if (next.getValue() == container) {
+					iterator.remove();
+				}
+			}
+			if (indexValid) {
+				logicalChildMap.remove(container);
+				updateIndexedState();
+			}
+		}
+
+		/**
+		 * @return the first expression whose logical container is the given element or <code>null</code>.
+		 * @since 2.17
+		 */
+		public XExpression getLogicalChild(JvmIdentifiableElement container) {
+			if (!isLogicalChildMapValid()) {
+				rebuildLogicalChildMap();
+			}
+			XExpression result = logicalChildMap.get(container);
+			if (result != null && logicalContainerMap.get(result) != container) {
+				rebuildLogicalChildMap();
+				result = logicalChildMap.get(container);
+			}
+			return result;
+		}
+
+		/**
+		 * @since 2.17
+		 */
+		public void clearLogicalContainers() {
+			logicalContainerMap.clear();
+			logicalChildMap = null;
+		}
+
+		/**
+		 * Removals through the views of the {@link #logicalContainerMap} change its size, all other modifications
+		 * are counted by the {@link LogicalContainerMap}. If the field was assigned another kind of map, the index
+		 * is never trusted.
+		 */
+		private boolean isLogicalChildMapValid() {
+			return logicalChildMap != null
+					&& logicalContainerMap instanceof LogicalContainerMap
+					&& indexedSize == logicalContainerMap.size()
+					&& indexedModifications == ((LogicalContainerMap) logicalContainerMap).modifications;
+		}
+
+		private void updateIndexedState() {
+			indexedSize = logicalContainerMap.size();
+			if (logicalContainerMap instanceof LogicalContainerMap) {
+				indexedModifications = ((LogicalContainerMap) logicalContainerMap).modifications;
+			}
+		}
+
+		private void rebuildLogicalChildMap() {
+			logicalChildMap = Maps2.newLinkedHashMapWithExpectedSize(logicalContainerMap.size());
+			for (Map.Entry<EObject, JvmIdentifiableElement> entry : logicalContainerMap.entrySet()) {
+				if (entry.getValue() != null && entry.getKey() instanceof XExpression && !logicalChildMap.containsKey(entry.getValue())) {
+					logicalChildMap.put(entry.getValue(), (XExpression) entry.getKey());
+				}
+			}
+			updateIndexedState();
+		}
+
+		/**
+		 * Counts the modifications that may change the logical container of an existing key, so the
+		 * {@link Adapter#logicalChildMap} is not used after the {@link Adapter#logicalContainerMap} was modified
+		 * directly. {@link Map.Entry#setValue(Object)} is not covered.
+		 */
+		private static class LogicalContainerMap extends LinkedHashMap<EObject, JvmIdentifiableElement> {
+			private static final long serialVersionUID = 1L;
+
+			private int modifications;
+
+			private LogicalContainerMap() {
+				super(64);
+			}
+
+			@Override
+			public JvmIdentifiableElement put(EObject key, JvmIdentifiableElement value) {
+				modifications++;
+				return super.put(key, value);
+			}
+
+			@Override
+			public void putAll(Map<? extends EObject, ? extends JvmIdentifiableElement> m) {
+				modifications++;
+				super.putAll(m);
+			}
+
+			@Override
+			public JvmIdentifiableElement putIfAbsent(EObject key, JvmIdentifiableElement value) {
+				modifications++;
+				return super.putIfAbsent(key, value);
+			}
+
+			@Override
+			public JvmIdentifiableElement replace(EObject key, JvmIdentifiableElement value) {
+				modifications++;
+				return super.replace(key, value);
+			}
+
+			@Override
+			public boolean replace(EObject key, JvmIdentifiableElement oldValue, JvmIdentifiableElement newValue) {
+				modifications++;
+				return super.replace(key, oldValue, newValue);
+			}
+
+			@Override
+			public void replaceAll(BiFunction<? super EObject, ? super JvmIdentifiableElement, ? extends JvmIdentifiableElement> function) {
+				modifications++;
+				super.replaceAll(function);
+			}
+
+			@Override
+			public JvmIdentifiableElement compute(EObject key,
+					BiFunction<? super EObject, ? super JvmIdentifiableElement, ? extends JvmIdentifiableElement> remappingFunction) {
+				modifications++;
+				return super.compute(key, remappingFunction);
+			}
+
+			@Override
+			public JvmIdentifiableElement computeIfPresent(EObject key,
+					BiFunction<? super EObject, ? super JvmIdentifiableElement, ? extends JvmIdentifiableElement> remappingFunction) {
+				modifications++;
+				return super.computeIfPresent(key, remappingFunction);
+			}
+
+			@Override
+			public JvmIdentifiableElement merge(EObject key, JvmIdentifiableElement value,
+					BiFunction<? super JvmIdentifiableElement, ? super JvmIdentifiableElement, ? extends JvmIdentifiableElement> remappingFunction) {
+				modifications++;
+				return super.merge(key, value, remappingFunction);
+			}
+
+			@Override
+			public void clear() {
+				if (isEmpty())
+					return;
+				super.clear();
+			}
+		}
 	}
 
 	protected Adapter getOrInstall(Resource resource) {
@@ -119,6 +316,8 @@ public class JvmModelAssociator implements IJvmModelAssociations, IJvmModelAssoc
 		if (adapter == null) {
 			adapter = new Adapter();
 			resource.eAdapters().add(adapter);
+		} else {
+			adapter.ensureInitialized();
 		}
 		return adapter;
 	}
@@ -131,13 +330,7 @@ public class JvmModelAssociator implements IJvmModelAssociations, IJvmModelAssoc
 	public XExpression getAssociatedExpression(JvmIdentifiableElement element) {
 		if (element == null)
 			return null;
-		Map<EObject, JvmIdentifiableElement> mapping = getLogicalContainerMapping(element.eResource());
-		for (Map.Entry<EObject, JvmIdentifiableElement> entry : mapping.entrySet()) {
-			if (entry.getValue() == element && entry.getKey() instanceof XExpression) {
-				return (XExpression) entry.getKey();
-			}
-		}
-		return null;
+		return getOrInstall(element.eResource()).getLogicalChild(element);
 	}
 
 	@Override
@@ -182,24 +375,14 @@ public class JvmModelAssociator implements IJvmModelAssociations, IJvmModelAssoc
 	public void associateLogicalContainer(XExpression logicalChild, JvmIdentifiableElement element) {
 		if (logicalChild == null)
 			return;
-		final Map<EObject, JvmIdentifiableElement> mapping = getLogicalContainerMapping(logicalChild.eResource());
-		mapping.put(logicalChild, element);
+		getOrInstall(logicalChild.eResource()).associateLogicalContainer(logicalChild, element);
 	}
 
 	@Override
 	public void removeLogicalChildAssociation(JvmIdentifiableElement container) {
 		if (container == null)
 			return;
-		final Map<EObject, JvmIdentifiableElement> mapping = getLogicalContainerMapping(container.eResource());
-		if (!mapping.isEmpty()) {
-			Iterator<Entry<EObject, JvmIdentifiableElement>> iterator = mapping.entrySet().iterator();
-			while (iterator.hasNext()) {
-				Entry<EObject, JvmIdentifiableElement> next = iterator.next();
-				if (next.getValue() == container) {
-					iterator.remove();
-				}
-			}
-		}
+		getOrInstall(container.eResource()).removeLogicalChildAssociation(container);
 	}
 
 	protected Map<EObject, Set<EObject>> sourceToTargetMap(Resource res) {
@@ -373,6 +556,7 @@ public class JvmModelAssociator implements IJvmModelAssociations, IJvmModelAssoc
 
 		StoppedTask task = Stopwatches.forTask("JVM Model inference (JvmModelAssociator.installDerivedState)");
 		task.start();
+		long start = PerformanceTelemetry.start();
 		JvmDeclaredTypeAcceptor acceptor = new JvmDeclaredTypeAcceptor(resource);
 		try {
 			IJvmModelInferrer inferrer = inferrerProvider.get();
@@ -409,6 +593,7 @@ public class JvmModelAssociator implements IJvmModelAssociations, IJvmModelAssoc
 			}
 		}
 		task.stop();
+		PerformanceTelemetry.stop(PerformanceTelemetry.JVM_MODEL_INFERENCE, start);
 
 		if (!preIndexingPhase) {
 			Runnable completingRunnable = new Runnable() {
@@ -447,7 +632,7 @@ public class JvmModelAssociator implements IJvmModelAssociations, IJvmModelAssoc
 		resourcesContentsList.removeAll(derived);
 		sourceToTargetMap(resource).clear();
 		targetToSourceMap(resource).clear();
-		getLogicalContainerMapping(resource).clear();
+		getOrInstall(resource).clearLogicalContainers();
 	}
 
 	@Override
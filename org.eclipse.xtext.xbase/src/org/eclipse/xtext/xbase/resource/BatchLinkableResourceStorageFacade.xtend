@@ -10,6 +10,7 @@ package org.eclipse.xtext.xbase.resource
 import com.google.inject.Inject
 import java.io.InputStream
 import java.io.OutputStream
+import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.resource.persistence.ResourceStorageFacade
 import org.eclipse.xtext.resource.persistence.StorageAwareResource
 import org.eclipse.xtext.workspace.IProjectConfigProvider
@@ -21,8 +22,19 @@ class BatchLinkableResourceStorageFacade extends ResourceStorageFacade {
 
 	@Inject IProjectConfigProvider projectConfigProvider
 
+	/**
+	 * Whether the stored associations of the JVM model are decoded on first access. The contents of a resource
+	 * that was loaded from storage must not be modified before its associations are accessed.
+	 * 
+	 * @see LazyAssociationsAdapter
+	 * @since 2.17
+	 */
+	@Accessors boolean lazyAssociations = false
+
 	override createResourceStorageLoadable(InputStream in) {
-		return new BatchLinkableResourceStorageLoadable(in, isStoreNodeModel)
+		val result = new BatchLinkableResourceStorageLoadable(in, isStoreNodeModel)
+		result.lazyAssociations = lazyAssociations
+		return result
 	}
 
 	override createResourceStorageWritable(OutputStream out) {
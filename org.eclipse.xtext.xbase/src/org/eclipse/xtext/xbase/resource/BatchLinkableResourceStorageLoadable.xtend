@@ -8,16 +8,21 @@
 package org.eclipse.xtext.xbase.resource
 
 import com.google.common.collect.Sets
+import com.google.common.io.ByteStreams
 import java.io.BufferedInputStream
 import java.io.IOException
 import java.io.ObjectInputStream
+import java.util.List
 import java.util.Map
 import java.util.Set
 import java.util.zip.ZipInputStream
+import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.InternalEObject
 import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectInputStream
+import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.common.types.JvmIdentifiableElement
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry
 import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable
 import org.eclipse.xtext.resource.persistence.StorageAwareResource
 import org.eclipse.xtext.xbase.compiler.DocumentationAdapter
@@ -26,10 +31,23 @@ import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator
 
 @FinalFieldsConstructor class BatchLinkableResourceStorageLoadable extends ResourceStorageLoadable {
 	
+	/**
+	 * Whether the stored associations of the {@link JvmModelAssociator} are decoded when they are accessed
+	 * for the first time rather than when the resource is loaded.
+	 * 
+	 * @since 2.17
+	 */
+	@Accessors boolean lazyAssociations
+	
 	override protected loadEntries(StorageAwareResource resource, ZipInputStream zipIn) throws IOException {
-		super.loadEntries(resource, zipIn)
-		if (resource instanceof BatchLinkableResource) {
-			readAssociationsAdapter(resource, zipIn)
+		val start = PerformanceTelemetry.start
+		try {
+			super.loadEntries(resource, zipIn)
+			if (resource instanceof BatchLinkableResource) {
+				readAssociationsAdapter(resource, zipIn)
+			}
+		} finally {
+			PerformanceTelemetry.stop(PerformanceTelemetry.STORAGE_LOAD, start)
 		}
 	}
 	
@@ -52,16 +70,81 @@ import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator
 	
 	protected def void readAssociationsAdapter(BatchLinkableResource resource, ZipInputStream stream) throws IOException {
 		val existing = resource.eAdapters.filter(JvmModelAssociator.Adapter).head
+		val entry = stream.nextEntry
+		if (entry.name == BatchLinkableResourceStorageWritable.ASSOCIATIONS_ENTRY && existing === null && lazyAssociations) {
+			resource.eAdapters += new LazyAssociationsAdapter(this, resource, ByteStreams.toByteArray(stream))
+			return
+		}
 		val adapter = existing
 			?: (new JvmModelAssociator.Adapter()=> [
 				resource.eAdapters += it
 			]) 
-		
-		stream.nextEntry
-		val objIn = new ObjectInputStream(new BufferedInputStream(stream))
+		if (entry.name == BatchLinkableResourceStorageWritable.ASSOCIATIONS_ENTRY) {
+			readAssociations(resource, adapter, new EObjectInputStream(new BufferedInputStream(stream), emptyMap))
+		} else {
+			readLegacyAssociations(resource, adapter, new ObjectInputStream(new BufferedInputStream(stream)))
+		}
+	}
+	
+	/**
+	 * Reads the associations in the binary format of the {@link BatchLinkableResourceStorageWritable}.
+	 * 
+	 * @since 2.17
+	 */
+	protected def void readAssociations(BatchLinkableResource resource, JvmModelAssociator.Adapter adapter, EObjectInputStream in) throws IOException {
+		val version = in.readCompressedInt
+		if (version != BatchLinkableResourceStorageWritable.ASSOCIATIONS_FORMAT_VERSION) {
+			throw new IOException('Unsupported format version of the associations: ' + version)
+		}
+		val objects = <EObject>newArrayList
+		val logicalCount = in.readCompressedInt
+		for (i : 0 ..< logicalCount) {
+			val source = readFragment(resource, objects, in)
+			adapter.associateLogicalContainer(source, readFragment(resource, objects, in) as JvmIdentifiableElement)
+		}
+		readAssociationMap(resource, objects, adapter.sourceToTargetMap, in)
+		readAssociationMap(resource, objects, adapter.targetToSourceMap, in)
+	}
+	
+	/**
+	 * @since 2.17
+	 */
+	protected def void readAssociationMap(BatchLinkableResource resource, List<EObject> objects, Map<EObject, Set<EObject>> associations, EObjectInputStream in) throws IOException {
+		val count = in.readCompressedInt
+		for (i : 0 ..< count) {
+			val key = readFragment(resource, objects, in)
+			val size = in.readCompressedInt
+			val values = Sets.<EObject>newLinkedHashSetWithExpectedSize(size)
+			for (j : 0 ..< size) {
+				values.add(readFragment(resource, objects, in))
+			}
+			associations.put(key, values)
+		}
+	}
+	
+	/**
+	 * Reads the index of a fragment and returns the object that it denotes. The fragment itself is only
+	 * read on its first occurrence.
+	 * 
+	 * @since 2.17
+	 */
+	protected def EObject readFragment(BatchLinkableResource resource, List<EObject> objects, EObjectInputStream in) throws IOException {
+		val index = in.readCompressedInt
+		if (index == objects.size) {
+			objects.add(resource.getEObject(in.readString))
+		}
+		return objects.get(index)
+	}
+	
+	/**
+	 * Reads the associations that were stored by means of Java serialization.
+	 * 
+	 * @since 2.17
+	 */
+	protected def void readLegacyAssociations(BatchLinkableResource resource, JvmModelAssociator.Adapter adapter, ObjectInputStream objIn) throws IOException {
 		val logicalMap = objIn.readObject as Map<String,String>
 		logicalMap.entrySet.forEach [
-			adapter.logicalContainerMap.put(resource.getEObject(key), resource.getEObject(value) as JvmIdentifiableElement)
+			adapter.associateLogicalContainer(resource.getEObject(key), resource.getEObject(value) as JvmIdentifiableElement)
 		]
 		val sourceToTargetMap = objIn.readObject as Map<String,Set<String>>
 		sourceToTargetMap.entrySet.forEach [
@@ -9,8 +9,9 @@ package org.eclipse.xtext.xbase.resource
 
 import com.google.common.collect.Sets
 import java.io.BufferedOutputStream
-import java.io.ObjectOutputStream
 import java.io.OutputStream
+import java.util.Map
+import java.util.Set
 import java.util.zip.ZipEntry
 import java.util.zip.ZipOutputStream
 import org.apache.log4j.Logger
@@ -26,6 +27,7 @@ import org.eclipse.xtext.xbase.jvmmodel.JvmIdentifiableMetaData
 import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator
 import org.eclipse.xtext.xtype.XComputedTypeReference
 import org.eclipse.xtext.common.types.JvmType
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry
 import java.io.IOException
 
 /**
@@ -35,17 +37,36 @@ import java.io.IOException
 	
 	final static Logger LOG = Logger.getLogger(BatchLinkableResourceStorageWritable)
 	
+	/**
+	 * The name of the zip entry that contains the associations of the {@link JvmModelAssociator}.
+	 * 
+	 * @since 2.17
+	 */
+	public static val ASSOCIATIONS_ENTRY = "associations.bin"
+	
+	/**
+	 * The version of the binary format of the associations.
+	 * 
+	 * @since 2.17
+	 */
+	public static val ASSOCIATIONS_FORMAT_VERSION = 1
+	
 	override protected writeEntries(StorageAwareResource resource, ZipOutputStream zipOut) throws IOException {
-		super.writeEntries(resource, zipOut)
-		if (resource instanceof BatchLinkableResource) {
-			zipOut.putNextEntry(new ZipEntry("associations"))
-			val buffOut = new BufferedOutputStream(zipOut)
-			try {
-				writeAssociationsAdapter(resource, buffOut)
-			} finally {
-				buffOut.flush
-				zipOut.closeEntry
+		val start = PerformanceTelemetry.start
+		try {
+			super.writeEntries(resource, zipOut)
+			if (resource instanceof BatchLinkableResource) {
+				zipOut.putNextEntry(new ZipEntry(ASSOCIATIONS_ENTRY))
+				val buffOut = new BufferedOutputStream(zipOut)
+				try {
+					writeAssociationsAdapter(resource, buffOut)
+				} finally {
+					buffOut.flush
+					zipOut.closeEntry
+				}
 			}
+		} finally {
+			PerformanceTelemetry.stop(PerformanceTelemetry.STORAGE_SAVE, start)
 		}
 	}
 	
@@ -95,43 +116,69 @@ import java.io.IOException
 			}
 			adapter = new JvmModelAssociator.Adapter()
 		}
-		val objOut = new ObjectOutputStream(zipOut);
+		adapter.ensureInitialized
+		val out = new EObjectOutputStream(zipOut, emptyMap)
 		try {
+			out.writeCompressedInt(ASSOCIATIONS_FORMAT_VERSION)
+			val fragments = <String, Integer>newHashMap
 			// logicalMap
-			val logicalMap = newLinkedHashMap()
-			for (entry : adapter.logicalContainerMap.entrySet) {
-				if (entry.key.eResource != resource) {
-					LOG.info("entry "+entry+" not from resource "+resource.URI + " but from "+entry.key.eResource?.URI)
-				} else {
-					logicalMap.put(entry.key.fragment, entry.value.fragment)
-				}
+			val logicalEntries = adapter.logicalContainerMap.entrySet.filter[isFromResource(key, resource)].toList
+			out.writeCompressedInt(logicalEntries.size)
+			for (entry : logicalEntries) {
+				writeFragment(entry.key.fragment, fragments, out)
+				writeFragment(entry.value.fragment, fragments, out)
 			}
-			objOut.writeObject(logicalMap)
-			
 			// sourceToTarget
-			val sourceToTarget = newLinkedHashMap()
-			for (entry : adapter.sourceToTargetMap.entrySet) {
-				if (entry.key.eResource != resource) {
-					LOG.info("entry not from resource "+resource.URI + " but from "+entry.key.eResource?.URI)
-				} else {
-					sourceToTarget.put(entry.key.fragment, Sets.newLinkedHashSet(entry.value.map[fragment]))
-				}
-			}
-			objOut.writeObject(sourceToTarget)
-			
+			writeAssociationMap(adapter.sourceToTargetMap, resource, fragments, out)
 			// targetToSource
-			val targetToSource = newLinkedHashMap()
-			for (entry : adapter.targetToSourceMap.entrySet) {
-				if (entry.key.eResource != resource) {
-					LOG.info("entry not from resource "+resource.URI + " but from "+entry.key.eResource?.URI)
-				} else {
-					targetToSource.put(entry.key.fragment, Sets.newLinkedHashSet(entry.value.map[fragment]))
-				}
-			}
-			objOut.writeObject(targetToSource)
+			writeAssociationMap(adapter.targetToSourceMap, resource, fragments, out)
 		} finally {
-			objOut.flush
+			out.flush
+		}
+	}
+	
+	/**
+	 * @since 2.17
+	 */
+	protected def void writeAssociationMap(Map<EObject, Set<EObject>> associations, BatchLinkableResource resource, Map<String, Integer> fragments, EObjectOutputStream out) throws IOException {
+		val entries = associations.entrySet.filter[isFromResource(key, resource)].toList
+		out.writeCompressedInt(entries.size)
+		for (entry : entries) {
+			writeFragment(entry.key.fragment, fragments, out)
+			val targets = Sets.newLinkedHashSet(entry.value.map[fragment])
+			out.writeCompressedInt(targets.size)
+			for (target : targets) {
+				writeFragment(target, fragments, out)
+			}
+		}
+	}
+	
+	/**
+	 * Writes the index of the given fragment. The fragment itself is only written on its first occurrence.
+	 * 
+	 * @since 2.17
+	 */
+	protected def void writeFragment(String fragment, Map<String, Integer> fragments, EObjectOutputStream out) throws IOException {
+		val index = fragments.get(fragment)
+		if (index === null) {
+			val newIndex = fragments.size
+			fragments.put(fragment, newIndex)
+			out.writeCompressedInt(newIndex)
+			out.writeString(fragment)
+		} else {
+			out.writeCompressedInt(index)
+		}
+	}
+	
+	/**
+	 * @since 2.17
+	 */
+	protected def boolean isFromResource(EObject object, BatchLinkableResource resource) {
+		if (object.eResource != resource) {
+			LOG.info("entry " + object + " not from resource " + resource.URI + " but from " + object.eResource?.URI)
+			return false
 		}
+		return true
 	}
 
 	protected def String getFragment(EObject obj) {
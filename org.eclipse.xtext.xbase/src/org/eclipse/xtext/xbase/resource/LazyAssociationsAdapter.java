@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectInputStream;
+import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
+
+/**
+ * An {@link JvmModelAssociator.Adapter adapter} that keeps the associations of a resource in the binary format
+ * of the {@link BatchLinkableResourceStorageWritable} and decodes them when they are accessed for the first time.
+ *
+ * The associations refer to the objects of the resource by their URI fragments. The contents of the resource must
+ * not be changed before the associations are decoded.
+ *
+ * @see BatchLinkableResourceStorageLoadable#setLazyAssociations(boolean)
+ * @since 2.17
+ */
+public class LazyAssociationsAdapter extends JvmModelAssociator.Adapter {
+
+	private final BatchLinkableResourceStorageLoadable loadable;
+
+	private final BatchLinkableResource resource;
+
+	private volatile byte[] associations;
+
+	/**
+	 * Whether the associations are being decoded. Guarded by this adapter. Decoding resolves the objects of the
+	 * resource, which may access the associations again on the same thread.
+	 */
+	private boolean decoding;
+
+	protected LazyAssociationsAdapter(BatchLinkableResourceStorageLoadable loadable, BatchLinkableResource resource, byte[] associations) {
+		this.loadable = loadable;
+		this.resource = resource;
+		this.associations = associations;
+	}
+
+	/**
+	 * Decodes the associations into a separate adapter and publishes them only if decoding succeeded. If it fails,
+	 * the maps are left unchanged and the next access tries again.
+	 */
+	@Override
+	public void ensureInitialized() {
+		if (associations == null) {
+			return;
+		}
+		synchronized (this) {
+			byte[] bytes = associations;
+			if (bytes == null || decoding) {
+				return;
+			}
+			decoding = true;
+			try {
+				JvmModelAssociator.Adapter decoded = new JvmModelAssociator.Adapter();
+				loadable.readAssociations(resource, decoded, new EObjectInputStream(new ByteArrayInputStream(bytes), Collections.emptyMap()));
+				for (Map.Entry<EObject, JvmIdentifiableElement> entry : decoded.logicalContainerMap.entrySet()) {
+					associateLogicalContainer(entry.getKey(), entry.getValue());
+				}
+				sourceToTargetMap.putAll(decoded.sourceToTargetMap);
+				targetToSourceMap.putAll(decoded.targetToSourceMap);
+				associations = null;
+			} catch (IOException e) {
+				throw new WrappedException(e);
+			} finally {
+				decoding = false;
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the associations have been decoded.
+	 */
+	public boolean isInitialized() {
+		return associations == null;
+	}
+
+}
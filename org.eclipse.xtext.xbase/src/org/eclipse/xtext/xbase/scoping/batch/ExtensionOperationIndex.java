@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.scoping.batch;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmFeature;
+import org.eclipse.xtext.common.types.JvmFormalParameter;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.common.types.access.IMirror;
+import org.eclipse.xtext.common.types.access.IMirrorExtension;
+import org.eclipse.xtext.common.types.access.JvmTypeChangeDispatcher;
+import org.eclipse.xtext.common.types.access.TypeResource;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+
+/**
+ * An index of the static operations of a type that may be used as extensions. The operations are indexed by the
+ * identifier of the raw type of their first parameter. Operations whose first parameter is a type parameter, an array
+ * or a primitive are candidates for any receiver.
+ *
+ * The index is cached on the type and will invalidate itself on change.
+ *
+ * @see ExtensionScopeHelper#getRawReceiverTypeIdentifiers()
+ * @since 2.17
+ */
+public class ExtensionOperationIndex extends AdapterImpl {
+
+	/**
+	 * Returns an existing index of the given type or creates a new one that will be cached on the type.
+	 */
+	public static ExtensionOperationIndex getIndex(JvmDeclaredType type) {
+		final List<Adapter> adapterList = type.eAdapters();
+		ExtensionOperationIndex index = (ExtensionOperationIndex) EcoreUtil.getAdapter(adapterList, ExtensionOperationIndex.class);
+		if (index != null) {
+			return index;
+		}
+		final ExtensionOperationIndex newIndex = new ExtensionOperationIndex(type);
+		requestNotificationOnChange(type, new Runnable() {
+			@Override
+			public void run() {
+				adapterList.remove(newIndex);
+			}
+		});
+		adapterList.add(newIndex);
+		return newIndex;
+	}
+
+	private static void requestNotificationOnChange(JvmType type, Runnable listener) {
+		Resource resource = type.eResource();
+		if (resource instanceof TypeResource) {
+			IMirror mirror = ((TypeResource) resource).getMirror();
+			if (mirror instanceof IMirrorExtension) {
+				if (((IMirrorExtension) mirror).isSealed())
+					return;
+			}
+		}
+		Notifier notifier = type;
+		if (resource != null) {
+			if (resource.getResourceSet() != null)
+				notifier = resource.getResourceSet();
+			else
+				notifier = resource;
+		}
+		JvmTypeChangeDispatcher dispatcher = JvmTypeChangeDispatcher.findResourceChangeDispatcher(notifier);
+		dispatcher.requestNotificationOnChange(type, listener);
+	}
+
+	/**
+	 * The static operations with at least one parameter in the order of {@link JvmDeclaredType#getAllFeatures()}.
+	 */
+	private final List<JvmOperation> operations = Lists.newArrayList();
+
+	/**
+	 * The positions of the operations that are candidates for any receiver type.
+	 */
+	private final BitSet unrestricted = new BitSet();
+
+	/**
+	 * The positions of the operations indexed by the identifier of the raw type of their first parameter.
+	 */
+	private final ListMultimap<String, Integer> byFirstParameterType = ArrayListMultimap.create();
+
+	protected ExtensionOperationIndex(JvmDeclaredType type) {
+		for(JvmFeature feature: type.getAllFeatures()) {
+			if (feature instanceof JvmOperation && feature.isStatic()) {
+				List<JvmFormalParameter> parameters = ((JvmOperation) feature).getParameters();
+				if (!parameters.isEmpty()) {
+					JvmTypeReference parameterType = parameters.get(0).getParameterType();
+					JvmType rawParameterType = parameterType != null ? parameterType.getType() : null;
+					if (rawParameterType instanceof JvmDeclaredType) {
+						byFirstParameterType.put(rawParameterType.getIdentifier(), operations.size());
+						operations.add((JvmOperation) feature);
+					} else if (rawParameterType != null && !rawParameterType.eIsProxy()) {
+						unrestricted.set(operations.size());
+						operations.add((JvmOperation) feature);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the operations that may be applicable to a receiver with the given raw types. The operations are
+	 * returned in the order of {@link JvmDeclaredType#getAllFeatures()}.
+	 *
+	 * @param rawReceiverTypes
+	 *            the identifiers of the raw receiver type and all its super types.
+	 */
+	public List<JvmOperation> getCandidates(Set<String> rawReceiverTypes) {
+		if (byFirstParameterType.isEmpty()) {
+			return Collections.unmodifiableList(operations);
+		}
+		BitSet selected = (BitSet) unrestricted.clone();
+		for(String rawReceiverType: rawReceiverTypes) {
+			for(Integer position: byFirstParameterType.get(rawReceiverType)) {
+				selected.set(position);
+			}
+		}
+		List<JvmOperation> result = Lists.newArrayListWithCapacity(selected.cardinality());
+		for(int position = selected.nextSetBit(0); position >= 0; position = selected.nextSetBit(position + 1)) {
+			result.add(operations.get(position));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return ExtensionOperationIndex.class.equals(type);
+	}
+
+}
@@ -8,7 +8,9 @@
 package org.eclipse.xtext.xbase.scoping.batch;
 
 import java.util.List;
+import java.util.Set;
 
+import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmExecutable;
 import org.eclipse.xtext.common.types.JvmFeature;
 import org.eclipse.xtext.common.types.JvmFormalParameter;
@@ -16,6 +18,7 @@ import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeParameter;
 import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.xbase.typesystem.conformance.SuperTypeAcceptor;
 import org.eclipse.xtext.xbase.typesystem.references.ArrayTypeReference;
 import org.eclipse.xtext.xbase.typesystem.references.CompoundTypeReference;
 import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
@@ -23,6 +26,8 @@ import org.eclipse.xtext.xbase.typesystem.references.ParameterizedTypeReference;
 import org.eclipse.xtext.xbase.typesystem.references.TypeReferenceVisitorWithResult;
 import org.eclipse.xtext.xbase.typesystem.references.WildcardTypeReference;
 
+import com.google.common.collect.Sets;
+
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
  */
@@ -32,6 +37,8 @@ public class ExtensionScopeHelper {
 	private LightweightTypeReference argumentType;
 	private boolean resolvedComputed;
 	private boolean resolved;
+	private Set<String> rawReceiverTypeIdentifiers;
+	private boolean rawReceiverTypeIdentifiersComputed;
 
 	public ExtensionScopeHelper(LightweightTypeReference argumentType) {
 		this.argumentType = argumentType;
@@ -90,6 +97,11 @@ public class ExtensionScopeHelper {
 		if (rawParameterType == null || rawParameterType.eIsProxy())
 			return false;
 		if (!(rawParameterType instanceof JvmTypeParameter)) {
+			Set<String> receiverTypes = getRawReceiverTypeIdentifiers();
+			if (receiverTypes != null && rawParameterType instanceof JvmDeclaredType) {
+				// short circuit - a declared type is only assignable from its sub types
+				return receiverTypes.contains(rawParameterType.getIdentifier());
+			}
 			if (rawArgumentType.isResolved()) {
 				// short circuit - limit extension scope entries to real candidates
 				LightweightTypeReference parameterTypeReference = rawArgumentType.getOwner().toPlainTypeReference(rawParameterType);
@@ -109,6 +121,39 @@ public class ExtensionScopeHelper {
 		return true;
 	}
 	
+	/**
+	 * Returns the identifiers of the raw receiver type and all its super types. An extension whose first parameter
+	 * is a declared type is applicable if and only if that type is contained in the result.
+	 * Returns <code>null</code> if the extensions cannot be selected that way, e.g. for primitives, wrappers,
+	 * arrays or function types that may be converted to other types.
+	 * 
+	 * @since 2.17
+	 */
+	protected Set<String> getRawReceiverTypeIdentifiers() {
+		if (rawReceiverTypeIdentifiersComputed) {
+			return rawReceiverTypeIdentifiers;
+		}
+		rawReceiverTypeIdentifiersComputed = true;
+		LightweightTypeReference receiverType = rawArgumentType;
+		if (receiverType.getKind() != LightweightTypeReference.KIND_PARAMETERIZED_TYPE_REFERENCE
+				|| !receiverType.isResolved()
+				|| !(receiverType.getType() instanceof JvmDeclaredType)
+				|| receiverType.isPrimitive() || receiverType.isWrapper() || receiverType.isFunctionType()) {
+			return null;
+		}
+		final Set<String> result = Sets.newHashSet();
+		result.add(receiverType.getType().getIdentifier());
+		result.add(Object.class.getName());
+		receiverType.collectSuperTypes(new SuperTypeAcceptor() {
+			@Override
+			public boolean accept(LightweightTypeReference superType, int distance) {
+				JvmType type = superType.getType();
+				return type != null && result.add(type.getIdentifier());
+			}
+		});
+		return rawReceiverTypeIdentifiers = result;
+	}
+	
 	private boolean isArrayTypeMismatch(LightweightTypeReference rawReceiverType, JvmType rawParameterType) {
 		if (rawReceiverType.isArray()) {
 			LightweightTypeReference parameterTypeReference = rawReceiverType.getOwner().toPlainTypeReference(rawParameterType);
@@ -59,7 +59,7 @@ public class StaticExtensionImportsScope extends AbstractStaticImportsScope {
 
 	@Override
 	protected void getAllLocalElements(TypeBucket bucket, JvmDeclaredType type, List<IEObjectDescription> result) {
-		Iterable<JvmFeature> features = type.getAllFeatures();
+		Iterable<? extends JvmFeature> features = getCandidateFeatures(type);
 		for(JvmFeature feature: features) {
 			if (feature.isStatic() && helper.isPossibleExtension(feature) && helper.isMatchingFirstParameterDeepCheck((JvmOperation) feature)) {
 				fastAddDescriptions(feature, bucket, result);
@@ -69,7 +69,7 @@ public class StaticExtensionImportsScope extends AbstractStaticImportsScope {
 
 	@Override
 	protected void getAllLocalElements(TypeBucket bucket, JvmDeclaredType type, Set<String> restrictedNames, List<IEObjectDescription> result) {
-		Iterable<JvmFeature> features = type.getAllFeatures();
+		Iterable<? extends JvmFeature> features = getCandidateFeatures(type);
 		for(JvmFeature feature: features) {
 			if (feature.isStatic() && restrictedNames.contains(feature.getSimpleName())
 					&& helper.isPossibleExtension(feature) && helper.isMatchingFirstParameterDeepCheck((JvmOperation) feature)) {
@@ -78,6 +78,20 @@ public class StaticExtensionImportsScope extends AbstractStaticImportsScope {
 		}
 	}
 	
+	/**
+	 * Returns the features of the given type that may be applicable to the receiver type. If possible, the
+	 * {@link ExtensionOperationIndex} is used to avoid a scan over all features of the type.
+	 * 
+	 * @since 2.17
+	 */
+	protected Iterable<? extends JvmFeature> getCandidateFeatures(JvmDeclaredType type) {
+		Set<String> rawReceiverTypes = receiverType != null ? helper.getRawReceiverTypeIdentifiers() : null;
+		if (rawReceiverTypes != null) {
+			return ExtensionOperationIndex.getIndex(type).getCandidates(rawReceiverTypes);
+		}
+		return type.getAllFeatures();
+	}
+	
 	@Override
 	protected BucketedEObjectDescription createDescription(QualifiedName name, JvmFeature feature,
 			TypeBucket bucket) {
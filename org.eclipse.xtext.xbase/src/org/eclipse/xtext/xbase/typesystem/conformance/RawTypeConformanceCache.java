@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.typesystem.conformance;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.access.IMirror;
+import org.eclipse.xtext.common.types.access.IMirrorExtension;
+import org.eclipse.xtext.common.types.access.JvmTypeChangeDispatcher;
+import org.eclipse.xtext.common.types.access.TypeResource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.MapMaker;
+
+/**
+ * Caches the results of the {@link RawTypeConformanceComputer} for pairs of types without type arguments. It is
+ * attached to a resource set and discarded as soon as one of the types that are not
+ * {@link IMirrorExtension#isSealed() sealed} is changed.
+ *
+ * @since 2.17
+ */
+public class RawTypeConformanceCache extends AdapterImpl {
+
+	private static final int MAXIMUM_SIZE = 50000;
+
+	private final Cache<Key, Integer> entries = CacheBuilder.newBuilder()
+			.maximumSize(MAXIMUM_SIZE)
+			.recordStats()
+			.build();
+
+	private final Set<JvmType> observedTypes = Collections.newSetFromMap(new MapMaker().weakKeys().<JvmType, Boolean>makeMap());
+
+	private final Runnable invalidator = new Runnable() {
+		@Override
+		public void run() {
+			invalidate();
+		}
+	};
+
+	private final ResourceSet resourceSet;
+
+	protected RawTypeConformanceCache(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+	}
+
+	/**
+	 * @return the cache of the given resource set or <code>null</code> if there is none.
+	 */
+	public static RawTypeConformanceCache find(ResourceSet resourceSet) {
+		return (RawTypeConformanceCache) EcoreUtil.getAdapter(resourceSet.eAdapters(), RawTypeConformanceCache.class);
+	}
+
+	protected static RawTypeConformanceCache findOrCreate(ResourceSet resourceSet) {
+		synchronized (resourceSet.eAdapters()) {
+			RawTypeConformanceCache result = find(resourceSet);
+			if (result == null) {
+				result = new RawTypeConformanceCache(resourceSet);
+				resourceSet.eAdapters().add(result);
+			}
+			return result;
+		}
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return RawTypeConformanceCache.class.equals(type);
+	}
+
+	/**
+	 * @return the cached conformance of the given types or <code>null</code> if it is not known.
+	 */
+	public Integer get(JvmType left, JvmType right, int flags) {
+		return entries.getIfPresent(new LookupKey(left, right, flags));
+	}
+
+	public void put(JvmType left, JvmType right, int flags, int result) {
+		observe(left);
+		observe(right);
+		entries.put(new WeakKey(left, right, flags), result);
+	}
+
+	protected void observe(JvmType type) {
+		if (isSealed(type) || !observedTypes.add(type)) {
+			return;
+		}
+		JvmTypeChangeDispatcher.findResourceChangeDispatcher(resourceSet).requestNotificationOnChange(type, invalidator);
+	}
+
+	protected boolean isSealed(JvmType type) {
+		Resource resource = type.eResource();
+		if (resource instanceof TypeResource) {
+			IMirror mirror = ((TypeResource) resource).getMirror();
+			return mirror instanceof IMirrorExtension && ((IMirrorExtension) mirror).isSealed();
+		}
+		return false;
+	}
+
+	public void invalidate() {
+		// the listeners of the change dispatcher are consumed, observe the types again
+		observedTypes.clear();
+		entries.invalidateAll();
+	}
+
+	public CacheStats getStats() {
+		return entries.stats();
+	}
+
+	/**
+	 * The key of an entry. The stored keys reference the types weakly, so the cache does not keep types alive. Entries of
+	 * collected types do not match any lookup anymore and are evicted eventually.
+	 */
+	protected abstract static class Key {
+
+		private final int flags;
+
+		private final int hashCode;
+
+		protected Key(JvmType left, JvmType right, int flags) {
+			this.flags = flags;
+			this.hashCode = 31 * (31 * System.identityHashCode(left) + System.identityHashCode(right)) + flags;
+		}
+
+		protected abstract JvmType getLeft();
+
+		protected abstract JvmType getRight();
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			if (hashCode != other.hashCode || flags != other.flags) {
+				return false;
+			}
+			JvmType left = getLeft();
+			JvmType right = getRight();
+			return left != null && right != null && left == other.getLeft() && right == other.getRight();
+		}
+	}
+
+	protected static final class LookupKey extends Key {
+
+		private final JvmType left;
+
+		private final JvmType right;
+
+		protected LookupKey(JvmType left, JvmType right, int flags) {
+			super(left, right, flags);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected JvmType getLeft() {
+			return left;
+		}
+
+		@Override
+		protected JvmType getRight() {
+			return right;
+		}
+	}
+
+	protected static final class WeakKey extends Key {
+
+		private final WeakReference<JvmType> left;
+
+		private final WeakReference<JvmType> right;
+
+		protected WeakKey(JvmType left, JvmType right, int flags) {
+			super(left, right, flags);
+			this.left = new WeakReference<JvmType>(left);
+			this.right = new WeakReference<JvmType>(right);
+		}
+
+		@Override
+		protected JvmType getLeft() {
+			return left.get();
+		}
+
+		@Override
+		protected JvmType getRight() {
+			return right.get();
+		}
+	}
+
+}
@@ -10,6 +10,7 @@ package org.eclipse.xtext.xbase.typesystem.conformance;
 import static org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference.*;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -17,6 +18,7 @@ import java.util.Set;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmGenericType;
 import org.eclipse.xtext.common.types.JvmType;
@@ -29,6 +31,7 @@ import org.eclipse.xtext.xbase.typesystem.computation.SynonymTypesProvider;
 import org.eclipse.xtext.xbase.typesystem.internal.util.WrapperTypeLookup;
 import org.eclipse.xtext.xbase.typesystem.references.ArrayTypeReference;
 import org.eclipse.xtext.xbase.typesystem.references.FunctionTypeReference;
+import org.eclipse.xtext.xbase.typesystem.references.ITypeReferenceOwner;
 import org.eclipse.xtext.xbase.typesystem.references.InnerFunctionTypeReference;
 import org.eclipse.xtext.xbase.typesystem.references.InnerTypeReference;
 import org.eclipse.xtext.xbase.typesystem.references.LightweightBoundTypeArgument;
@@ -191,6 +194,8 @@ public class RawTypeConformanceComputer {
 	 */
 	private boolean useCustomSynonymTypes = false;
 	
+	private volatile WeakReference<RawTypeConformanceCache> lastUsedCache = new WeakReference<RawTypeConformanceCache>(null);
+	
 	@Inject
 	public void setSynonymTypesProvider(SynonymTypesProvider synonymTypesProvider) {
 		this.synonymTypesProvider = synonymTypesProvider;
@@ -200,12 +205,71 @@ public class RawTypeConformanceComputer {
 	public int isConformant(final LightweightTypeReference left, LightweightTypeReference right, final int flags) {
 		if (left == right && left != null) // TODO handle null
 			return flags | SUCCESS;
-		int result = doIsConformant(left, right, flags);
+		int result;
+		if (isCacheable(left) && isCacheable(right)) {
+			result = doIsConformantCached(left, right, flags, getRawTypeConformanceCache(left.getOwner()));
+		} else {
+			result = doIsConformant(left, right, flags);
+		}
 		result = isSynonymConformant(result, left, right, flags);
 		if ((result & SUCCESS) == 0)
 			result |= INCOMPATIBLE;
 		return result & ~AS_NESTED_TYPE_ARGUMENT;
 	}
+	
+	/**
+	 * The conformance of two references without type arguments depends on the referenced types and the flags only.
+	 * The result is cached per resource set in that case.
+	 * 
+	 * @param cache the cache of the context resource set. May be <code>null</code>.
+	 * @since 2.17
+	 */
+	protected int doIsConformantCached(LightweightTypeReference left, LightweightTypeReference right, int flags, RawTypeConformanceCache cache) {
+		if (cache == null) {
+			return doIsConformant(left, right, flags);
+		}
+		JvmType leftType = left.getType();
+		JvmType rightType = right.getType();
+		Integer cached = cache.get(leftType, rightType, flags);
+		if (cached != null) {
+			return cached;
+		}
+		int result = doIsConformant(left, right, flags);
+		cache.put(leftType, rightType, flags, result);
+		return result;
+	}
+	
+	/**
+	 * Returns the cache of the context resource set of the given owner. The cache that was used last is remembered, so the
+	 * adapters of the resource set are only searched when the computation moves on to another resource set.
+	 * 
+	 * @return the cache or <code>null</code> if the owner has no context resource set.
+	 * @since 2.17
+	 */
+	protected RawTypeConformanceCache getRawTypeConformanceCache(ITypeReferenceOwner owner) {
+		ResourceSet resourceSet = owner.getContextResourceSet();
+		if (resourceSet == null) {
+			return null;
+		}
+		RawTypeConformanceCache result = lastUsedCache.get();
+		if (result == null || result.getTarget() != resourceSet) {
+			result = RawTypeConformanceCache.findOrCreate(resourceSet);
+			lastUsedCache = new WeakReference<RawTypeConformanceCache>(result);
+		}
+		return result;
+	}
+	
+	/**
+	 * References to type parameters are not cached since their bounds may be substituted.
+	 */
+	private boolean isCacheable(LightweightTypeReference reference) {
+		if (reference == null || reference.getKind() != KIND_PARAMETERIZED_TYPE_REFERENCE || reference.hasTypeArguments()) {
+			return false;
+		}
+		JvmType type = reference.getType();
+		return type != null && !type.eIsProxy() && type.eResource() != null
+				&& type.eClass() != TypesPackage.Literals.JVM_TYPE_PARAMETER;
+	}
 
 	protected int isSynonymConformant(int originalConformance, final LightweightTypeReference left, LightweightTypeReference right, final int flags) {
 		if (useCustomSynonymTypes && (originalConformance & SUCCESS) == 0 && (flags & ALLOW_SYNONYMS) != 0) {
@@ -12,7 +12,10 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.xtext.common.types.JvmArrayType;
@@ -32,6 +35,8 @@ import org.eclipse.xtext.xbase.typesystem.references.UnboundTypeReference;
 import org.eclipse.xtext.xbase.typesystem.references.WildcardTypeReference;
 
 import com.google.common.annotations.Beta;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.LinkedHashMultiset;
 import com.google.common.collect.Lists;
@@ -51,6 +56,16 @@ public class TypeConformanceComputer extends RawTypeConformanceComputer {
 
 	@Inject
 	private RawTypeConformanceComputer rawTypeConformanceComputer = new RawTypeConformanceComputer();
+
+	/**
+	 * The super types and their distances of the resolved types that were seen by the computations of an owner,
+	 * indexed by the identifier of the type. The requests of a single computation usually see the same types many
+	 * times. The tables are weakly referenced and kept by the {@link CommonSuperTypeFinder finders} of the owner.
+	 */
+	private final Cache<ITypeReferenceOwner, ConcurrentMap<String, SuperTypeDistances>> superTypeDistances = CacheBuilder.newBuilder()
+			.weakKeys()
+			.weakValues()
+			.build();
 	
 	public boolean isConformant(LightweightTypeReference left, LightweightTypeReference right) {
 		return (isConformant(left, right, ALLOW_BOXING_UNBOXING | ALLOW_PRIMITIVE_WIDENING | ALLOW_SYNONYMS | ALLOW_FUNCTION_CONVERSION | ALLOW_RAW_TYPE_CONVERSION) & SUCCESS) != 0;
@@ -235,9 +250,16 @@ public class TypeConformanceComputer extends RawTypeConformanceComputer {
 		private ITypeReferenceOwner owner;
 		
 		private List<List<LightweightTypeReference>> requestsInProgress;
+		
+		/**
+		 * Keeps the memoized super type distances of the owner while this finder is used.
+		 */
+		@SuppressWarnings("unused")
+		private final Map<String, SuperTypeDistances> superTypeDistances;
 
 		protected CommonSuperTypeFinder(ITypeReferenceOwner owner) {
 			this.owner = owner;
+			this.superTypeDistances = getSuperTypeDistances(owner);
 		}
 		
 		protected LightweightTypeReference getCommonSuperType(List<LightweightTypeReference> types) {
@@ -251,6 +273,9 @@ public class TypeConformanceComputer extends RawTypeConformanceComputer {
 			if (allPrimitiveVoid(types)) {
 				return types.get(0);
 			}
+			if (allSameResolvedType(types)) {
+				return types.get(0);
+			}
 			LightweightTypeReference conformsToAllOrVoid = findConformsToAllOrVoid(types);
 			if (conformsToAllOrVoid != null) {
 				if (conformsToAllOrVoid.isPrimitiveVoid()) {
@@ -268,6 +293,10 @@ public class TypeConformanceComputer extends RawTypeConformanceComputer {
 		}
 		
 		protected LightweightTypeReference doGetCommonSuperType(List<LightweightTypeReference> types) {
+			LightweightTypeReference sameRawType = getCommonSuperTypeOfSameRawType(types);
+			if (sameRawType != null) {
+				return sameRawType;
+			}
 			LightweightTypeReference firstType = types.get(0);
 			final List<LightweightTypeReference> tail = types.subList(1, types.size());
 			// mapping from rawtype to resolved parameterized types
@@ -289,6 +318,65 @@ public class TypeConformanceComputer extends RawTypeConformanceComputer {
 			return wrapInCompoundTypeIfNecessary(referencesWithSameDistance);
 		}
 
+		/**
+		 * Returns <code>true</code> if all the given types are the same resolved parameterized type, e.g. the element
+		 * types of a list literal with many elements. The first of them is the common super type in that case.
+		 * 
+		 * @since 2.17
+		 */
+		protected boolean allSameResolvedType(List<LightweightTypeReference> types) {
+			LightweightTypeReference first = types.get(0);
+			if (!isMemoizable(first)) {
+				return false;
+			}
+			String identifier = first.getIdentifier();
+			for(int i = 1, size = types.size(); i < size; i++) {
+				LightweightTypeReference type = types.get(i);
+				if (type != first && (!isMemoizable(type) || !identifier.equals(type.getIdentifier()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		/**
+		 * Computes the common super type of parameterized types that share the same raw type without
+		 * collecting the super types of each of them. The raw type is always the most specific candidate in
+		 * that case, only the type arguments have to be merged.
+		 * 
+		 * @return the common super type or <code>null</code> if the types do not share the same raw type or if
+		 *   their type arguments cannot be merged.
+		 * @since 2.17
+		 */
+		protected LightweightTypeReference getCommonSuperTypeOfSameRawType(List<LightweightTypeReference> types) {
+			JvmType rawType = null;
+			Multimap<JvmType, LightweightTypeReference> all = LinkedHashMultimap.create();
+			for(LightweightTypeReference type: types) {
+				if (type.getClass() != ParameterizedTypeReference.class) {
+					return null;
+				}
+				if (rawType == null) {
+					rawType = type.getType();
+				} else if (rawType != type.getType()) {
+					return null;
+				}
+				all.put(rawType, type);
+			}
+			if (rawType == null || rawType.eClass() != TypesPackage.Literals.JVM_GENERIC_TYPE) {
+				return null;
+			}
+			if (requestsInProgress == null) {
+				requestsInProgress = Lists.newArrayListWithCapacity(5);
+			}
+			ListSizeMemento memento = new ListSizeMemento(requestsInProgress);
+			LightweightTypeReference result = getTypeParametersForSuperType(all, rawType, owner, types);
+			if (result == null) {
+				// fall back to the complete algorithm with the same requests in progress
+				memento.restore();
+			}
+			return result;
+		}
+		
 		protected LightweightTypeReference wrapInCompoundTypeIfNecessary(
 				List<LightweightTypeReference> referencesWithSameDistance) {
 			if (referencesWithSameDistance.size() == 1) {
@@ -613,6 +701,20 @@ public class TypeConformanceComputer extends RawTypeConformanceComputer {
 
 	}
 	
+	/**
+	 * The super types of a type reference and their maximum distance.
+	 * 
+	 * @see MaxDistanceRawTypeAcceptor
+	 * @since 2.17
+	 */
+	protected static class SuperTypeDistances {
+		
+		private final Multimap<JvmType, LightweightTypeReference> superTypes = LinkedHashMultimap.create();
+		
+		private final Multiset<JvmType> distances = LinkedHashMultiset.create();
+		
+	}
+	
 	/**
 	 * Compute the common super type for the given types.
 	 * 
@@ -688,11 +790,73 @@ public class TypeConformanceComputer extends RawTypeConformanceComputer {
 		
 	}
 	
+	/**
+	 * Populates the given multimap and multiset with the super types of the given type and their maximum distance.
+	 * The result is memoized for resolved parameterized types while a {@link CommonSuperTypeFinder} of the owner
+	 * is in use.
+	 */
 	protected void initializeDistance(final LightweightTypeReference firstType, Multimap<JvmType, LightweightTypeReference> all,
 			Multiset<JvmType> cumulatedDistance) {
+		if (!isMemoizable(firstType)) {
+			collectDistance(firstType, all, cumulatedDistance);
+			return;
+		}
+		Map<String, SuperTypeDistances> table = getSuperTypeDistances(firstType.getOwner());
+		String identifier = firstType.getIdentifier();
+		SuperTypeDistances memoized = table.get(identifier);
+		if (memoized == null) {
+			memoized = new SuperTypeDistances();
+			collectDistance(firstType, memoized.superTypes, memoized.distances);
+			table.put(identifier, memoized);
+		}
+		all.putAll(memoized.superTypes);
+		for(Multiset.Entry<JvmType> typeToDistance: memoized.distances.entrySet()) {
+			if (cumulatedDistance.count(typeToDistance.getElement()) < typeToDistance.getCount()) {
+				cumulatedDistance.setCount(typeToDistance.getElement(), typeToDistance.getCount());
+			}
+		}
+	}
+	
+	/**
+	 * Collects the super types of the given type and their maximum distance without memoization.
+	 * 
+	 * @since 2.17
+	 */
+	protected void collectDistance(final LightweightTypeReference type, Multimap<JvmType, LightweightTypeReference> all,
+			Multiset<JvmType> cumulatedDistance) {
 		MaxDistanceRawTypeAcceptor acceptor = new MaxDistanceRawTypeAcceptor(cumulatedDistance, all);
-		acceptor.accept(firstType, 0);
-		firstType.collectSuperTypes(acceptor);
+		acceptor.accept(type, 0);
+		type.collectSuperTypes(acceptor);
+	}
+	
+	/**
+	 * Returns the memoized super type distances of the given owner. The table is only kept as long as it is
+	 * referenced, e.g. by a {@link CommonSuperTypeFinder} of the owner.
+	 * 
+	 * @since 2.17
+	 */
+	protected Map<String, SuperTypeDistances> getSuperTypeDistances(ITypeReferenceOwner owner) {
+		if (owner == null) {
+			return new ConcurrentHashMap<String, SuperTypeDistances>();
+		}
+		ConcurrentMap<String, SuperTypeDistances> result = superTypeDistances.getIfPresent(owner);
+		if (result == null) {
+			result = new ConcurrentHashMap<String, SuperTypeDistances>();
+			ConcurrentMap<String, SuperTypeDistances> existing = superTypeDistances.asMap().putIfAbsent(owner, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Only resolved parameterized types are identified by their identifier.
+	 * 
+	 * @since 2.17
+	 */
+	protected boolean isMemoizable(LightweightTypeReference type) {
+		return type.getClass() == ParameterizedTypeReference.class && type.isResolved();
 	}
 
 	/**
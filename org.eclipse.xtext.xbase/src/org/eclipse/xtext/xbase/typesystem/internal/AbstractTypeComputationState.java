@@ -18,6 +18,7 @@ import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeParameter;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.common.types.util.TypeReferences;
 import org.eclipse.xtext.diagnostics.AbstractDiagnostic;
 import org.eclipse.xtext.diagnostics.Severity;
@@ -412,6 +413,7 @@ public abstract class AbstractTypeComputationState implements ITypeComputationSt
 		for(IEObjectDescription description: descriptions) {
 			resultList.add(createCandidate(featureCall, demandComputedTypes, toIdentifiableDescription(description)));
 		}
+		PerformanceTelemetry.count(PerformanceTelemetry.LINKING_CANDIDATES, resultList.size());
 		if (resultList.isEmpty()) {
 			resultList.add(new NullFeatureLinkingCandidate(featureCall, this));
 		}
@@ -537,6 +539,7 @@ public abstract class AbstractTypeComputationState implements ITypeComputationSt
 		for(IEObjectDescription description: descriptions) {
 			resultList.add(createCandidate(constructorCall, toIdentifiableDescription(description)));
 		}
+		PerformanceTelemetry.count(PerformanceTelemetry.LINKING_CANDIDATES, resultList.size());
 		if (resultList.isEmpty()) {
 			resultList.add(new NullConstructorLinkingCandidate(constructorCall, this));
 		}
@@ -15,6 +15,7 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -133,6 +134,7 @@ public class DefaultReentrantTypeResolver extends AbstractRootedReentrantTypeRes
 			throw new UnsupportedOperationException("TODO: import a functional handle on the type resolution that delegates to the best available (current, but evolving) result");
 		}
 		StoppedTask task = Stopwatches.forTask("DefaultReentrantTypeResolver.resolve");
+		long start = PerformanceTelemetry.start();
 		try {
 			task.start();
 			resolving = true;
@@ -147,6 +149,7 @@ public class DefaultReentrantTypeResolver extends AbstractRootedReentrantTypeRes
 		} finally {
 			resolving = false;
 			task.stop();
+			PerformanceTelemetry.stop(PerformanceTelemetry.TYPE_RESOLUTION, start);
 		}
 	}
 	
@@ -48,6 +48,8 @@ import com.google.common.collect.Sets;
  * Concrete instances of {@link RawResolvedFeatures} are obtained via 
  * {@link #getResolvedFeatures(JvmDeclaredType, CommonTypeComputationServices)}
  * and are cached per {@link JvmType}. They will invalidate themselves on change.
+ * The feature index of types that are read from {@link IMirrorExtension#isSealed() sealed}
+ * mirrors is additionally shared with other resource sets.
  * 
  * Instances of this class are not expected to be used concurrently. 
  * 
@@ -121,6 +123,21 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 	
 	private boolean allFeaturesComputed = false;
 	
+	/**
+	 * The index that is shared with other resource sets if the type is read from a sealed mirror.
+	 */
+	private SharedFeatureIndex.View sharedFeatureIndex;
+	
+	private boolean sharedFeatureIndexComputed = false;
+	
+	/**
+	 * @return how often the features of a type were taken from the index that is shared across resource sets.
+	 * @since 2.17
+	 */
+	public static long getSharedFeatureIndexHitCount() {
+		return SharedFeatureIndex.getHitCount();
+	}
+	
 	protected RawResolvedFeatures(JvmDeclaredType type, CommonTypeComputationServices services) {
 		this(createTypeReference(type, services), new OverrideTester());
 	}
@@ -139,7 +156,17 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 	public List<JvmFeature> getAllFeatures(String simpleName) {
 		List<JvmFeature> result = featureIndex.get(simpleName);
 		if (result == null) {
-			featureIndex.put(simpleName, result = computeAllFeatures(simpleName));
+			SharedFeatureIndex.View shared = getSharedFeatureIndex();
+			if (shared != null) {
+				result = shared.getFeatures(simpleName);
+			}
+			if (result == null) {
+				result = computeAllFeatures(simpleName);
+				if (shared != null) {
+					shared.putFeatures(simpleName, result);
+				}
+			}
+			featureIndex.put(simpleName, result);
 		}
 		return result;
 	}
@@ -147,9 +174,22 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 	@Override
 	public List<JvmFeature> getAllFeatures() {
 		if (!allFeaturesComputed) {
-			ListMultimap<String, JvmFeature> featureIndex = computeAllFeatures();
-			for(String simpleName: featureIndex.keySet()) {
-				this.featureIndex.put(simpleName, Lists.newArrayList(featureIndex.get(simpleName)));
+			SharedFeatureIndex.View shared = getSharedFeatureIndex();
+			Map<String, List<JvmFeature>> sharedIndex = shared != null ? shared.getAllFeatures() : null;
+			if (sharedIndex != null) {
+				for(Map.Entry<String, List<JvmFeature>> entry: sharedIndex.entrySet()) {
+					if (!this.featureIndex.containsKey(entry.getKey())) {
+						this.featureIndex.put(entry.getKey(), entry.getValue());
+					}
+				}
+			} else {
+				ListMultimap<String, JvmFeature> featureIndex = computeAllFeatures();
+				for(String simpleName: featureIndex.keySet()) {
+					this.featureIndex.put(simpleName, Lists.newArrayList(featureIndex.get(simpleName)));
+				}
+				if (shared != null) {
+					shared.putAllFeatures(this.featureIndex);
+				}
 			}
 			allFeaturesComputed = true;
 		}
@@ -160,6 +200,21 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 		return result;
 	}
 
+	/**
+	 * Returns the feature index that is shared across resource sets or <code>null</code> if the type
+	 * may change.
+	 */
+	private SharedFeatureIndex.View getSharedFeatureIndex() {
+		if (!sharedFeatureIndexComputed) {
+			JvmType rawType = getRawType();
+			if (rawType instanceof JvmDeclaredType) {
+				sharedFeatureIndex = SharedFeatureIndex.getView((JvmDeclaredType) rawType);
+			}
+			sharedFeatureIndexComputed = true;
+		}
+		return sharedFeatureIndex;
+	}
+
 	protected List<JvmFeature> computeAllFeatures(String simpleName) {
 		JvmType rawType = getRawType();
 		if (!(rawType instanceof JvmDeclaredType)) {
@@ -258,6 +313,8 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 	private void clear() {
 		featureIndex.clear();
 		allFeaturesComputed = false;
+		sharedFeatureIndex = null;
+		sharedFeatureIndexComputed = false;
 	}
 
 }
@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2019 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.typesystem.override;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmFeature;
+import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.common.types.access.IMirror;
+import org.eclipse.xtext.common.types.access.IMirrorExtension;
+import org.eclipse.xtext.common.types.access.TypeResource;
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.eclipse.xtext.common.types.access.binary.BinaryClassMirror;
+import org.eclipse.xtext.common.types.access.impl.ClassMirror;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+
+/**
+ * A process wide cache of the feature index of {@link RawResolvedFeatures} for types that are read from
+ * {@link IMirrorExtension#isSealed() sealed} mirrors, e.g. the types of the JDK and of libraries.
+ *
+ * Such types never change, but they are loaded again into each new resource set. The features are
+ * stored as handles, i.e. the identifier of the declaring type and the position in its members, that are
+ * resolved against the types of the current resource set. An entry is only reused if the class files
+ * of the type and of all its super types are the same ones and their archives did not change. The class file
+ * of a type is looked up once per class loader, i.e. an archive that is replaced in place is only noticed by
+ * a new class loader.
+ *
+ * The number of entries is bounded and the entries are softly referenced.
+ */
+final class SharedFeatureIndex {
+
+	private static final int MAXIMUM_SIZE = 5000;
+
+	private static final Cache<String, SharedFeatureIndex> ENTRIES = CacheBuilder.newBuilder()
+			.maximumSize(MAXIMUM_SIZE)
+			.softValues()
+			.build();
+
+	/**
+	 * The versioned class files per class loader, indexed by the binary name of the type. An empty string
+	 * denotes a type without a class file.
+	 */
+	private static final ConcurrentMap<ClassLoader, ConcurrentMap<String, String>> CLASS_FILES = new MapMaker()
+			.weakKeys()
+			.makeMap();
+
+	/**
+	 * The versioned class files of the types of the bootstrap class loader.
+	 */
+	private static final ConcurrentMap<String, String> BOOTSTRAP_CLASS_FILES = new ConcurrentHashMap<String, String>();
+
+	private static final AtomicLong HIT_COUNT = new AtomicLong();
+
+	/**
+	 * @return how often the features of a type were resolved from a shared index.
+	 */
+	static long getHitCount() {
+		return HIT_COUNT.get();
+	}
+
+	/**
+	 * Returns a view on the shared index of the given type or <code>null</code> if the type or one of its
+	 * super types is not read from a sealed mirror.
+	 */
+	static View getView(JvmDeclaredType type) {
+		Map<String, JvmDeclaredType> hierarchy = Maps.newLinkedHashMap();
+		Map<String, String> classFiles = Maps.newHashMap();
+		if (!collectHierarchy(type, hierarchy, classFiles)) {
+			return null;
+		}
+		String key = classFiles.get(type.getIdentifier()) + '#' + type.getIdentifier();
+		SharedFeatureIndex index = ENTRIES.getIfPresent(key);
+		if (index == null || !index.classFiles.equals(classFiles)) {
+			index = new SharedFeatureIndex(classFiles);
+			ENTRIES.put(key, index);
+		}
+		return new View(index, hierarchy);
+	}
+
+	private static boolean collectHierarchy(JvmDeclaredType type, Map<String, JvmDeclaredType> hierarchy, Map<String, String> classFiles) {
+		String identifier = type.getIdentifier();
+		if (hierarchy.containsKey(identifier)) {
+			return true;
+		}
+		String classFile = getClassFile(type);
+		if (classFile == null) {
+			return false;
+		}
+		hierarchy.put(identifier, type);
+		classFiles.put(identifier, classFile);
+		for(JvmTypeReference superTypeReference: type.getSuperTypes()) {
+			JvmType superType = superTypeReference.getType();
+			if (superType instanceof JvmDeclaredType && !superType.eIsProxy()) {
+				if (!collectHierarchy((JvmDeclaredType) superType, hierarchy, classFiles)) {
+					return false;
+				}
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getClassFile(JvmDeclaredType type) {
+		Resource resource = type.eResource();
+		if (!(resource instanceof TypeResource)) {
+			return null;
+		}
+		IMirror mirror = ((TypeResource) resource).getMirror();
+		if (!(mirror instanceof BinaryClassMirror) || !((BinaryClassMirror) mirror).isSealed()) {
+			return null;
+		}
+		Class<?> clazz = null;
+		BinaryClass binaryClass = null;
+		String name;
+		ClassLoader classLoader;
+		if (mirror instanceof ClassMirror) {
+			clazz = ((ClassMirror) mirror).getMirroredClass();
+			name = clazz.getName();
+			classLoader = clazz.getClassLoader();
+		} else {
+			binaryClass = ((BinaryClassMirror) mirror).getMirroredBinaryClass();
+			name = binaryClass.getName();
+			classLoader = binaryClass.getClassLoader();
+		}
+		ConcurrentMap<String, String> classFiles = getClassFiles(classLoader);
+		String result = classFiles.get(name);
+		if (result == null) {
+			URL url;
+			if (clazz != null) {
+				url = clazz.getResource('/' + name.replace('.', '/') + ".class");
+			} else {
+				url = binaryClass.getClassFileURL();
+			}
+			result = url != null ? getVersionedClassFile(url) : "";
+			classFiles.put(name, result);
+		}
+		return !result.isEmpty() ? result : null;
+	}
+
+	private static ConcurrentMap<String, String> getClassFiles(ClassLoader classLoader) {
+		if (classLoader == null) {
+			return BOOTSTRAP_CLASS_FILES;
+		}
+		ConcurrentMap<String, String> result = CLASS_FILES.get(classLoader);
+		if (result == null) {
+			result = new ConcurrentHashMap<String, String>();
+			ConcurrentMap<String, String> existing = CLASS_FILES.putIfAbsent(classLoader, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Appends the size and the modification time of the archive or folder entry that contains the class file, so an
+	 * entry is not reused after a jar was replaced in place.
+	 */
+	private static String getVersionedClassFile(URL classFileURL) {
+		String result = classFileURL.toExternalForm();
+		File file = getFile(classFileURL);
+		if (file == null) {
+			return result;
+		}
+		return result + '|' + file.length() + '|' + file.lastModified();
+	}
+
+	/**
+	 * @return the local archive or class file of the given URL or <code>null</code> if it is not a local file.
+	 */
+	private static File getFile(URL classFileURL) {
+		String path;
+		if ("jar".equals(classFileURL.getProtocol())) {
+			path = classFileURL.getPath();
+			int separator = path.indexOf("!/");
+			if (separator == -1) {
+				return null;
+			}
+			path = path.substring(0, separator);
+		} else if ("file".equals(classFileURL.getProtocol())) {
+			path = classFileURL.toExternalForm();
+		} else {
+			return null;
+		}
+		if (!path.startsWith("file:")) {
+			return null;
+		}
+		try {
+			return new File(new URI(path));
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The class files of the type and its super types, indexed by the identifier of the type.
+	 */
+	private final Map<String, String> classFiles;
+
+	private final ConcurrentMap<String, List<FeatureHandle>> features = new ConcurrentHashMap<String, List<FeatureHandle>>();
+
+	private volatile boolean allFeaturesComputed = false;
+
+	private SharedFeatureIndex(Map<String, String> classFiles) {
+		this.classFiles = classFiles;
+	}
+
+	/**
+	 * The position of a feature in the members of its declaring type.
+	 */
+	private static final class FeatureHandle {
+		private final String declaringType;
+		private final int index;
+
+		private FeatureHandle(String declaringType, int index) {
+			this.declaringType = declaringType;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Resolves the handles of a {@link SharedFeatureIndex} against the types of a resource set.
+	 */
+	static final class View {
+
+		private final SharedFeatureIndex index;
+
+		private final Map<String, JvmDeclaredType> hierarchy;
+
+		private View(SharedFeatureIndex index, Map<String, JvmDeclaredType> hierarchy) {
+			this.index = index;
+			this.hierarchy = hierarchy;
+		}
+
+		/**
+		 * @return the features with the given name or <code>null</code> if they are not known.
+		 */
+		List<JvmFeature> getFeatures(String simpleName) {
+			List<FeatureHandle> handles = index.features.get(simpleName);
+			if (handles == null) {
+				return null;
+			}
+			List<JvmFeature> result = resolve(simpleName, handles);
+			if (result != null) {
+				HIT_COUNT.incrementAndGet();
+			}
+			return result;
+		}
+
+		/**
+		 * @return all features indexed by their simple name or <code>null</code> if they are not known.
+		 */
+		Map<String, List<JvmFeature>> getAllFeatures() {
+			if (!index.allFeaturesComputed) {
+				return null;
+			}
+			Map<String, List<JvmFeature>> result = Maps.newHashMapWithExpectedSize(index.features.size());
+			for(Map.Entry<String, List<FeatureHandle>> entry: index.features.entrySet()) {
+				List<JvmFeature> features = resolve(entry.getKey(), entry.getValue());
+				if (features == null) {
+					return null;
+				}
+				result.put(entry.getKey(), features);
+			}
+			HIT_COUNT.incrementAndGet();
+			return result;
+		}
+
+		void putFeatures(String simpleName, List<JvmFeature> features) {
+			List<FeatureHandle> handles = toHandles(features);
+			if (handles != null) {
+				index.features.putIfAbsent(simpleName, handles);
+			}
+		}
+
+		void putAllFeatures(Map<String, List<JvmFeature>> featureIndex) {
+			for(Map.Entry<String, List<JvmFeature>> entry: featureIndex.entrySet()) {
+				List<FeatureHandle> handles = toHandles(entry.getValue());
+				if (handles == null) {
+					return;
+				}
+				index.features.putIfAbsent(entry.getKey(), handles);
+			}
+			index.allFeaturesComputed = true;
+		}
+
+		private List<JvmFeature> resolve(String simpleName, List<FeatureHandle> handles) {
+			List<JvmFeature> result = Lists.newArrayListWithCapacity(handles.size());
+			for(FeatureHandle handle: handles) {
+				JvmDeclaredType declaringType = hierarchy.get(handle.declaringType);
+				if (declaringType == null) {
+					return null;
+				}
+				EList<JvmMember> members = declaringType.getMembers();
+				if (handle.index >= members.size()) {
+					return null;
+				}
+				JvmMember member = members.get(handle.index);
+				if (!(member instanceof JvmFeature) || !simpleName.equals(member.getSimpleName())) {
+					return null;
+				}
+				result.add((JvmFeature) member);
+			}
+			return Collections.unmodifiableList(result);
+		}
+
+		private List<FeatureHandle> toHandles(List<JvmFeature> features) {
+			List<FeatureHandle> result = Lists.newArrayListWithCapacity(features.size());
+			for(JvmFeature feature: features) {
+				JvmDeclaredType declaringType = feature.getDeclaringType();
+				if (declaringType == null || hierarchy.get(declaringType.getIdentifier()) != declaringType) {
+					return null;
+				}
+				result.add(new FeatureHandle(declaringType.getIdentifier(), declaringType.getMembers().indexOf(feature)));
+			}
+			return Collections.unmodifiableList(result);
+		}
+	}
+
+}
@@ -63,6 +63,7 @@ import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.JvmUpperBound;
 import org.eclipse.xtext.common.types.JvmVisibility;
 import org.eclipse.xtext.common.types.TypesPackage;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.common.types.util.TypeReferences;
 import org.eclipse.xtext.documentation.IEObjectDocumentationProvider;
 import org.eclipse.xtext.documentation.IEObjectDocumentationProviderExtension;
@@ -191,9 +192,14 @@ public class JvmModelGenerator implements IGenerator {
   
   @Override
   public void doGenerate(final Resource input, final IFileSystemAccess fsa) {
-    EList<EObject> _contents = input.getContents();
-    for (final EObject obj : _contents) {
-      this.internalDoGenerate(obj, fsa);
+    final long start = PerformanceTelemetry.start();
+    try {
+      EList<EObject> _contents = input.getContents();
+      for (final EObject obj : _contents) {
+        this.internalDoGenerate(obj, fsa);
+      }
+    } finally {
+      PerformanceTelemetry.stop(PerformanceTelemetry.CODE_GENERATION, start);
     }
   }
   
@@ -11,6 +11,7 @@ import com.google.inject.Inject;
 import java.io.InputStream;
 import java.io.OutputStream;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.resource.persistence.ResourceStorageFacade;
 import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable;
 import org.eclipse.xtext.resource.persistence.ResourceStorageWritable;
@@ -18,6 +19,7 @@ import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.workspace.IProjectConfig;
 import org.eclipse.xtext.workspace.IProjectConfigProvider;
 import org.eclipse.xtext.workspace.ISourceFolder;
+import org.eclipse.xtext.xbase.lib.Pure;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageLoadable;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageWritable;
 
@@ -29,10 +31,22 @@ public class BatchLinkableResourceStorageFacade extends ResourceStorageFacade {
   @Inject
   private IProjectConfigProvider projectConfigProvider;
   
+  /**
+   * Whether the stored associations of the JVM model are decoded on first access. The contents of a resource
+   * that was loaded from storage must not be modified before its associations are accessed.
+   * 
+   * @see LazyAssociationsAdapter
+   * @since 2.17
+   */
+  @Accessors
+  private boolean lazyAssociations = false;
+  
   @Override
   public ResourceStorageLoadable createResourceStorageLoadable(final InputStream in) {
     boolean _isStoreNodeModel = this.isStoreNodeModel();
-    return new BatchLinkableResourceStorageLoadable(in, _isStoreNodeModel);
+    final BatchLinkableResourceStorageLoadable result = new BatchLinkableResourceStorageLoadable(in, _isStoreNodeModel);
+    result.setLazyAssociations(this.lazyAssociations);
+    return result;
   }
   
   @Override
@@ -58,4 +72,13 @@ public class BatchLinkableResourceStorageFacade extends ResourceStorageFacade {
     }
     return super.getSourceContainerURI(resource);
   }
+  
+  @Pure
+  public boolean isLazyAssociations() {
+    return this.lazyAssociations;
+  }
+  
+  public void setLazyAssociations(final boolean lazyAssociations) {
+    this.lazyAssociations = lazyAssociations;
+  }
 }
@@ -7,43 +7,70 @@
  */
 package org.eclipse.xtext.xbase.resource;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.xbase.compiler.DocumentationAdapter;
 import org.eclipse.xtext.xbase.jvmmodel.JvmIdentifiableMetaData;
 import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
+import org.eclipse.xtext.xbase.lib.Pure;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResource;
+import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageWritable;
+import org.eclipse.xtext.xbase.resource.LazyAssociationsAdapter;
 
 @FinalFieldsConstructor
 @SuppressWarnings("all")
 public class BatchLinkableResourceStorageLoadable extends ResourceStorageLoadable {
+  /**
+   * Whether the stored associations of the {@link JvmModelAssociator} are decoded when they are accessed
+   * for the first time rather than when the resource is loaded.
+   * 
+   * @since 2.17
+   */
+  @Accessors
+  private boolean lazyAssociations;
+  
   @Override
   protected void loadEntries(final StorageAwareResource resource, final ZipInputStream zipIn) throws IOException {
-    super.loadEntries(resource, zipIn);
-    if ((resource instanceof BatchLinkableResource)) {
-      this.readAssociationsAdapter(((BatchLinkableResource)resource), zipIn);
+    final long start = PerformanceTelemetry.start();
+    try {
+      super.loadEntries(resource, zipIn);
+      if ((resource instanceof BatchLinkableResource)) {
+        this.readAssociationsAdapter(((BatchLinkableResource)resource), zipIn);
+      }
+    } finally {
+      PerformanceTelemetry.stop(PerformanceTelemetry.STORAGE_LOAD, start);
     }
   }
   
@@ -84,49 +111,134 @@ public class BatchLinkableResourceStorageLoadable extends ResourceStorageLoadabl
   }
   
   protected void readAssociationsAdapter(final BatchLinkableResource resource, final ZipInputStream stream) throws IOException {
-    try {
-      final JvmModelAssociator.Adapter existing = IterableExtensions.<JvmModelAssociator.Adapter>head(Iterables.<JvmModelAssociator.Adapter>filter(resource.eAdapters(), JvmModelAssociator.Adapter.class));
-      JvmModelAssociator.Adapter _elvis = null;
-      if (existing != null) {
-        _elvis = existing;
-      } else {
-        JvmModelAssociator.Adapter _adapter = new JvmModelAssociator.Adapter();
-        final Procedure1<JvmModelAssociator.Adapter> _function = (JvmModelAssociator.Adapter it) -> {
-          EList<Adapter> _eAdapters = resource.eAdapters();
-          _eAdapters.add(it);
-        };
-        JvmModelAssociator.Adapter _doubleArrow = ObjectExtensions.<JvmModelAssociator.Adapter>operator_doubleArrow(_adapter, _function);
-        _elvis = _doubleArrow;
-      }
-      final JvmModelAssociator.Adapter adapter = _elvis;
-      stream.getNextEntry();
+    final JvmModelAssociator.Adapter existing = IterableExtensions.<JvmModelAssociator.Adapter>head(Iterables.<JvmModelAssociator.Adapter>filter(resource.eAdapters(), JvmModelAssociator.Adapter.class));
+    final ZipEntry entry = stream.getNextEntry();
+    if (((Objects.equal(entry.getName(), BatchLinkableResourceStorageWritable.ASSOCIATIONS_ENTRY) && (existing == null)) && this.lazyAssociations)) {
+      EList<Adapter> _eAdapters = resource.eAdapters();
+      byte[] _byteArray = ByteStreams.toByteArray(stream);
+      LazyAssociationsAdapter _lazyAssociationsAdapter = new LazyAssociationsAdapter(this, resource, _byteArray);
+      _eAdapters.add(_lazyAssociationsAdapter);
+      return;
+    }
+    JvmModelAssociator.Adapter _elvis = null;
+    if (existing != null) {
+      _elvis = existing;
+    } else {
+      JvmModelAssociator.Adapter _adapter = new JvmModelAssociator.Adapter();
+      final Procedure1<JvmModelAssociator.Adapter> _function = (JvmModelAssociator.Adapter it) -> {
+        EList<Adapter> _eAdapters_1 = resource.eAdapters();
+        _eAdapters_1.add(it);
+      };
+      JvmModelAssociator.Adapter _doubleArrow = ObjectExtensions.<JvmModelAssociator.Adapter>operator_doubleArrow(_adapter, _function);
+      _elvis = _doubleArrow;
+    }
+    final JvmModelAssociator.Adapter adapter = _elvis;
+    String _name = entry.getName();
+    boolean _equals = Objects.equal(_name, BatchLinkableResourceStorageWritable.ASSOCIATIONS_ENTRY);
+    if (_equals) {
       BufferedInputStream _bufferedInputStream = new BufferedInputStream(stream);
-      final ObjectInputStream objIn = new ObjectInputStream(_bufferedInputStream);
+      Map<Object, Object> _emptyMap = CollectionLiterals.<Object, Object>emptyMap();
+      BinaryResourceImpl.EObjectInputStream _eObjectInputStream = new BinaryResourceImpl.EObjectInputStream(_bufferedInputStream, _emptyMap);
+      this.readAssociations(resource, adapter, _eObjectInputStream);
+    } else {
+      BufferedInputStream _bufferedInputStream_1 = new BufferedInputStream(stream);
+      ObjectInputStream _objectInputStream = new ObjectInputStream(_bufferedInputStream_1);
+      this.readLegacyAssociations(resource, adapter, _objectInputStream);
+    }
+  }
+  
+  /**
+   * Reads the associations in the binary format of the {@link BatchLinkableResourceStorageWritable}.
+   * 
+   * @since 2.17
+   */
+  protected void readAssociations(final BatchLinkableResource resource, final JvmModelAssociator.Adapter adapter, final BinaryResourceImpl.EObjectInputStream in) throws IOException {
+    final int version = in.readCompressedInt();
+    if ((version != BatchLinkableResourceStorageWritable.ASSOCIATIONS_FORMAT_VERSION)) {
+      throw new IOException(("Unsupported format version of the associations: " + Integer.valueOf(version)));
+    }
+    final ArrayList<EObject> objects = CollectionLiterals.<EObject>newArrayList();
+    final int logicalCount = in.readCompressedInt();
+    ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, logicalCount, true);
+    for (final Integer i : _doubleDotLessThan) {
+      {
+        final EObject source = this.readFragment(resource, objects, in);
+        EObject _readFragment = this.readFragment(resource, objects, in);
+        adapter.associateLogicalContainer(source, ((JvmIdentifiableElement) _readFragment));
+      }
+    }
+    this.readAssociationMap(resource, objects, adapter.sourceToTargetMap, in);
+    this.readAssociationMap(resource, objects, adapter.targetToSourceMap, in);
+  }
+  
+  /**
+   * @since 2.17
+   */
+  protected void readAssociationMap(final BatchLinkableResource resource, final List<EObject> objects, final Map<EObject, Set<EObject>> associations, final BinaryResourceImpl.EObjectInputStream in) throws IOException {
+    final int count = in.readCompressedInt();
+    ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, count, true);
+    for (final Integer i : _doubleDotLessThan) {
+      {
+        final EObject key = this.readFragment(resource, objects, in);
+        final int size = in.readCompressedInt();
+        final LinkedHashSet<EObject> values = Sets.<EObject>newLinkedHashSetWithExpectedSize(size);
+        ExclusiveRange _doubleDotLessThan_1 = new ExclusiveRange(0, size, true);
+        for (final Integer j : _doubleDotLessThan_1) {
+          values.add(this.readFragment(resource, objects, in));
+        }
+        associations.put(key, values);
+      }
+    }
+  }
+  
+  /**
+   * Reads the index of a fragment and returns the object that it denotes. The fragment itself is only
+   * read on its first occurrence.
+   * 
+   * @since 2.17
+   */
+  protected EObject readFragment(final BatchLinkableResource resource, final List<EObject> objects, final BinaryResourceImpl.EObjectInputStream in) throws IOException {
+    final int index = in.readCompressedInt();
+    int _size = objects.size();
+    boolean _equals = (index == _size);
+    if (_equals) {
+      objects.add(resource.getEObject(in.readString()));
+    }
+    return objects.get(index);
+  }
+  
+  /**
+   * Reads the associations that were stored by means of Java serialization.
+   * 
+   * @since 2.17
+   */
+  protected void readLegacyAssociations(final BatchLinkableResource resource, final JvmModelAssociator.Adapter adapter, final ObjectInputStream objIn) throws IOException {
+    try {
       Object _readObject = objIn.readObject();
       final Map<String, String> logicalMap = ((Map<String, String>) _readObject);
-      final Consumer<Map.Entry<String, String>> _function_1 = (Map.Entry<String, String> it) -> {
+      final Consumer<Map.Entry<String, String>> _function = (Map.Entry<String, String> it) -> {
         EObject _eObject = resource.getEObject(it.getValue());
-        adapter.logicalContainerMap.put(resource.getEObject(it.getKey()), ((JvmIdentifiableElement) _eObject));
+        adapter.associateLogicalContainer(resource.getEObject(it.getKey()), ((JvmIdentifiableElement) _eObject));
       };
-      logicalMap.entrySet().forEach(_function_1);
+      logicalMap.entrySet().forEach(_function);
       Object _readObject_1 = objIn.readObject();
       final Map<String, Set<String>> sourceToTargetMap = ((Map<String, Set<String>>) _readObject_1);
-      final Consumer<Map.Entry<String, Set<String>>> _function_2 = (Map.Entry<String, Set<String>> it) -> {
-        final Function1<String, EObject> _function_3 = (String it_1) -> {
+      final Consumer<Map.Entry<String, Set<String>>> _function_1 = (Map.Entry<String, Set<String>> it) -> {
+        final Function1<String, EObject> _function_2 = (String it_1) -> {
           return resource.getEObject(it_1);
         };
-        adapter.sourceToTargetMap.put(resource.getEObject(it.getKey()), Sets.<EObject>newLinkedHashSet(IterableExtensions.<String, EObject>map(it.getValue(), _function_3)));
+        adapter.sourceToTargetMap.put(resource.getEObject(it.getKey()), Sets.<EObject>newLinkedHashSet(IterableExtensions.<String, EObject>map(it.getValue(), _function_2)));
       };
-      sourceToTargetMap.entrySet().forEach(_function_2);
+      sourceToTargetMap.entrySet().forEach(_function_1);
       Object _readObject_2 = objIn.readObject();
       final Map<String, Set<String>> targetToSourceMap = ((Map<String, Set<String>>) _readObject_2);
-      final Consumer<Map.Entry<String, Set<String>>> _function_3 = (Map.Entry<String, Set<String>> it) -> {
-        final Function1<String, EObject> _function_4 = (String it_1) -> {
+      final Consumer<Map.Entry<String, Set<String>>> _function_2 = (Map.Entry<String, Set<String>> it) -> {
+        final Function1<String, EObject> _function_3 = (String it_1) -> {
           return resource.getEObject(it_1);
         };
-        adapter.targetToSourceMap.put(resource.getEObject(it.getKey()), Sets.<EObject>newLinkedHashSet(IterableExtensions.<String, EObject>map(it.getValue(), _function_4)));
+        adapter.targetToSourceMap.put(resource.getEObject(it.getKey()), Sets.<EObject>newLinkedHashSet(IterableExtensions.<String, EObject>map(it.getValue(), _function_3)));
       };
-      targetToSourceMap.entrySet().forEach(_function_3);
+      targetToSourceMap.entrySet().forEach(_function_2);
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
@@ -135,4 +247,13 @@ public class BatchLinkableResourceStorageLoadable extends ResourceStorageLoadabl
   public BatchLinkableResourceStorageLoadable(final InputStream in, final boolean storeNodeModel) {
     super(in, storeNodeModel);
   }
+  
+  @Pure
+  public boolean isLazyAssociations() {
+    return this.lazyAssociations;
+  }
+  
+  public void setLazyAssociations(final boolean lazyAssociations) {
+    this.lazyAssociations = lazyAssociations;
+  }
 }
@@ -12,10 +12,10 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.zip.ZipEntry;
@@ -31,6 +31,7 @@ import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.util.PerformanceTelemetry;
 import org.eclipse.xtext.resource.persistence.ResourceStorageWritable;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.xbase.compiler.DocumentationAdapter;
@@ -50,19 +51,38 @@ import org.eclipse.xtext.xtype.XComputedTypeReference;
 public class BatchLinkableResourceStorageWritable extends ResourceStorageWritable {
   private static final Logger LOG = Logger.getLogger(BatchLinkableResourceStorageWritable.class);
   
+  /**
+   * The name of the zip entry that contains the associations of the {@link JvmModelAssociator}.
+   * 
+   * @since 2.17
+   */
+  public static final String ASSOCIATIONS_ENTRY = "associations.bin";
+  
+  /**
+   * The version of the binary format of the associations.
+   * 
+   * @since 2.17
+   */
+  public static final int ASSOCIATIONS_FORMAT_VERSION = 1;
+  
   @Override
   protected void writeEntries(final StorageAwareResource resource, final ZipOutputStream zipOut) throws IOException {
-    super.writeEntries(resource, zipOut);
-    if ((resource instanceof BatchLinkableResource)) {
-      ZipEntry _zipEntry = new ZipEntry("associations");
-      zipOut.putNextEntry(_zipEntry);
-      final BufferedOutputStream buffOut = new BufferedOutputStream(zipOut);
-      try {
-        this.writeAssociationsAdapter(((BatchLinkableResource)resource), buffOut);
-      } finally {
-        buffOut.flush();
-        zipOut.closeEntry();
+    final long start = PerformanceTelemetry.start();
+    try {
+      super.writeEntries(resource, zipOut);
+      if ((resource instanceof BatchLinkableResource)) {
+        ZipEntry _zipEntry = new ZipEntry(BatchLinkableResourceStorageWritable.ASSOCIATIONS_ENTRY);
+        zipOut.putNextEntry(_zipEntry);
+        final BufferedOutputStream buffOut = new BufferedOutputStream(zipOut);
+        try {
+          this.writeAssociationsAdapter(((BatchLinkableResource)resource), buffOut);
+        } finally {
+          buffOut.flush();
+          zipOut.closeEntry();
+        }
       }
+    } finally {
+      PerformanceTelemetry.stop(PerformanceTelemetry.STORAGE_SAVE, start);
     }
   }
   
@@ -125,80 +145,91 @@ public class BatchLinkableResourceStorageWritable extends ResourceStorageWritabl
       JvmModelAssociator.Adapter _adapter = new JvmModelAssociator.Adapter();
       adapter = _adapter;
     }
-    final ObjectOutputStream objOut = new ObjectOutputStream(zipOut);
+    adapter.ensureInitialized();
+    Map<Object, Object> _emptyMap = CollectionLiterals.<Object, Object>emptyMap();
+    final BinaryResourceImpl.EObjectOutputStream out = new BinaryResourceImpl.EObjectOutputStream(zipOut, _emptyMap);
     try {
-      final LinkedHashMap<String, String> logicalMap = CollectionLiterals.<String, String>newLinkedHashMap();
-      Set<Map.Entry<EObject, JvmIdentifiableElement>> _entrySet = adapter.logicalContainerMap.entrySet();
-      for (final Map.Entry<EObject, JvmIdentifiableElement> entry : _entrySet) {
-        Resource _eResource = entry.getKey().eResource();
-        boolean _notEquals = (!Objects.equal(_eResource, resource));
-        if (_notEquals) {
-          URI _uRI_1 = resource.getURI();
-          String _plus_1 = ((("entry " + entry) + " not from resource ") + _uRI_1);
-          String _plus_2 = (_plus_1 + " but from ");
-          Resource _eResource_1 = entry.getKey().eResource();
-          URI _uRI_2 = null;
-          if (_eResource_1!=null) {
-            _uRI_2=_eResource_1.getURI();
-          }
-          String _plus_3 = (_plus_2 + _uRI_2);
-          BatchLinkableResourceStorageWritable.LOG.info(_plus_3);
-        } else {
-          logicalMap.put(this.getFragment(entry.getKey()), this.getFragment(entry.getValue()));
+      out.writeCompressedInt(BatchLinkableResourceStorageWritable.ASSOCIATIONS_FORMAT_VERSION);
+      final HashMap<String, Integer> fragments = CollectionLiterals.<String, Integer>newHashMap();
+      final Function1<Map.Entry<EObject, JvmIdentifiableElement>, Boolean> _function_1 = (Map.Entry<EObject, JvmIdentifiableElement> it) -> {
+        return Boolean.valueOf(this.isFromResource(it.getKey(), resource));
+      };
+      final List<Map.Entry<EObject, JvmIdentifiableElement>> logicalEntries = IterableExtensions.<Map.Entry<EObject, JvmIdentifiableElement>>toList(IterableExtensions.<Map.Entry<EObject, JvmIdentifiableElement>>filter(adapter.logicalContainerMap.entrySet(), _function_1));
+      out.writeCompressedInt(logicalEntries.size());
+      for (final Map.Entry<EObject, JvmIdentifiableElement> entry : logicalEntries) {
+        {
+          this.writeFragment(this.getFragment(entry.getKey()), fragments, out);
+          this.writeFragment(this.getFragment(entry.getValue()), fragments, out);
         }
       }
-      objOut.writeObject(logicalMap);
-      final LinkedHashMap<String, LinkedHashSet<String>> sourceToTarget = CollectionLiterals.<String, LinkedHashSet<String>>newLinkedHashMap();
-      Set<Map.Entry<EObject, Set<EObject>>> _entrySet_1 = adapter.sourceToTargetMap.entrySet();
-      for (final Map.Entry<EObject, Set<EObject>> entry_1 : _entrySet_1) {
-        Resource _eResource_2 = entry_1.getKey().eResource();
-        boolean _notEquals_1 = (!Objects.equal(_eResource_2, resource));
-        if (_notEquals_1) {
-          URI _uRI_3 = resource.getURI();
-          String _plus_4 = ("entry not from resource " + _uRI_3);
-          String _plus_5 = (_plus_4 + " but from ");
-          Resource _eResource_3 = entry_1.getKey().eResource();
-          URI _uRI_4 = null;
-          if (_eResource_3!=null) {
-            _uRI_4=_eResource_3.getURI();
-          }
-          String _plus_6 = (_plus_5 + _uRI_4);
-          BatchLinkableResourceStorageWritable.LOG.info(_plus_6);
-        } else {
-          final Function1<EObject, String> _function_1 = (EObject it) -> {
-            return this.getFragment(it);
-          };
-          sourceToTarget.put(this.getFragment(entry_1.getKey()), Sets.<String>newLinkedHashSet(IterableExtensions.<EObject, String>map(entry_1.getValue(), _function_1)));
+      this.writeAssociationMap(adapter.sourceToTargetMap, resource, fragments, out);
+      this.writeAssociationMap(adapter.targetToSourceMap, resource, fragments, out);
+    } finally {
+      out.flush();
+    }
+  }
+  
+  /**
+   * @since 2.17
+   */
+  protected void writeAssociationMap(final Map<EObject, Set<EObject>> associations, final BatchLinkableResource resource, final Map<String, Integer> fragments, final BinaryResourceImpl.EObjectOutputStream out) throws IOException {
+    final Function1<Map.Entry<EObject, Set<EObject>>, Boolean> _function = (Map.Entry<EObject, Set<EObject>> it) -> {
+      return Boolean.valueOf(this.isFromResource(it.getKey(), resource));
+    };
+    final List<Map.Entry<EObject, Set<EObject>>> entries = IterableExtensions.<Map.Entry<EObject, Set<EObject>>>toList(IterableExtensions.<Map.Entry<EObject, Set<EObject>>>filter(associations.entrySet(), _function));
+    out.writeCompressedInt(entries.size());
+    for (final Map.Entry<EObject, Set<EObject>> entry : entries) {
+      {
+        this.writeFragment(this.getFragment(entry.getKey()), fragments, out);
+        final Function1<EObject, String> _function_1 = (EObject it) -> {
+          return this.getFragment(it);
+        };
+        final LinkedHashSet<String> targets = Sets.<String>newLinkedHashSet(IterableExtensions.<EObject, String>map(entry.getValue(), _function_1));
+        out.writeCompressedInt(targets.size());
+        for (final String target : targets) {
+          this.writeFragment(target, fragments, out);
         }
       }
-      objOut.writeObject(sourceToTarget);
-      final LinkedHashMap<String, LinkedHashSet<String>> targetToSource = CollectionLiterals.<String, LinkedHashSet<String>>newLinkedHashMap();
-      Set<Map.Entry<EObject, Set<EObject>>> _entrySet_2 = adapter.targetToSourceMap.entrySet();
-      for (final Map.Entry<EObject, Set<EObject>> entry_2 : _entrySet_2) {
-        Resource _eResource_4 = entry_2.getKey().eResource();
-        boolean _notEquals_2 = (!Objects.equal(_eResource_4, resource));
-        if (_notEquals_2) {
-          URI _uRI_5 = resource.getURI();
-          String _plus_7 = ("entry not from resource " + _uRI_5);
-          String _plus_8 = (_plus_7 + " but from ");
-          Resource _eResource_5 = entry_2.getKey().eResource();
-          URI _uRI_6 = null;
-          if (_eResource_5!=null) {
-            _uRI_6=_eResource_5.getURI();
-          }
-          String _plus_9 = (_plus_8 + _uRI_6);
-          BatchLinkableResourceStorageWritable.LOG.info(_plus_9);
-        } else {
-          final Function1<EObject, String> _function_2 = (EObject it) -> {
-            return this.getFragment(it);
-          };
-          targetToSource.put(this.getFragment(entry_2.getKey()), Sets.<String>newLinkedHashSet(IterableExtensions.<EObject, String>map(entry_2.getValue(), _function_2)));
-        }
+    }
+  }
+  
+  /**
+   * Writes the index of the given fragment. The fragment itself is only written on its first occurrence.
+   * 
+   * @since 2.17
+   */
+  protected void writeFragment(final String fragment, final Map<String, Integer> fragments, final BinaryResourceImpl.EObjectOutputStream out) throws IOException {
+    final Integer index = fragments.get(fragment);
+    if ((index == null)) {
+      final int newIndex = fragments.size();
+      fragments.put(fragment, Integer.valueOf(newIndex));
+      out.writeCompressedInt(newIndex);
+      out.writeString(fragment);
+    } else {
+      out.writeCompressedInt((index).intValue());
+    }
+  }
+  
+  /**
+   * @since 2.17
+   */
+  protected boolean isFromResource(final EObject object, final BatchLinkableResource resource) {
+    Resource _eResource = object.eResource();
+    boolean _notEquals = (!Objects.equal(_eResource, resource));
+    if (_notEquals) {
+      URI _uRI = resource.getURI();
+      String _plus = ((("entry " + object) + " not from resource ") + _uRI);
+      String _plus_1 = (_plus + " but from ");
+      Resource _eResource_1 = object.eResource();
+      URI _uRI_1 = null;
+      if (_eResource_1!=null) {
+        _uRI_1=_eResource_1.getURI();
       }
-      objOut.writeObject(targetToSource);
-    } finally {
-      objOut.flush();
+      String _plus_2 = (_plus_1 + _uRI_1);
+      BatchLinkableResourceStorageWritable.LOG.info(_plus_2);
+      return false;
     }
+    return true;
   }
   
   protected String getFragment(final EObject obj) {